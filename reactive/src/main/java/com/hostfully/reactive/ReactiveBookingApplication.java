@@ -0,0 +1,28 @@
+package com.hostfully.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+// Serves only POST /booking, POST /property/{property-id}/block and GET /properties/{id}/availability, every other
+// endpoint stays on the servlet application. Reads reactive.yaml, so it can share a classpath with the servlet
+// application and its application.yaml, the shared-db profile of both points them at one H2 file.
+// Data access goes through R2DBC only, Flyway migrates with its own JDBC connection from spring.flyway.url.
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class ReactiveBookingApplication {
+
+	public static final String CONFIG_NAME = "spring.config.name=reactive";
+
+	public static void main(String[] args) {
+		builder().run(args);
+	}
+
+	public static SpringApplicationBuilder builder() {
+		return new SpringApplicationBuilder(ReactiveBookingApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.properties(CONFIG_NAME);
+	}
+
+}
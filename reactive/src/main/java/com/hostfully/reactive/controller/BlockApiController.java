@@ -0,0 +1,24 @@
+package com.hostfully.reactive.controller;
+
+import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.model.entity.Block;
+import com.hostfully.reactive.service.ReservationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+public class BlockApiController {
+
+    private final ReservationService reservationService;
+
+    public BlockApiController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @PostMapping("/property/{property-id}/block")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Block> createBlock(@RequestBody BlockCreateDto blockCreateDto, @PathVariable("property-id") String propertyId) {
+        return reservationService.createBlock(blockCreateDto, propertyId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hostfully.reactive.controller;
+
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.reactive.service.ReservationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/booking")
+public class BookingApiController {
+
+    private final ReservationService reservationService;
+
+    public BookingApiController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Booking> createBooking(@RequestBody BookingCreateDto bookingCreateDto) {
+        return reservationService.createBooking(bookingCreateDto);
+    }
+}
@@ -0,0 +1,27 @@
+package com.hostfully.reactive.controller;
+
+import com.hostfully.interview.model.dto.AvailabilityCalendarDto;
+import com.hostfully.reactive.service.ReservationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/properties")
+public class PropertyApiController {
+
+    private final ReservationService reservationService;
+
+    public PropertyApiController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @GetMapping("/{id}/availability")
+    public Mono<AvailabilityCalendarDto> getAvailabilityCalendar(@PathVariable("id") String propertyId,
+                                                                 @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return reservationService.getAvailabilityCalendar(propertyId, from, to);
+    }
+}
@@ -0,0 +1,30 @@
+package com.hostfully.reactive.exception;
+
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.ErrorInfoDto;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ServerWebInputException;
+
+@ControllerAdvice
+public class ExceptionHandlerResolver {
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseBody ErrorInfoDto
+    handleBadRequest(Exception ex) {
+        return new ErrorInfoDto(ex);
+    }
+
+    // Same message as the servlet application for a body that is not valid JSON.
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseBody ErrorInfoDto
+    handleServerWebInputException(ServerWebInputException ex) {
+        return new ErrorInfoDto(ex.getCause() instanceof DecodingException ? "Malformed JSON request" : ex.getReason());
+    }
+}
@@ -0,0 +1,133 @@
+package com.hostfully.reactive.repository;
+
+import com.hostfully.interview.model.dto.ReservationDates;
+import com.hostfully.interview.model.entity.Block;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.Guest;
+import com.hostfully.interview.model.entity.Occupancy;
+import com.hostfully.interview.model.entity.OccupancySource;
+import com.hostfully.interview.model.entity.Property;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Statements of the reactive API, the same SQL as the JPA repositories of the servlet application.
+ */
+@Repository
+public class ReservationRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReservationRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Property> findById(UUID propertyId) {
+        return databaseClient.sql("SELECT ID, NAME, VERSION FROM PROPERTY WHERE ID = :id")
+                .bind("id", propertyId)
+                .map(ReservationRepository::toProperty)
+                .one();
+    }
+
+    // Held until the transaction ends, writes for the same property serialize on the row like in occupancy mode.
+    public Mono<Property> findAndLockById(UUID propertyId) {
+        return databaseClient.sql("SELECT ID, NAME, VERSION FROM PROPERTY WHERE ID = :id FOR UPDATE")
+                .bind("id", propertyId)
+                .map(ReservationRepository::toProperty)
+                .one();
+    }
+
+    // BookingRepository.findConflictingSource for a new booking or block, a booking wins over a block.
+    public Mono<OccupancySource> findConflictingSource(UUID propertyId, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql("""
+                    SELECT SOURCE_TYPE FROM (
+                        SELECT 'BOOKING' AS SOURCE_TYPE FROM BOOKING
+                        WHERE PROPERTY_ID = :propertyId
+                        AND STATUS != 'CANCELLED'
+                        AND START_DATE >= :earliestStart
+                        AND START_DATE <= :endDate
+                        AND END_DATE >= :startDate
+                        UNION ALL
+                        SELECT 'BLOCK' AS SOURCE_TYPE FROM BLOCK
+                        WHERE PROPERTY_ID = :propertyId
+                        AND START_DATE >= :earliestStart
+                        AND START_DATE <= :endDate
+                        AND END_DATE >= :startDate) AS CONFLICT
+                    ORDER BY CASE SOURCE_TYPE WHEN 'BOOKING' THEN 0 ELSE 1 END
+                    LIMIT 1
+                """)
+                .bind("propertyId", propertyId)
+                .bind("earliestStart", startDate.minusDays(ReservationDates.MAX_NIGHTS))
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map(row -> OccupancySource.valueOf(row.get("SOURCE_TYPE", String.class)))
+                .one();
+    }
+
+    public Mono<Void> insertBooking(Booking booking) {
+        return databaseClient.sql("INSERT INTO BOOKING(ID, PROPERTY_ID, START_DATE, END_DATE, STATUS, CREATED_AT, VERSION) VALUES (:id, :propertyId, :startDate, :endDate, :status, :createdAt, 0)")
+                .bind("id", booking.getId())
+                .bind("propertyId", booking.getProperty().getId())
+                .bind("startDate", booking.getStartDate())
+                .bind("endDate", booking.getEndDate())
+                .bind("status", booking.getStatus().name())
+                .bind("createdAt", booking.getCreatedAt())
+                .then()
+                .thenMany(Flux.fromIterable(booking.getGuests()).concatMap(guest -> insertGuest(booking.getId(), guest)))
+                .then();
+    }
+
+    public Mono<Void> insertBlock(Block block) {
+        return databaseClient.sql("INSERT INTO BLOCK(ID, PROPERTY_ID, START_DATE, END_DATE, CREATED_AT, VERSION) VALUES (:id, :propertyId, :startDate, :endDate, :createdAt, 0)")
+                .bind("id", block.getId())
+                .bind("propertyId", block.getProperty().getId())
+                .bind("startDate", block.getStartDate())
+                .bind("endDate", block.getEndDate())
+                .bind("createdAt", block.getCreatedAt())
+                .then();
+    }
+
+    public Mono<Void> upsertOccupancy(Occupancy occupancy) {
+        return databaseClient.sql("""
+                    MERGE INTO OCCUPANCY (SOURCE_ID, PROPERTY_ID, SOURCE_TYPE, START_DATE, END_DATE)
+                    KEY (SOURCE_ID)
+                    VALUES (:sourceId, :propertyId, :sourceType, :startDate, :endDate)
+                """)
+                .bind("sourceId", occupancy.getSourceId())
+                .bind("propertyId", occupancy.getPropertyId())
+                .bind("sourceType", occupancy.getSourceType().name())
+                .bind("startDate", occupancy.getStartDate())
+                .bind("endDate", occupancy.getEndDate())
+                .then();
+    }
+
+    public Flux<Occupancy> findOverlapping(UUID propertyId, LocalDate from, LocalDate to) {
+        return databaseClient.sql("SELECT * FROM OCCUPANCY WHERE PROPERTY_ID = :propertyId AND START_DATE >= :earliestStart AND START_DATE <= :to AND END_DATE >= :from ORDER BY START_DATE")
+                .bind("propertyId", propertyId)
+                .bind("earliestStart", from.minusDays(ReservationDates.MAX_NIGHTS))
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> new Occupancy(row.get("SOURCE_ID", UUID.class), row.get("PROPERTY_ID", UUID.class),
+                        OccupancySource.valueOf(row.get("SOURCE_TYPE", String.class)), row.get("START_DATE", LocalDate.class), row.get("END_DATE", LocalDate.class)))
+                .all();
+    }
+
+    private Mono<Void> insertGuest(UUID bookingId, Guest guest) {
+        return databaseClient.sql("INSERT INTO GUEST(ID, BOOKING_ID, NAME, CREATED_AT, VERSION) VALUES (:id, :bookingId, :name, :createdAt, 0)")
+                .bind("id", guest.getId())
+                .bind("bookingId", bookingId)
+                .bind("name", guest.getName())
+                .bind("createdAt", guest.getCreatedAt())
+                .then();
+    }
+
+    private static Property toProperty(Readable row) {
+        return new Property(row.get("ID", UUID.class), row.get("NAME", String.class), row.get("VERSION", Long.class));
+    }
+}
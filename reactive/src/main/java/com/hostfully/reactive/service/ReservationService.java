@@ -0,0 +1,97 @@
+package com.hostfully.reactive.service;
+
+import com.hostfully.interview.availability.AvailabilityCalendars;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.AvailabilityCalendarDto;
+import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.model.entity.*;
+import com.hostfully.interview.model.id.TimeOrderedUuids;
+import com.hostfully.reactive.repository.ReservationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of the booking and block creation of the servlet application: same validation rules, same
+ * overlap check against bookings and blocks and the same OCCUPANCY rows. The JVM property locks of the servlet
+ * application would block an event loop, writes serialize on the property row locked for the transaction instead.
+ */
+@Service
+public class ReservationService {
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReservationService(ReservationRepository reservationRepository, TransactionalOperator transactionalOperator) {
+        this.reservationRepository = reservationRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Mono<Booking> createBooking(BookingCreateDto bookingCreateDto) {
+        return Mono.fromCallable(bookingCreateDto::validate)
+                .flatMap(valid -> withPropertyLock(UUID.fromString(bookingCreateDto.getPropertyId()), property -> {
+                    var guests = new ArrayList<Guest>();
+                    for (GuestCreateDTO guestCreateDto : bookingCreateDto.getGuests()) {
+                        guests.add(new Guest(TimeOrderedUuids.next(), guestCreateDto.getName(), LocalDate.now(), null, 0L));
+                    }
+                    var booking = new Booking(TimeOrderedUuids.next(), property, bookingCreateDto.getStartDate(), bookingCreateDto.getEndDate(),
+                            BookingStatus.CONFIRMED, LocalDate.now(), null, guests, 0L);
+                    return validateIfDatesAreAvailable(property.getId(), booking.getStartDate(), booking.getEndDate())
+                            .then(reservationRepository.insertBooking(booking))
+                            .then(reservationRepository.upsertOccupancy(new Occupancy(booking.getId(), property.getId(), OccupancySource.BOOKING, booking.getStartDate(), booking.getEndDate())))
+                            .thenReturn(booking);
+                }));
+    }
+
+    public Mono<Block> createBlock(BlockCreateDto blockCreateDto, String propertyId) {
+        return Mono.fromCallable(blockCreateDto::validate)
+                .map(valid -> validUUID(propertyId))
+                .flatMap(uuid -> withPropertyLock(uuid, property -> {
+                    var block = new Block(TimeOrderedUuids.next(), property, blockCreateDto.getStartDate(), blockCreateDto.getEndDate(), LocalDate.now(), null, 0L);
+                    return validateIfDatesAreAvailable(property.getId(), block.getStartDate(), block.getEndDate())
+                            .then(reservationRepository.insertBlock(block))
+                            .then(reservationRepository.upsertOccupancy(new Occupancy(block.getId(), property.getId(), OccupancySource.BLOCK, block.getStartDate(), block.getEndDate())))
+                            .thenReturn(block);
+                }));
+    }
+
+    public Mono<AvailabilityCalendarDto> getAvailabilityCalendar(String propertyId, LocalDate from, LocalDate to) {
+        return Mono.fromCallable(() -> validUUID(propertyId))
+                .flatMap(reservationRepository::findById)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Bad Request")))
+                .doOnNext(property -> AvailabilityCalendars.validateRange(from, to))
+                .flatMap(property -> reservationRepository.findOverlapping(property.getId(), from, to).collectList()
+                        .map(occupancies -> AvailabilityCalendars.of(property.getId(), from, to, occupancies)));
+    }
+
+    // An unknown property fails like the foreign key of the servlet application does.
+    private <T> Mono<T> withPropertyLock(UUID propertyId, Function<Property, Mono<T>> action) {
+        return reservationRepository.findAndLockById(propertyId)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Bad Request")))
+                .flatMap(action)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Void> validateIfDatesAreAvailable(UUID propertyId, LocalDate startDate, LocalDate endDate) {
+        return reservationRepository.findConflictingSource(propertyId, startDate, endDate)
+                .flatMap(conflict -> Mono.<Void>error(new BadRequestException(conflict == OccupancySource.BOOKING
+                        ? "Dates are already booked" : "Dates are already blocked")));
+    }
+
+    private static UUID validUUID(String id) {
+        if (id == null) throw new BadRequestException("Bad Request");
+
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Bad Request");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.hostfully.reactive;
+
+import com.hostfully.interview.BookingApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with ./gradlew :reactive:benchmark, the open file limit must allow twice the connections (ulimit -n).
+// -Dbenchmark.connections, -Dbenchmark.requests and -Dbenchmark.pool-size change the concurrent connections, the
+// requests sent and the database connection pool size of both applications.
+@Tag("benchmark")
+class ReactiveLoadBenchmarkTests {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 10_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 100_000);
+    private static final int WARMUP_REQUESTS = REQUESTS / 10;
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 10);
+    private static final int PROPERTIES = 1000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    @Test
+    void bookingRequests_ServletAndReactive_ReportsThroughputAndLatency() throws Exception {
+        var propertyIds = new ArrayList<UUID>();
+        for (var i = 0; i < PROPERTIES; i++) propertyIds.add(UUID.randomUUID());
+
+        Result servlet;
+        try (var context = new SpringApplicationBuilder(BookingApplication.class).properties(
+                "server.port=0",
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "server.tomcat.max-connections=" + (CONNECTIONS * 2),
+                "server.tomcat.accept-count=" + CONNECTIONS,
+                "booking.reservation.portfolio-index=false",
+                // The reactive stack is on the classpath as well, the servlet application keeps to JDBC
+                "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration").run()) {
+            var jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.batchUpdate("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)",
+                    propertyIds.stream().map(id -> new Object[]{id, "property"}).toList());
+            servlet = load(context, propertyIds);
+        }
+        System.out.printf("Servlet, %d connections, pool of %d: %s%n", CONNECTIONS, POOL_SIZE, servlet);
+
+        Result reactive;
+        try (var context = ReactiveBookingApplication.builder().properties(
+                "server.port=0",
+                "spring.r2dbc.pool.max-size=" + POOL_SIZE).run()) {
+            var databaseClient = context.getBean(DatabaseClient.class);
+            Flux.fromIterable(propertyIds)
+                    .concatMap(id -> databaseClient.sql("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (:id, 'property', 0)").bind("id", id).then())
+                    .blockLast();
+            reactive = load(context, propertyIds);
+        }
+        System.out.printf("Reactive, %d connections, pool of %d: %s%n", CONNECTIONS, POOL_SIZE, reactive);
+
+        assertTrue(servlet.successful() > 0);
+        assertTrue(reactive.successful() > 0);
+    }
+
+    private Result load(ConfigurableApplicationContext context, List<UUID> propertyIds) throws Exception {
+        var baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofMinutes(1)).build();
+        send(client, baseUri, propertyIds, 0, WARMUP_REQUESTS);
+        return send(client, baseUri, propertyIds, WARMUP_REQUESTS, REQUESTS);
+    }
+
+    // Keeps up to CONNECTIONS requests in flight, each one on its own connection.
+    private Result send(HttpClient client, String baseUri, List<UUID> propertyIds, int first, int requests) throws Exception {
+        var inFlight = new Semaphore(CONNECTIONS);
+        var done = new CountDownLatch(requests);
+        var latencies = new long[requests];
+        var successful = new AtomicInteger();
+        var start = System.nanoTime();
+        for (var i = 0; i < requests; i++) {
+            inFlight.acquire();
+            var index = i;
+            var begin = System.nanoTime();
+            client.sendAsync(request(baseUri, propertyIds, first + i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - begin;
+                        if (error == null && response.statusCode() < 300) successful.incrementAndGet();
+                        inFlight.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(requests, requests / seconds, latencies[requests / 2] / 1_000_000.0, latencies[requests * 99 / 100] / 1_000_000.0, successful.get());
+    }
+
+    // Every other request creates a booking on the next free dates of a property, the others read its calendar.
+    private static HttpRequest request(String baseUri, List<UUID> propertyIds, int index) {
+        var propertyId = propertyIds.get(index % PROPERTIES);
+        var startDate = FIRST_DAY.plusDays(index / PROPERTIES * 5L);
+        if (index % 2 == 1) {
+            return HttpRequest.newBuilder(URI.create(baseUri + "/properties/" + propertyId + "/availability?from=" + FIRST_DAY + "&to=" + FIRST_DAY.plusDays(365)))
+                    .GET().build();
+        }
+        var body = """
+                {"propertyId":"%s","startDate":"%s","endDate":"%s","guests":[{"name":"Guest %d"}]}"""
+                .formatted(propertyId, startDate, startDate.plusDays(2), index);
+        return HttpRequest.newBuilder(URI.create(baseUri + "/booking"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private record Result(int requests, double throughput, double p50Millis, double p99Millis, int successful) {
+        @Override
+        public String toString() {
+            return "%.0f requests/s, p50 %.1f ms, p99 %.1f ms, %d of %d successful".formatted(throughput, p50Millis, p99Millis, successful, requests);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hostfully.reactive;
+
+import com.hostfully.interview.BookingApplication;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Both applications started with the shared-db profile on one H2 file, each sees and respects the other's writes.
+class SharedDatabaseTests {
+
+    private static final String PROFILE = "shared-db";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void createBooking_SharedDbProfile_ConflictsAcrossApplications() {
+        var path = "--booking.shared-db.path=" + directory.resolve("booking").toAbsolutePath();
+        var propertyId = UUID.randomUUID().toString();
+        var startDate = LocalDate.of(2030, 1, 10);
+        var guests = List.of(new GuestCreateDTO("John"));
+
+        try (var servlet = new SpringApplicationBuilder(BookingApplication.class).web(WebApplicationType.NONE).profiles(PROFILE)
+                // The reactive stack is on the classpath as well, the servlet application keeps to JDBC
+                .properties("spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
+                .run(path);
+             var reactive = ReactiveBookingApplication.builder().profiles(PROFILE).run(path, "--server.port=0")) {
+            servlet.getBean(JdbcTemplate.class).update("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, 'property', 0)", propertyId);
+            var webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactive.getEnvironment().getProperty("local.server.port")).build();
+
+            webTestClient.post().uri("/booking").bodyValue(new BookingCreateDto(propertyId, startDate, startDate.plusDays(2), guests)).exchange()
+                    .expectStatus().isCreated();
+            var exception = assertThrows(BadRequestException.class, () -> servlet.getBean(BookingService.class)
+                    .createBooking(new BookingCreateDto(propertyId, startDate.plusDays(1), startDate.plusDays(3), guests)));
+            assertEquals("Dates are already booked", exception.getMessage());
+
+            servlet.getBean(BookingService.class).createBooking(new BookingCreateDto(propertyId, startDate.plusDays(5), startDate.plusDays(7), guests));
+            webTestClient.post().uri("/booking").bodyValue(new BookingCreateDto(propertyId, startDate.plusDays(6), startDate.plusDays(8), guests)).exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody().jsonPath("message").isEqualTo("Dates are already booked");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.hostfully.reactive.controller;
+
+import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.reactive.ReactiveBookingApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {ReactiveBookingApplication.CONFIG_NAME, "spring.main.web-application-type=reactive"})
+@AutoConfigureWebTestClient
+class ReservationApiControllerTests {
+
+    private static final String PROPERTY_ID = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private final List<GuestCreateDTO> guests = List.of(new GuestCreateDTO("John"));
+
+    private final LocalDate startDate = LocalDate.of(2030, 1, 10);
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES ('" + PROPERTY_ID + "', 'property', 0)").then().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Flux.just("DELETE FROM OCCUPANCY", "DELETE FROM GUEST", "DELETE FROM BOOKING", "DELETE FROM BLOCK", "DELETE FROM PROPERTY")
+                .concatMap(sql -> databaseClient.sql(sql).then())
+                .blockLast();
+    }
+
+    @Test
+    public void createBooking_ValidDto_EntityIsReturnedAndInserted() {
+        var bookingCreateDto = new BookingCreateDto(PROPERTY_ID, startDate, startDate.plusDays(2), guests);
+
+        webTestClient.post().uri("/booking").bodyValue(bookingCreateDto).exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("property.id").isEqualTo(PROPERTY_ID)
+                .jsonPath("property.name").isEqualTo("property")
+                .jsonPath("startDate").isEqualTo(startDate.toString())
+                .jsonPath("status").isEqualTo(BookingStatus.CONFIRMED.toString())
+                .jsonPath("guests[0].name").isEqualTo("John");
+
+        assertEquals(1L, count("GUEST"));
+        assertEquals(1L, count("OCCUPANCY"));
+    }
+
+    @Test
+    public void createBooking_InvalidPropertyId_BadRequestIsThrows() {
+        var bookingCreateDto = new BookingCreateDto("invalid-id", startDate, startDate.plusDays(2), guests);
+
+        webTestClient.post().uri("/booking").bodyValue(bookingCreateDto).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("message").isEqualTo("Property ID is required and must be a valid UUID");
+    }
+
+    @Test
+    public void createBooking_UnknownProperty_BadRequestIsThrows() {
+        var bookingCreateDto = new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d8", startDate, startDate.plusDays(2), guests);
+
+        webTestClient.post().uri("/booking").bodyValue(bookingCreateDto).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("message").isEqualTo("Bad Request");
+    }
+
+    @Test
+    public void createBooking_OverlappingBooking_BadRequestIsThrows() {
+        createBooking(startDate, startDate.plusDays(2)).expectStatus().isCreated();
+
+        createBooking(startDate.plusDays(2), startDate.plusDays(4))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("message").isEqualTo("Dates are already booked");
+    }
+
+    @Test
+    public void createBooking_OverlappingBlock_BadRequestIsThrows() {
+        webTestClient.post().uri("/property/{id}/block", PROPERTY_ID).bodyValue(new BlockCreateDto(startDate, startDate.plusDays(2))).exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("property.id").isEqualTo(PROPERTY_ID);
+
+        createBooking(startDate.plusDays(1), startDate.plusDays(4))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("message").isEqualTo("Dates are already blocked");
+    }
+
+    @Test
+    public void createBlock_InvalidDates_BadRequestIsThrows() {
+        webTestClient.post().uri("/property/{id}/block", PROPERTY_ID).bodyValue(new BlockCreateDto(startDate, startDate)).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("message").isEqualTo("Start date must be different than end date");
+    }
+
+    @Test
+    public void createBooking_ConcurrentSameDates_OneBookingIsCreated() throws Exception {
+        var executor = Executors.newFixedThreadPool(20);
+        var requests = IntStream.range(0, 20)
+                .mapToObj(i -> (Callable<HttpStatusCode>) () -> createBooking(startDate, startDate.plusDays(2)).returnResult(String.class).getStatus())
+                .toList();
+
+        var created = 0;
+        for (var status : executor.invokeAll(requests)) {
+            if (status.get().value() == HttpStatus.CREATED.value()) created++;
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(1L, count("BOOKING"));
+    }
+
+    @Test
+    public void getAvailabilityCalendar_BookingAndBlock_RangesAreReturned() {
+        createBooking(startDate, startDate.plusDays(2)).expectStatus().isCreated();
+        webTestClient.post().uri("/property/{id}/block", PROPERTY_ID).bodyValue(new BlockCreateDto(startDate.plusDays(3), startDate.plusDays(4))).exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/properties/{id}/availability?from={from}&to={to}", PROPERTY_ID, startDate.minusDays(1), startDate.plusDays(5)).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("ranges.length()").isEqualTo(4)
+                .jsonPath("ranges[1].status").isEqualTo("BOOKED")
+                .jsonPath("ranges[1].endDate").isEqualTo(startDate.plusDays(2).toString())
+                .jsonPath("ranges[2].status").isEqualTo("BLOCKED")
+                .jsonPath("ranges[3].status").isEqualTo("FREE");
+    }
+
+    private WebTestClient.ResponseSpec createBooking(LocalDate startDate, LocalDate endDate) {
+        return webTestClient.post().uri("/booking").bodyValue(new BookingCreateDto(PROPERTY_ID, startDate, endDate, guests)).exchange();
+    }
+
+    private long count(String table) {
+        return databaseClient.sql("SELECT COUNT(*) AS TOTAL FROM " + table).map(row -> row.get("TOTAL", Long.class)).one().block();
+    }
+}
@@ -0,0 +1,22 @@
+package com.hostfully.interview.model.dto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingCreateDtoBenchmark {
+
+    private final BookingCreateDto bookingCreateDto = new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d7",
+            LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 14),
+            List.of(new GuestCreateDTO("John"), new GuestCreateDTO("Mary"), new GuestCreateDTO("Alan Wake")));
+
+    @Benchmark
+    public boolean validate() {
+        return bookingCreateDto.validate();
+    }
+}
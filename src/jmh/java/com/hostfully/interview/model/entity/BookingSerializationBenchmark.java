@@ -0,0 +1,43 @@
+package com.hostfully.interview.model.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body of a booking as the HTTP message converter writes it, with the Spring Boot defaults for dates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingSerializationBenchmark {
+
+    @Param({"1", "10"})
+    public int guests;
+
+    private ObjectMapper objectMapper;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        var createdAt = LocalDate.of(2030, 1, 1);
+        var bookingGuests = new ArrayList<Guest>();
+        for (var i = 0; i < guests; i++) {
+            bookingGuests.add(new Guest(UUID.randomUUID(), "Guest " + i, createdAt, null, 0L));
+        }
+        booking = new Booking(UUID.randomUUID(), new Property(UUID.randomUUID(), "property", 0L), LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 14),
+                BookingStatus.CONFIRMED, createdAt, null, bookingGuests, 0L);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+}
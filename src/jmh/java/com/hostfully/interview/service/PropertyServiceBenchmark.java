@@ -0,0 +1,28 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.exception.BadRequestException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PropertyServiceBenchmark {
+
+    // validUUID does not use the collaborators.
+    private final PropertyService propertyService = new PropertyService(null, null, null, null);
+
+    @Param({"555a2254-e8ff-4005-ada2-4d478b04a5d7", "invalid-id"})
+    public String id;
+
+    @Benchmark
+    public UUID validUUID() {
+        try {
+            return propertyService.validUUID(id);
+        } catch (BadRequestException e) {
+            return null;
+        }
+    }
+}
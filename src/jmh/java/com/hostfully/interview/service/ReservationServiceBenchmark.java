@@ -0,0 +1,96 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.BookingApplication;
+import com.hostfully.interview.availability.AvailabilityIndexLoader;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.id.TimeOrderedUuids;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability check of one booking request against embedded H2, in each availability mode. Every property has
+ * bookings of 3 days every 5 days, the free probe asks for the 2 days between two bookings, the booked one overlaps a
+ * booking and pays for the exception as a request would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationServiceBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    @Param({"sql", "occupancy", "interval-tree", "bitmap"})
+    public String availabilityMode;
+
+    @Param({"1000"})
+    public int properties;
+
+    @Param({"100"})
+    public int bookingsPerProperty;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private String[] propertyIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("booking.reservation.availability-mode=" + availabilityMode, "booking.reservation.portfolio-index=false")
+                .run();
+        reservationService = context.getBean(ReservationService.class);
+
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        propertyIds = new String[properties];
+        for (var p = 0; p < properties; p++) {
+            var propertyId = TimeOrderedUuids.next();
+            propertyIds[p] = propertyId.toString();
+            jdbcTemplate.update("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", propertyId, "property " + p);
+            var bookings = new ArrayList<Object[]>(bookingsPerProperty);
+            var occupancies = new ArrayList<Object[]>(bookingsPerProperty);
+            for (var b = 0; b < bookingsPerProperty; b++) {
+                var bookingId = TimeOrderedUuids.next();
+                var startDate = FIRST_DAY.plusDays(b * 5L);
+                bookings.add(new Object[]{bookingId, propertyId, startDate, startDate.plusDays(2), BookingStatus.CONFIRMED.name(), FIRST_DAY});
+                occupancies.add(new Object[]{bookingId, propertyId, startDate, startDate.plusDays(2)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO BOOKING(ID, PROPERTY_ID, START_DATE, END_DATE, STATUS, CREATED_AT, VERSION) VALUES (?, ?, ?, ?, ?, ?, 0)", bookings);
+            jdbcTemplate.batchUpdate("INSERT INTO OCCUPANCY(SOURCE_ID, PROPERTY_ID, SOURCE_TYPE, START_DATE, END_DATE) VALUES (?, ?, 'BOOKING', ?, ?)", occupancies);
+        }
+        // The rows were written behind the indexes' back, load them like a restart would.
+        context.getBean(AvailabilityIndexLoader.class).load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean availableDates() {
+        var index = next++;
+        var startDate = FIRST_DAY.plusDays((index / properties % bookingsPerProperty) * 5L + 3);
+        return reservationService.validateIfDatesAreAvailable(propertyIds[index % properties], startDate, startDate.plusDays(1));
+    }
+
+    @Benchmark
+    public String bookedDates() {
+        var index = next++;
+        var startDate = FIRST_DAY.plusDays((index / properties % bookingsPerProperty) * 5L + 1);
+        try {
+            reservationService.validateIfDatesAreAvailable(propertyIds[index % properties], startDate, startDate.plusDays(1));
+            throw new IllegalStateException("Dates should be booked");
+        } catch (BadRequestException e) {
+            return e.getMessage();
+        }
+    }
+}
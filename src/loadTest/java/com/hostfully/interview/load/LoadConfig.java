@@ -0,0 +1,39 @@
+package com.hostfully.interview.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a run, read from the load.* system properties that ./gradlew loadTest forwards.
+ *
+ * @param rate       requests started per second, whatever the response times
+ * @param mix        relative weight of each operation, e.g. create=40,read=40,update=10,cancel=5,rebook=5,block=0
+ * @param horizonDays bookings and blocks get random dates within this many days, a shorter horizon means more conflicts
+ */
+public record LoadConfig(int rate, Duration duration, Duration warmup, int properties, int horizonDays, Map<Operation, Integer> mix, String reportDir) {
+
+    public static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                Integer.getInteger("load.rate", 200),
+                Duration.ofSeconds(Long.getLong("load.duration", 60L)),
+                Duration.ofSeconds(Long.getLong("load.warmup", 10L)),
+                Integer.getInteger("load.properties", 100),
+                Integer.getInteger("load.horizon-days", 365),
+                parseMix(System.getProperty("load.mix", "create=40,read=40,update=10,cancel=5,rebook=5,block=0")),
+                System.getProperty("load.report-dir", "build/load-test"));
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim().split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            var weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative load.mix weight: " + entry);
+            if (weight > 0) weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("load.mix has no operation");
+        return weights;
+    }
+}
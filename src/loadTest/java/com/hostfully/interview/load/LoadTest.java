@@ -0,0 +1,186 @@
+package com.hostfully.interview.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.BookingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: boots the application on a random port and starts requests at a fixed rate whatever the
+ * response times, with the operations drawn from the configured mix. Updates, cancellations and rebookings pick
+ * bookings created earlier in the run, a create runs instead while there is none to pick.
+ * Run with ./gradlew loadTest -Dload.rate=500 -Dload.duration=120, see {@link LoadConfig}.
+ */
+public class LoadTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    private static final List<String> CONFLICTS = List.of("Dates are already booked", "Dates are already blocked");
+
+    private final LoadConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Queue<String> confirmed = new ConcurrentLinkedQueue<>();
+    private final Queue<String> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<UUID> propertyIds = new ArrayList<>();
+    private final Operation[] weightedOperations;
+    private String baseUri;
+
+    public LoadTest(LoadConfig config) {
+        this.config = config;
+        for (var operation : Operation.values()) stats.put(operation, new OperationStats(operation.name().toLowerCase()));
+        weightedOperations = config.mix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadConfig.fromSystemProperties();
+        try (var context = new SpringApplicationBuilder(BookingApplication.class).properties("server.port=0").run(args)) {
+            var loadTest = new LoadTest(config);
+            loadTest.baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            loadTest.seedProperties(context.getBean(JdbcTemplate.class));
+            loadTest.run();
+        }
+    }
+
+    private void seedProperties(JdbcTemplate jdbcTemplate) {
+        var rows = new ArrayList<Object[]>();
+        for (var i = 0; i < config.properties(); i++) {
+            propertyIds.add(UUID.randomUUID());
+            rows.add(new Object[]{propertyIds.get(i), "load test " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", rows);
+    }
+
+    // Request i is due at start + i / rate. Only requests due after the warmup are recorded.
+    private void run() throws Exception {
+        var interval = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        var start = System.nanoTime();
+        var measureFrom = start + config.warmup().toNanos();
+        var end = measureFrom + config.duration().toNanos();
+        System.out.printf("Sending %d requests/s for %ds after a %ds warmup to %s%n", config.rate(), config.duration().toSeconds(), config.warmup().toSeconds(), baseUri);
+
+        for (long i = 0, due = start; due < end; i++, due = start + i * interval) {
+            var wait = due - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            send(due, due >= measureFrom);
+        }
+        var deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) Thread.sleep(10);
+
+        report(config.duration().toNanos() / 1e9);
+    }
+
+    private void send(long due, boolean measured) {
+        var operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        String bookingId = null;
+        if (operation == Operation.UPDATE || operation == Operation.CANCEL) bookingId = confirmed.poll();
+        if (operation == Operation.REBOOK) bookingId = cancelled.poll();
+        if (bookingId == null && operation != Operation.READ && operation != Operation.BLOCK) operation = Operation.CREATE;
+
+        var executed = operation;
+        var id = bookingId;
+        inFlight.incrementAndGet();
+        client.sendAsync(request(executed, id), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    try {
+                        var status = response == null ? -1 : response.statusCode();
+                        var conflict = status == 400 && CONFLICTS.stream().anyMatch(response.body()::contains);
+                        if (measured) stats.get(executed).record(System.nanoTime() - due, status, conflict);
+                        track(executed, id, status, response);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    // Returns picked bookings to their pool and adds created ones.
+    private void track(Operation operation, String bookingId, int status, HttpResponse<String> response) {
+        var succeeded = status >= 200 && status < 300;
+        switch (operation) {
+            case CREATE -> {
+                if (succeeded) confirmed.add(readId(response.body()));
+            }
+            case UPDATE -> confirmed.add(bookingId);
+            case CANCEL -> (succeeded ? cancelled : confirmed).add(bookingId);
+            case REBOOK -> (succeeded ? confirmed : cancelled).add(bookingId);
+            default -> {
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, String bookingId) {
+        var random = ThreadLocalRandom.current();
+        var propertyId = propertyIds.get(random.nextInt(propertyIds.size()));
+        var startDate = FIRST_DAY.plusDays(random.nextInt(config.horizonDays()));
+        var endDate = startDate.plusDays(1 + random.nextInt(7));
+        return switch (operation) {
+            case CREATE -> post("/booking", """
+                    {"propertyId":"%s","startDate":"%s","endDate":"%s","guests":[{"name":"Guest"}]}""".formatted(propertyId, startDate, endDate));
+            case UPDATE -> put("/booking/" + bookingId, """
+                    {"startDate":"%s","endDate":"%s"}""".formatted(startDate, endDate));
+            case CANCEL -> put("/booking/" + bookingId + "/action/cancel", "");
+            case REBOOK -> put("/booking/" + bookingId + "/action/rebook", "");
+            case READ -> HttpRequest.newBuilder(URI.create(baseUri + "/properties/" + propertyId + "/bookings?limit=50")).GET().build();
+            case BLOCK -> post("/property/" + propertyId + "/block", """
+                    {"startDate":"%s","endDate":"%s"}""".formatted(startDate, endDate));
+        };
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest put(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private String readId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected booking response: " + body, e);
+        }
+    }
+
+    private void report(double seconds) throws Exception {
+        var total = new OperationStats("total");
+        System.out.printf("%n%-8s %9s %10s %9s %9s %9s %9s %8s %10s%n", "op", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "conflicts");
+        for (var operationStats : stats.values()) {
+            operationStats.printRow(System.out, seconds);
+            total.add(operationStats);
+        }
+        total.printRow(System.out, seconds);
+
+        var reportDir = Files.createDirectories(Path.of(config.reportDir()));
+        for (var entry : stats.entrySet()) {
+            if (entry.getValue().count() == 0) continue;
+            try (var out = new PrintStream(reportDir.resolve(entry.getKey().name().toLowerCase() + ".hgrm").toFile())) {
+                entry.getValue().writeDistribution(out);
+            }
+        }
+        try (var out = new PrintStream(reportDir.resolve("total.hgrm").toFile())) {
+            total.writeDistribution(out);
+        }
+        System.out.println("Latency distributions written to " + reportDir.toAbsolutePath());
+    }
+}
@@ -0,0 +1,10 @@
+package com.hostfully.interview.load;
+
+public enum Operation {
+    CREATE,
+    UPDATE,
+    CANCEL,
+    REBOOK,
+    READ,
+    BLOCK
+}
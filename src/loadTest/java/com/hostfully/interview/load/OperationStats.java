@@ -0,0 +1,59 @@
+package com.hostfully.interview.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies in microseconds from the intended start of each request, so a stalled server is charged for the requests
+ * that should have been sent while it stalled (no coordinated omission).
+ */
+public class OperationStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public OperationStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long latencyNanos, int status, boolean conflict) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1000));
+        if (conflict) {
+            conflicts.increment();
+        } else if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    public void add(OperationStats other) {
+        latencies.add(other.latencies);
+        errors.add(other.errors.sum());
+        conflicts.add(other.conflicts.sum());
+    }
+
+    public long count() {
+        return latencies.getTotalCount();
+    }
+
+    public void printRow(PrintStream out, double seconds) {
+        var count = count();
+        if (count == 0) return;
+        out.printf("%-8s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %8d %9.2f%%%n", name, count, count / seconds,
+                millis(50), millis(99), millis(99.9), latencies.getMaxValue() / 1000.0,
+                errors.sum(), 100.0 * conflicts.sum() / count);
+    }
+
+    // Percentile distribution in milliseconds, the .hgrm format read by the HdrHistogram plotter.
+    public void writeDistribution(PrintStream out) {
+        latencies.outputPercentileDistribution(out, 1000.0);
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.AvailabilityCalendarDto;
+import com.hostfully.interview.model.dto.AvailabilityRangeDto;
+import com.hostfully.interview.model.dto.AvailabilityStatus;
+import com.hostfully.interview.model.entity.Occupancy;
+import com.hostfully.interview.model.entity.OccupancySource;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * Builds the availability calendar of a property from its OCCUPANCY rows, shared by the servlet and the reactive API.
+ */
+public final class AvailabilityCalendars {
+
+    public static final long MAX_DAYS = 3 * 366;
+
+    private AvailabilityCalendars() {
+    }
+
+    public static boolean validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new BadRequestException("From and to dates are required");
+        if (from.isAfter(to)) throw new BadRequestException("From date must not be after to date");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) throw new BadRequestException("Date range is too long");
+        return true;
+    }
+
+    // Run length encoded in one pass over the occupancy rows sorted by start date, adjacent sources with the same
+    // status are merged.
+    public static AvailabilityCalendarDto of(UUID propertyId, LocalDate from, LocalDate to, Iterable<Occupancy> occupancies) {
+        var ranges = new ArrayList<AvailabilityRangeDto>();
+        var cursor = from;
+        for (var occupancy : occupancies) {
+            var endDate = occupancy.getEndDate().isAfter(to) ? to : occupancy.getEndDate();
+            if (endDate.isBefore(cursor)) continue;
+
+            if (occupancy.getStartDate().isAfter(cursor)) {
+                appendRange(ranges, AvailabilityStatus.FREE, cursor, occupancy.getStartDate().minusDays(1));
+                cursor = occupancy.getStartDate();
+            }
+            var status = occupancy.getSourceType() == OccupancySource.BOOKING ? AvailabilityStatus.BOOKED : AvailabilityStatus.BLOCKED;
+            appendRange(ranges, status, cursor, endDate);
+            cursor = endDate.plusDays(1);
+        }
+        if (!cursor.isAfter(to)) appendRange(ranges, AvailabilityStatus.FREE, cursor, to);
+
+        return new AvailabilityCalendarDto(propertyId, from, to, ranges);
+    }
+
+    private static void appendRange(ArrayList<AvailabilityRangeDto> ranges, AvailabilityStatus status, LocalDate startDate, LocalDate endDate) {
+        var last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+        if (last != null && last.getStatus() == status && last.getEndDate().plusDays(1).equals(startDate)) {
+            last.setEndDate(endDate);
+        } else {
+            ranges.add(new AvailabilityRangeDto(status, startDate, endDate));
+        }
+    }
+}
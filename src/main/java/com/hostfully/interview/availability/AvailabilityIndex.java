@@ -0,0 +1,21 @@
+package com.hostfully.interview.availability;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * In-memory view of BOOKING and BLOCK used to answer overlap checks without a database round trip.
+ * The database stays the source of truth, the index is loaded from it and kept up to date by writes.
+ */
+public interface AvailabilityIndex {
+
+    boolean isReady();
+
+    void markReady();
+
+    boolean isBooked(UUID propertyId, UUID bookingId, LocalDate startDate, LocalDate endDate);
+
+    boolean isBlocked(UUID propertyId, UUID blockId, LocalDate startDate, LocalDate endDate);
+
+    void apply(OccupancyChangedEvent event);
+}
@@ -0,0 +1,106 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.config.ReservationProperties;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.OccupancySource;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class AvailabilityIndexLoader {
+
+    private final AvailabilityIndex availabilityIndex;
+    private final PortfolioAvailabilityIndex portfolioAvailabilityIndex;
+    private final ReservationProperties reservationProperties;
+    private final BookingRepository bookingRepository;
+    private final BlockRepository blockRepository;
+    private final PropertyRepository propertyRepository;
+    // Events committed while the snapshot is read, null outside of load()
+    private List<Object> pendingEvents;
+
+    public AvailabilityIndexLoader(AvailabilityIndex availabilityIndex, PortfolioAvailabilityIndex portfolioAvailabilityIndex, ReservationProperties reservationProperties,
+                                   BookingRepository bookingRepository, BlockRepository blockRepository, PropertyRepository propertyRepository) {
+        this.availabilityIndex = availabilityIndex;
+        this.portfolioAvailabilityIndex = portfolioAvailabilityIndex;
+        this.reservationProperties = reservationProperties;
+        this.bookingRepository = bookingRepository;
+        this.blockRepository = blockRepository;
+        this.propertyRepository = propertyRepository;
+    }
+
+    // A snapshot row can predate a write committed while the snapshot is read, so events received during the load
+    // are held back and replayed after it. Puts are idempotent per source id, replaying a write the snapshot saw is fine.
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var indexed = reservationProperties.getAvailabilityMode().isIndexed();
+        var portfolio = reservationProperties.isPortfolioIndex();
+        if (!indexed && !portfolio) return;
+
+        synchronized (this) {
+            pendingEvents = new ArrayList<>();
+        }
+
+        if (portfolio) {
+            propertyRepository.findAllIds().forEach(id -> portfolioAvailabilityIndex.apply(new PropertyChangedEvent(id, true)));
+        }
+
+        var bookings = bookingRepository.findAllOccupanciesByStatusNot(BookingStatus.CANCELLED);
+        bookings.forEach(view -> apply(new OccupancyChangedEvent(view.getPropertyId(), view.getId(), OccupancySource.BOOKING, view.getStartDate(), view.getEndDate(), true), indexed, portfolio));
+
+        var blocks = blockRepository.findAllOccupancies();
+        blocks.forEach(view -> apply(new OccupancyChangedEvent(view.getPropertyId(), view.getId(), OccupancySource.BLOCK, view.getStartDate(), view.getEndDate(), true), indexed, portfolio));
+
+        synchronized (this) {
+            pendingEvents.forEach(this::apply);
+            pendingEvents = null;
+        }
+
+        if (indexed) {
+            availabilityIndex.markReady();
+            log.info("Availability index ({}) loaded with {} bookings and {} blocks", reservationProperties.getAvailabilityMode(), bookings.size(), blocks.size());
+        }
+        if (portfolio) {
+            portfolioAvailabilityIndex.markReady();
+            log.info("Portfolio availability index loaded with {} bookings and {} blocks", bookings.size(), blocks.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        if (!holdBack(event)) apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!holdBack(event)) apply(event);
+    }
+
+    private synchronized boolean holdBack(Object event) {
+        if (pendingEvents == null) return false;
+        pendingEvents.add(event);
+        return true;
+    }
+
+    private void apply(Object event) {
+        if (event instanceof OccupancyChangedEvent occupancyChanged) {
+            apply(occupancyChanged, true, reservationProperties.isPortfolioIndex());
+        } else if (event instanceof PropertyChangedEvent propertyChanged && reservationProperties.isPortfolioIndex()) {
+            portfolioAvailabilityIndex.apply(propertyChanged);
+        }
+    }
+
+    private void apply(OccupancyChangedEvent event, boolean indexed, boolean portfolio) {
+        if (indexed) availabilityIndex.apply(event);
+        if (portfolio) portfolioAvailabilityIndex.apply(event);
+    }
+}
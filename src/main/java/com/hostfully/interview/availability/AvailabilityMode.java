@@ -0,0 +1,12 @@
+package com.hostfully.interview.availability;
+
+public enum AvailabilityMode {
+    SQL,
+    OCCUPANCY,
+    INTERVAL_TREE,
+    BITMAP;
+
+    public boolean isIndexed() {
+        return this == INTERVAL_TREE || this == BITMAP;
+    }
+}
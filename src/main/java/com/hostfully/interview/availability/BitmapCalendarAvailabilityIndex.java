@@ -0,0 +1,75 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.model.entity.OccupancySource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class BitmapCalendarAvailabilityIndex implements AvailabilityIndex {
+
+    private final ConcurrentMap<UUID, PropertyCalendar> calendars = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isBooked(UUID propertyId, UUID bookingId, LocalDate startDate, LocalDate endDate) {
+        var calendar = calendars.get(propertyId);
+        return calendar != null && calendar.overlaps(OccupancySource.BOOKING, bookingId, startDate, endDate);
+    }
+
+    @Override
+    public boolean isBlocked(UUID propertyId, UUID blockId, LocalDate startDate, LocalDate endDate) {
+        var calendar = calendars.get(propertyId);
+        return calendar != null && calendar.overlaps(OccupancySource.BLOCK, blockId, startDate, endDate);
+    }
+
+    @Override
+    public void apply(OccupancyChangedEvent event) {
+        calendars.computeIfAbsent(event.propertyId(), id -> new PropertyCalendar()).apply(event);
+    }
+
+    public CalendarFootprint footprint() {
+        long bitmapBytes = 0;
+        long totalBytes = 0;
+        for (var calendar : calendars.values()) {
+            synchronized (calendar) {
+                bitmapBytes += calendar.bookings.bitmapSizeInBytes() + calendar.blocks.bitmapSizeInBytes();
+                totalBytes += calendar.bookings.sizeInBytes() + calendar.blocks.sizeInBytes();
+            }
+        }
+        return new CalendarFootprint(calendars.size(), bitmapBytes, totalBytes);
+    }
+
+    private static final class PropertyCalendar {
+        private final OccupancyCalendar bookings = new OccupancyCalendar();
+        private final OccupancyCalendar blocks = new OccupancyCalendar();
+
+        synchronized boolean overlaps(OccupancySource source, UUID excludedId, LocalDate startDate, LocalDate endDate) {
+            return calendar(source).overlaps(startDate.toEpochDay(), endDate.toEpochDay(), excludedId);
+        }
+
+        synchronized void apply(OccupancyChangedEvent event) {
+            var calendar = calendar(event.source());
+            if (event.active()) {
+                calendar.put(event.sourceId(), event.startDate().toEpochDay(), event.endDate().toEpochDay());
+            } else {
+                calendar.remove(event.sourceId());
+            }
+        }
+
+        private OccupancyCalendar calendar(OccupancySource source) {
+            return source == OccupancySource.BOOKING ? bookings : blocks;
+        }
+    }
+}
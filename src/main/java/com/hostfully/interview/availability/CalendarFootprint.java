@@ -0,0 +1,18 @@
+package com.hostfully.interview.availability;
+
+public record CalendarFootprint(int properties, long bitmapBytes, long totalBytes) {
+
+    public long bitmapBytesPerProperty() {
+        return properties == 0 ? 0 : bitmapBytes / properties;
+    }
+
+    public long totalBytesPerProperty() {
+        return properties == 0 ? 0 : totalBytes / properties;
+    }
+
+    @Override
+    public String toString() {
+        return "%d properties, %d bitmap bytes per property, %d bytes per property with intervals, %d bytes total"
+                .formatted(properties, bitmapBytesPerProperty(), totalBytesPerProperty(), totalBytes);
+    }
+}
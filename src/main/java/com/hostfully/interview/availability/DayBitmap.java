@@ -0,0 +1,81 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.model.dto.ReservationDates;
+
+/**
+ * One bit per epoch day, stored from the first word that was ever set so a few years of calendar take a few
+ * dozen longs. Range operations work a whole word (64 days) at a time. Days outside the supported horizon are
+ * dropped, so rows written before it was enforced cannot grow the array past a century of days.
+ */
+public class DayBitmap {
+
+    static final long MIN_DAY = ReservationDates.MIN_DATE.toEpochDay();
+    static final long MAX_DAY = ReservationDates.MAX_DATE.toEpochDay();
+
+    private static final long[] EMPTY = new long[0];
+
+    private long firstWord;
+    private long[] words = EMPTY;
+
+    public void set(long startDay, long endDay) {
+        startDay = Math.max(startDay, MIN_DAY);
+        endDay = Math.min(endDay, MAX_DAY);
+        if (startDay > endDay) return;
+        ensureCapacity(startDay >> 6, endDay >> 6);
+        for (var word = startDay >> 6; word <= endDay >> 6; word++) {
+            words[(int) (word - firstWord)] |= mask(word, startDay, endDay);
+        }
+    }
+
+    public void clear(long startDay, long endDay) {
+        startDay = Math.max(startDay, MIN_DAY);
+        endDay = Math.min(endDay, MAX_DAY);
+        var from = Math.max(startDay >> 6, firstWord);
+        var to = Math.min(endDay >> 6, lastWord());
+        for (var word = from; word <= to; word++) {
+            words[(int) (word - firstWord)] &= ~mask(word, startDay, endDay);
+        }
+    }
+
+    public boolean intersects(long startDay, long endDay) {
+        startDay = Math.max(startDay, MIN_DAY);
+        endDay = Math.min(endDay, MAX_DAY);
+        var from = Math.max(startDay >> 6, firstWord);
+        var to = Math.min(endDay >> 6, lastWord());
+        for (var word = from; word <= to; word++) {
+            if ((words[(int) (word - firstWord)] & mask(word, startDay, endDay)) != 0) return true;
+        }
+        return false;
+    }
+
+    public long sizeInBytes() {
+        // object header and fields, plus the array header and its longs
+        return 24 + 16 + 8L * words.length;
+    }
+
+    private long lastWord() {
+        return firstWord + words.length - 1;
+    }
+
+    private static long mask(long word, long startDay, long endDay) {
+        var mask = -1L;
+        if (word == startDay >> 6) mask &= -1L << (startDay & 63);
+        if (word == endDay >> 6) mask &= -1L >>> (63 - (endDay & 63));
+        return mask;
+    }
+
+    private void ensureCapacity(long startWord, long endWord) {
+        if (words.length == 0) {
+            firstWord = startWord;
+            words = new long[Math.toIntExact(endWord - startWord + 1)];
+            return;
+        }
+        if (startWord >= firstWord && endWord <= lastWord()) return;
+
+        var newFirstWord = Math.min(startWord, firstWord);
+        var newWords = new long[Math.toIntExact(Math.max(endWord, lastWord()) - newFirstWord + 1)];
+        System.arraycopy(words, 0, newWords, Math.toIntExact(firstWord - newFirstWord), words.length);
+        firstWord = newFirstWord;
+        words = newWords;
+    }
+}
@@ -0,0 +1,30 @@
+package com.hostfully.interview.availability;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class DisabledAvailabilityIndex implements AvailabilityIndex {
+
+    @Override
+    public boolean isReady() {
+        return false;
+    }
+
+    @Override
+    public void markReady() {
+    }
+
+    @Override
+    public boolean isBooked(UUID propertyId, UUID bookingId, LocalDate startDate, LocalDate endDate) {
+        throw new IllegalStateException("Availability index is disabled");
+    }
+
+    @Override
+    public boolean isBlocked(UUID propertyId, UUID blockId, LocalDate startDate, LocalDate endDate) {
+        throw new IllegalStateException("Availability index is disabled");
+    }
+
+    @Override
+    public void apply(OccupancyChangedEvent event) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.hostfully.interview.availability;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * AVL tree of closed [start, end] intervals ordered by (start, id). Every node keeps the greatest end of its
+ * subtree so an overlap lookup can skip branches that end before the requested range.
+ * Not thread safe, callers guard access.
+ */
+public class IntervalTree {
+
+    private final Map<UUID, Long> startById = new HashMap<>();
+    private Node root;
+
+    public void put(UUID id, long start, long end) {
+        remove(id);
+        root = insert(root, new Node(id, start, end));
+        startById.put(id, start);
+    }
+
+    public boolean remove(UUID id) {
+        var start = startById.remove(id);
+        if (start == null) return false;
+
+        root = delete(root, start, id);
+        return true;
+    }
+
+    public boolean overlaps(long start, long end, UUID excludedId) {
+        return overlaps(root, start, end, excludedId);
+    }
+
+    public int size() {
+        return startById.size();
+    }
+
+    private static boolean overlaps(Node node, long start, long end, UUID excludedId) {
+        if (node == null || node.maxEnd < start) return false;
+        if (node.start <= end && node.end >= start && !node.id.equals(excludedId)) return true;
+        if (overlaps(node.left, start, end, excludedId)) return true;
+
+        return node.start <= end && overlaps(node.right, start, end, excludedId);
+    }
+
+    private static Node insert(Node node, Node newNode) {
+        if (node == null) return newNode;
+
+        if (compare(newNode.start, newNode.id, node) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, long start, UUID id) {
+        if (node == null) return null;
+
+        var cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+
+            var successor = node.right;
+            while (successor.left != null) successor = successor.left;
+
+            var right = deleteMin(node.right);
+            successor.left = node.left;
+            successor.right = right;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) return node.right;
+
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, UUID id, Node node) {
+        var cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : id.compareTo(node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        var balanceFactor = height(node.left) - height(node.right);
+
+        if (balanceFactor > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        var left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        var right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+
+    private static final class Node {
+        private final UUID id;
+        private final long start;
+        private final long end;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(UUID id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.model.entity.OccupancySource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class IntervalTreeAvailabilityIndex implements AvailabilityIndex {
+
+    private final ConcurrentMap<UUID, PropertyIntervals> properties = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isBooked(UUID propertyId, UUID bookingId, LocalDate startDate, LocalDate endDate) {
+        var intervals = properties.get(propertyId);
+        return intervals != null && intervals.overlaps(OccupancySource.BOOKING, bookingId, startDate, endDate);
+    }
+
+    @Override
+    public boolean isBlocked(UUID propertyId, UUID blockId, LocalDate startDate, LocalDate endDate) {
+        var intervals = properties.get(propertyId);
+        return intervals != null && intervals.overlaps(OccupancySource.BLOCK, blockId, startDate, endDate);
+    }
+
+    @Override
+    public void apply(OccupancyChangedEvent event) {
+        properties.computeIfAbsent(event.propertyId(), id -> new PropertyIntervals()).apply(event);
+    }
+
+    private static final class PropertyIntervals {
+        private final IntervalTree bookings = new IntervalTree();
+        private final IntervalTree blocks = new IntervalTree();
+
+        synchronized boolean overlaps(OccupancySource source, UUID excludedId, LocalDate startDate, LocalDate endDate) {
+            return tree(source).overlaps(startDate.toEpochDay(), endDate.toEpochDay(), excludedId);
+        }
+
+        synchronized void apply(OccupancyChangedEvent event) {
+            var tree = tree(event.source());
+            if (event.active()) {
+                tree.put(event.sourceId(), event.startDate().toEpochDay(), event.endDate().toEpochDay());
+            } else {
+                tree.remove(event.sourceId());
+            }
+        }
+
+        private IntervalTree tree(OccupancySource source) {
+            return source == OccupancySource.BOOKING ? bookings : blocks;
+        }
+    }
+}
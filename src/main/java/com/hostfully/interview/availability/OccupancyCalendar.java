@@ -0,0 +1,81 @@
+package com.hostfully.interview.availability;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Occupied days of one property for one source (bookings or blocks). The bitmap answers range checks, the
+ * per-source intervals are only read to honour self exclusion and to restore days shared with a removed interval.
+ * Intervals are kept sorted by start day, so those reads only visit the ones starting within the longest stored span
+ * before the range instead of every interval of the property. Not thread safe, callers guard access.
+ */
+public class OccupancyCalendar {
+
+    // Estimated HashMap node, TreeMap entry, UUID and interval retained per interval.
+    static final long INTERVAL_BYTES = 144;
+
+    private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID LAST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+    private static final Comparator<Interval> BY_START = Comparator.comparingLong(Interval::startDay).thenComparing(Interval::id);
+
+    private final DayBitmap days = new DayBitmap();
+    private final Map<UUID, Interval> intervals = new HashMap<>();
+    private final NavigableSet<Interval> byStart = new TreeSet<>(BY_START);
+    private long longestSpan;
+
+    public void put(UUID id, long startDay, long endDay) {
+        remove(id);
+        var interval = new Interval(id, startDay, endDay);
+        intervals.put(id, interval);
+        byStart.add(interval);
+        longestSpan = Math.max(longestSpan, endDay - startDay);
+        days.set(startDay, endDay);
+    }
+
+    public void remove(UUID id) {
+        var interval = intervals.remove(id);
+        if (interval == null) return;
+        byStart.remove(interval);
+
+        days.clear(interval.startDay(), interval.endDay());
+        for (var other : overlapping(interval.startDay(), interval.endDay())) {
+            days.set(Math.max(interval.startDay(), other.startDay()), Math.min(interval.endDay(), other.endDay()));
+        }
+    }
+
+    public boolean overlaps(long startDay, long endDay, UUID excludedId) {
+        var excluded = excludedId == null ? null : intervals.get(excludedId);
+        if (excluded == null || excluded.endDay() < startDay || excluded.startDay() > endDay) return days.intersects(startDay, endDay);
+
+        if (startDay < excluded.startDay() && days.intersects(startDay, excluded.startDay() - 1)) return true;
+        if (endDay > excluded.endDay() && days.intersects(excluded.endDay() + 1, endDay)) return true;
+
+        var sharedStart = Math.max(startDay, excluded.startDay());
+        var sharedEnd = Math.min(endDay, excluded.endDay());
+        for (var other : overlapping(sharedStart, sharedEnd)) {
+            if (!other.id().equals(excludedId)) return true;
+        }
+        return false;
+    }
+
+    public long sizeInBytes() {
+        return days.sizeInBytes() + INTERVAL_BYTES * intervals.size();
+    }
+
+    public long bitmapSizeInBytes() {
+        return days.sizeInBytes();
+    }
+
+    // Stored intervals sharing a day with the range, an interval starting before startDay - longestSpan ends before it.
+    private Iterable<Interval> overlapping(long startDay, long endDay) {
+        var candidates = byStart.subSet(new Interval(FIRST_ID, startDay - longestSpan, 0), true, new Interval(LAST_ID, endDay, 0), true);
+        return () -> candidates.stream().filter(other -> other.endDay() >= startDay).iterator();
+    }
+
+    private record Interval(UUID id, long startDay, long endDay) {
+    }
+}
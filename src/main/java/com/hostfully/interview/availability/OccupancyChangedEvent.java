@@ -0,0 +1,37 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.model.entity.Block;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.OccupancySource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published on every booking or block write. When {@code active} is false the source no longer occupies
+ * its dates (deleted, or a cancelled booking).
+ */
+public record OccupancyChangedEvent(UUID propertyId, UUID sourceId, OccupancySource source,
+                                    LocalDate startDate, LocalDate endDate, boolean active) {
+
+    public static OccupancyChangedEvent of(Booking booking) {
+        return new OccupancyChangedEvent(booking.getProperty().getId(), booking.getId(), OccupancySource.BOOKING,
+                booking.getStartDate(), booking.getEndDate(), !BookingStatus.CANCELLED.equals(booking.getStatus()));
+    }
+
+    public static OccupancyChangedEvent of(Block block) {
+        return new OccupancyChangedEvent(block.getProperty().getId(), block.getId(), OccupancySource.BLOCK,
+                block.getStartDate(), block.getEndDate(), true);
+    }
+
+    public static OccupancyChangedEvent removed(Booking booking) {
+        return new OccupancyChangedEvent(booking.getProperty().getId(), booking.getId(), OccupancySource.BOOKING,
+                booking.getStartDate(), booking.getEndDate(), false);
+    }
+
+    public static OccupancyChangedEvent removed(Block block) {
+        return new OccupancyChangedEvent(block.getProperty().getId(), block.getId(), OccupancySource.BLOCK,
+                block.getStartDate(), block.getEndDate(), false);
+    }
+}
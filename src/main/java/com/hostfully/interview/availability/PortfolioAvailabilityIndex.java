@@ -0,0 +1,155 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.model.dto.ReservationDates;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted date index over the whole portfolio. Every property gets a dense ordinal and every day keeps a compressed
+ * bitmap of the ordinals occupied on it, so the properties free for a range are all live ordinals minus the union of
+ * the days in the range. Occupied sets are stored instead of free ones because most days only touch a few properties.
+ * Days outside the supported horizon are not indexed. Pages list properties in id order like the SQL fallback and
+ * resume after the last id of the previous page, so a page only walks its own properties and the occupied ones between.
+ */
+public class PortfolioAvailabilityIndex {
+
+    // Order of UUID columns in the database, both halves compared unsigned unlike UUID.compareTo
+    static final Comparator<UUID> ID_ORDER = Comparator.comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final long MIN_DAY = ReservationDates.MIN_DATE.toEpochDay();
+    private static final long MAX_DAY = ReservationDates.MAX_DATE.toEpochDay();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    // Ordinals of deleted properties, handed out again before new ones
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+    private final NavigableMap<UUID, Integer> liveOrdinals = new TreeMap<>(ID_ORDER);
+    private final RoaringBitmap liveProperties = new RoaringBitmap();
+    private final NavigableMap<Long, RoaringBitmap> occupiedByDay = new TreeMap<>();
+    private final Map<Integer, Map<UUID, long[]>> intervalsByProperty = new HashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            occupiedByDay.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void apply(PropertyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.active()) {
+                var ordinal = ordinal(event.propertyId());
+                liveProperties.add(ordinal);
+                liveOrdinals.put(event.propertyId(), ordinal);
+                return;
+            }
+            var ordinal = ordinals.remove(event.propertyId());
+            if (ordinal == null) return;
+            liveProperties.remove(ordinal);
+            liveOrdinals.remove(event.propertyId());
+            var intervals = intervalsByProperty.remove(ordinal);
+            if (intervals != null) intervals.values().forEach(interval -> clear(ordinal, interval[0], interval[1]));
+            freeOrdinals.push(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void apply(OccupancyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // Removals that arrive after the property was deleted have nothing left to clear
+            if (!event.active() && !ordinals.containsKey(event.propertyId())) return;
+            var ordinal = ordinal(event.propertyId());
+            var intervals = intervalsByProperty.computeIfAbsent(ordinal, key -> new HashMap<>());
+            var previous = intervals.remove(event.sourceId());
+            if (previous != null) {
+                clear(ordinal, previous[0], previous[1]);
+                intervals.values().forEach(other -> set(ordinal, Math.max(previous[0], other[0]), Math.min(previous[1], other[1])));
+            }
+            if (event.active()) {
+                var interval = new long[]{event.startDate().toEpochDay(), event.endDate().toEpochDay()};
+                intervals.put(event.sourceId(), interval);
+                set(ordinal, interval[0], interval[1]);
+            }
+            if (intervals.isEmpty()) intervalsByProperty.remove(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} properties after {@code after} (from the first one when null), in id order, with no booking
+     * or block touching any day between {@code from} and {@code to}, both inclusive.
+     */
+    public Window<UUID> findAvailable(LocalDate from, LocalDate to, UUID after, int limit) {
+        lock.readLock().lock();
+        try {
+            var free = free(from, to);
+            var content = new ArrayList<UUID>(limit);
+            var hasNext = false;
+            for (var property : (after == null ? liveOrdinals : liveOrdinals.tailMap(after, false)).entrySet()) {
+                if (!free.contains(property.getValue())) continue;
+                if (content.size() == limit) {
+                    hasNext = true;
+                    break;
+                }
+                content.add(property.getKey());
+            }
+            return Window.from(content, index -> ScrollPosition.forward(Map.of("id", content.get(index))), hasNext);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long countAvailable(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return free(from, to).getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap free(LocalDate from, LocalDate to) {
+        var occupied = FastAggregation.or(occupiedByDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values().iterator());
+        return RoaringBitmap.andNot(liveProperties, occupied);
+    }
+
+    private int ordinal(UUID propertyId) {
+        return ordinals.computeIfAbsent(propertyId, id -> freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop());
+    }
+
+    private void set(int ordinal, long startDay, long endDay) {
+        for (var day = Math.max(startDay, MIN_DAY); day <= Math.min(endDay, MAX_DAY); day++) {
+            occupiedByDay.computeIfAbsent(day, key -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    private void clear(int ordinal, long startDay, long endDay) {
+        for (var day = Math.max(startDay, MIN_DAY); day <= Math.min(endDay, MAX_DAY); day++) {
+            var occupied = occupiedByDay.get(day);
+            if (occupied == null) continue;
+            occupied.remove(ordinal);
+            if (occupied.isEmpty()) occupiedByDay.remove(day);
+        }
+    }
+}
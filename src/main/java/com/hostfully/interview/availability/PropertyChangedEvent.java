@@ -0,0 +1,19 @@
+package com.hostfully.interview.availability;
+
+import com.hostfully.interview.model.entity.Property;
+
+import java.util.UUID;
+
+/**
+ * Published when a property is created ({@code active}) or deleted.
+ */
+public record PropertyChangedEvent(UUID propertyId, boolean active) {
+
+    public static PropertyChangedEvent of(Property property) {
+        return new PropertyChangedEvent(property.getId(), true);
+    }
+
+    public static PropertyChangedEvent removed(UUID propertyId) {
+        return new PropertyChangedEvent(propertyId, false);
+    }
+}
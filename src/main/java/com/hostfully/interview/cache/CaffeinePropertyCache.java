@@ -0,0 +1,68 @@
+package com.hostfully.interview.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostfully.interview.model.entity.Property;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Hits, misses and evictions are published as cache.gets and cache.evictions tagged with cache=property.
+ * Missing properties are not cached. A miss stores a pending future and loads outside the cache's map lock, so a
+ * query never holds it (which would pin the carrier of a virtual thread), concurrent misses on one id wait for the
+ * same load, and an eviction during the load drops the pending future instead of letting the old row be cached.
+ */
+public class CaffeinePropertyCache implements PropertyCache {
+
+    private final AsyncCache<UUID, Property> cache;
+
+    public CaffeinePropertyCache(long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), NAME);
+    }
+
+    @Override
+    public Optional<Property> get(UUID id, Function<UUID, Optional<Property>> loader) {
+        var pending = new CompletableFuture<Property>();
+        var future = cache.get(id, (key, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(id).orElse(null));
+            } catch (RuntimeException e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    // Does not wait for a load in progress.
+    @Override
+    public Optional<Property> getIfPresent(UUID id) {
+        var future = cache.getIfPresent(id);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) return Optional.empty();
+        return Optional.ofNullable(future.getNow(null));
+    }
+
+    @Override
+    public void evict(UUID id) {
+        cache.synchronous().invalidate(id);
+    }
+}
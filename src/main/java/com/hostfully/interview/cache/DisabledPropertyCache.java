@@ -0,0 +1,24 @@
+package com.hostfully.interview.cache;
+
+import com.hostfully.interview.model.entity.Property;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+public class DisabledPropertyCache implements PropertyCache {
+
+    @Override
+    public Optional<Property> get(UUID id, Function<UUID, Optional<Property>> loader) {
+        return loader.apply(id);
+    }
+
+    @Override
+    public Optional<Property> getIfPresent(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void evict(UUID id) {
+    }
+}
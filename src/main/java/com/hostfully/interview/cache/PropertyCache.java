@@ -0,0 +1,22 @@
+package com.hostfully.interview.cache;
+
+import com.hostfully.interview.model.entity.Property;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Properties by id in front of the repository. Entries are evicted by {@link PropertyCacheListener} whenever a
+ * property is updated or removed, the returned instances are shared and must not be modified.
+ */
+public interface PropertyCache {
+
+    String NAME = "property";
+
+    Optional<Property> get(UUID id, Function<UUID, Optional<Property>> loader);
+
+    Optional<Property> getIfPresent(UUID id);
+
+    void evict(UUID id);
+}
@@ -0,0 +1,35 @@
+package com.hostfully.interview.cache;
+
+import com.hostfully.interview.model.entity.Property;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts at flush and again once the transaction completes, a reader loading the old row in between would otherwise
+ * keep it cached until it expires.
+ */
+public class PropertyCacheListener {
+
+    private final PropertyCache propertyCache;
+
+    public PropertyCacheListener(PropertyCache propertyCache) {
+        this.propertyCache = propertyCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(Property property) {
+        var id = property.getId();
+        propertyCache.evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    propertyCache.evict(id);
+                }
+            });
+        }
+    }
+}
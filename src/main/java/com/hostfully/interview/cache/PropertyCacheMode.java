@@ -0,0 +1,7 @@
+package com.hostfully.interview.cache;
+
+public enum PropertyCacheMode {
+    CAFFEINE,
+    SECOND_LEVEL,
+    NONE
+}
@@ -0,0 +1,29 @@
+package com.hostfully.interview.config;
+
+import com.hostfully.interview.availability.AvailabilityIndex;
+import com.hostfully.interview.availability.BitmapCalendarAvailabilityIndex;
+import com.hostfully.interview.availability.DisabledAvailabilityIndex;
+import com.hostfully.interview.availability.IntervalTreeAvailabilityIndex;
+import com.hostfully.interview.availability.PortfolioAvailabilityIndex;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReservationProperties.class)
+public class AvailabilityConfig {
+
+    @Bean
+    public AvailabilityIndex availabilityIndex(ReservationProperties reservationProperties) {
+        return switch (reservationProperties.getAvailabilityMode()) {
+            case INTERVAL_TREE -> new IntervalTreeAvailabilityIndex();
+            case BITMAP -> new BitmapCalendarAvailabilityIndex();
+            case SQL, OCCUPANCY -> new DisabledAvailabilityIndex();
+        };
+    }
+
+    @Bean
+    public PortfolioAvailabilityIndex portfolioAvailabilityIndex() {
+        return new PortfolioAvailabilityIndex();
+    }
+}
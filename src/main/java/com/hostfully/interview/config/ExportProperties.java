@@ -0,0 +1,14 @@
+package com.hostfully.interview.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.export")
+public class ExportProperties {
+
+    // Each export holds a pooled connection until the download ends, further exports are refused with 503.
+    private int maxConcurrent = 3;
+}
@@ -0,0 +1,21 @@
+package com.hostfully.interview.config;
+
+import com.hostfully.interview.model.entity.ImportFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.import")
+public class ImportProperties {
+
+    // Imported once at startup, an unfinished job of the same file is resumed.
+    private String file;
+
+    // Taken from the file extension when not set.
+    private ImportFormat format;
+
+    // Rows committed per transaction, at most 500 as a chunk is written as one booking batch.
+    private int chunkSize = 500;
+}
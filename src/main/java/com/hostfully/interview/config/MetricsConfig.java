@@ -0,0 +1,23 @@
+package com.hostfully.interview.config;
+
+import com.hostfully.interview.metrics.HandlerObservationConvention;
+import com.hostfully.interview.metrics.ReservationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReservationMetricsProperties.class)
+public class MetricsConfig {
+
+    @Bean
+    public ReservationMetrics reservationMetrics(MeterRegistry meterRegistry, ReservationMetricsProperties properties) {
+        return new ReservationMetrics(meterRegistry, properties);
+    }
+
+    @Bean
+    public HandlerObservationConvention handlerObservationConvention() {
+        return new HandlerObservationConvention();
+    }
+}
@@ -0,0 +1,54 @@
+package com.hostfully.interview.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.hostfully.interview.cache.CaffeinePropertyCache;
+import com.hostfully.interview.cache.DisabledPropertyCache;
+import com.hostfully.interview.cache.PropertyCache;
+import com.hostfully.interview.cache.PropertyCacheMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.util.OptionalLong;
+
+@Configuration
+@EnableConfigurationProperties(PropertyCacheProperties.class)
+public class PropertyCacheConfig {
+
+    @Bean
+    public PropertyCache propertyCache(PropertyCacheProperties properties, MeterRegistry meterRegistry) {
+        return properties.getMode() == PropertyCacheMode.CAFFEINE
+                ? new CaffeinePropertyCache(properties.getMaxSize(), properties.getTtl(), meterRegistry)
+                : new DisabledPropertyCache();
+    }
+
+    // hibernate-jcache on the classpath would turn the second-level cache on by itself, it is only enabled in second-level mode.
+    @Bean
+    public HibernatePropertiesCustomizer propertyCacheHibernateCustomizer(PropertyCacheProperties properties, MeterRegistry meterRegistry) {
+        return hibernateProperties -> {
+            var secondLevel = properties.getMode() == PropertyCacheMode.SECOND_LEVEL;
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, secondLevel);
+            if (!secondLevel) return;
+
+            var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+            var cache = cacheManager.getCache(PropertyCache.NAME);
+            if (cache == null) {
+                var configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(properties.getMaxSize()));
+                configuration.setExpireAfterWrite(OptionalLong.of(properties.getTtl().toNanos()));
+                configuration.setStatisticsEnabled(true);
+                cache = cacheManager.createCache(PropertyCache.NAME, configuration);
+            }
+            JCacheMetrics.monitor(meterRegistry, cache);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+}
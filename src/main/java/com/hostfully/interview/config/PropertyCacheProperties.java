@@ -0,0 +1,20 @@
+package com.hostfully.interview.config;
+
+import com.hostfully.interview.cache.PropertyCacheMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.property-cache")
+public class PropertyCacheProperties {
+
+    private PropertyCacheMode mode = PropertyCacheMode.CAFFEINE;
+
+    private long maxSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(10);
+}
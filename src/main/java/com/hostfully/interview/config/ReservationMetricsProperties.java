@@ -0,0 +1,20 @@
+package com.hostfully.interview.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.metrics")
+public class ReservationMetricsProperties {
+
+    // Properties that always get their own property tag.
+    private List<String> propertyTags = new ArrayList<>();
+
+    // Further properties tagged in the order they are first seen, the rest are tagged "other".
+    private int maxPropertyTags = 0;
+}
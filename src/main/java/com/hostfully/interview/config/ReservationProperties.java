@@ -0,0 +1,20 @@
+package com.hostfully.interview.config;
+
+import com.hostfully.interview.availability.AvailabilityMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "booking.reservation")
+public class ReservationProperties {
+
+    private AvailabilityMode availabilityMode = AvailabilityMode.SQL;
+
+    // Rounded up to a power of two, properties whose ids hash to the same stripe share a lock.
+    private int lockStripes = 1024;
+
+    // Serves GET /properties/available from memory, SQL is used while it loads or when disabled.
+    private boolean portfolioIndex = true;
+}
@@ -0,0 +1,17 @@
+package com.hostfully.interview.config;
+
+import com.hostfully.interview.retry.RetryMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+@Configuration
+@EnableRetry
+public class RetryConfig {
+
+    @Bean
+    public RetryMetricsListener retryMetricsListener(MeterRegistry meterRegistry) {
+        return new RetryMetricsListener(meterRegistry);
+    }
+}
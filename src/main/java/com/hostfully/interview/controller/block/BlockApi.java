@@ -1,5 +1,7 @@
 package com.hostfully.interview.controller.block;
 
+import com.hostfully.interview.model.dto.BlockBulkCreateDto;
+import com.hostfully.interview.model.dto.BlockBulkResultDto;
 import com.hostfully.interview.model.dto.BlockCreateDto;
 import com.hostfully.interview.model.dto.BookingCreateDto;
 import com.hostfully.interview.model.dto.ErrorInfoDto;
@@ -24,6 +26,13 @@ public interface BlockApi {
     @PostMapping("/property/{property-id}/block")
     ResponseEntity<Block> createBlock(@RequestBody BlockCreateDto blockCreateDto, @Parameter(description="Property id")  @PathVariable("property-id") String propertyId);
 
+    @Operation(summary = "Create Blocks in bulk", description = "Block every range on every property in one transaction, blocks conflicting with bookings, blocks or each other are rejected.", tags = {"block"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "request processed, see the status of each block", content = @Content(schema = @Schema(implementation = BlockBulkResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @PostMapping("/block/bulk")
+    ResponseEntity<BlockBulkResultDto> createBlocks(@RequestBody BlockBulkCreateDto blockBulkCreateDto);
+
     @Operation(summary = "Update Block", description = "Update a Block, increasing period only if the date is not already booked or blocked.", tags = {"block"})
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(schema = @Schema(implementation = Block.class))),
@@ -1,5 +1,7 @@
 package com.hostfully.interview.controller.block;
 
+import com.hostfully.interview.model.dto.BlockBulkCreateDto;
+import com.hostfully.interview.model.dto.BlockBulkResultDto;
 import com.hostfully.interview.model.dto.BlockCreateDto;
 import com.hostfully.interview.model.entity.Block;
 import com.hostfully.interview.service.BlockService;
@@ -23,6 +25,11 @@ public class BlockApiController implements BlockApi {
         return ResponseEntity.status(HttpStatus.CREATED).body(blockService.createBlock(blockCreateDto, propertyId));
     }
 
+    @Override
+    public ResponseEntity<BlockBulkResultDto> createBlocks(BlockBulkCreateDto blockBulkCreateDto) {
+        return ResponseEntity.ok(blockService.createBlocks(blockBulkCreateDto));
+    }
+
     @Override
     public ResponseEntity<Block> updateBlock(BlockCreateDto blockCreateDto, String blockId) {
         return ResponseEntity.ok(blockService.updateBlock(blockCreateDto, blockId));
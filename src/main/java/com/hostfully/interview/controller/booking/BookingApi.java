@@ -1,6 +1,9 @@
 package com.hostfully.interview.controller.booking;
 
+import com.hostfully.interview.model.dto.BookingBatchCreateDto;
+import com.hostfully.interview.model.dto.BookingBatchResultDto;
 import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.BookingDetailDto;
 import com.hostfully.interview.model.dto.BookingUpdateDto;
 import com.hostfully.interview.model.dto.ErrorInfoDto;
 import com.hostfully.interview.model.entity.Booking;
@@ -23,6 +26,13 @@ public interface BookingApi {
     @PostMapping
     ResponseEntity<Booking> createProperty(@RequestBody BookingCreateDto bookingCreateDto);
 
+    @Operation(summary = "Create Bookings in batch", description = "Create many Bookings in one transaction, each one is checked against existing bookings and blocks and against the previous ones of the batch", tags = {"booking"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "batch processed, see the status of each booking", content = @Content(schema = @Schema(implementation = BookingBatchResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @PostMapping("/batch")
+    ResponseEntity<BookingBatchResultDto> createBookings(@RequestBody BookingBatchCreateDto bookingBatchCreateDto);
+
     @Operation(summary = "Cancel a Booking", description = "Cancel a Booking", tags = {"booking"})
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(schema = @Schema(implementation = Booking.class))),
@@ -39,10 +49,10 @@ public interface BookingApi {
 
     @Operation(summary = "Get a Booking", description = "Get a Booking", tags = {"booking"})
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(schema = @Schema(implementation = Booking.class))),
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(schema = @Schema(implementation = BookingDetailDto.class))),
             @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
     @GetMapping("/{id}")
-    ResponseEntity<Booking> getBooking(@Parameter(description="Booking id") @PathVariable("id") String bookingId);
+    ResponseEntity<BookingDetailDto> getBooking(@Parameter(description="Booking id") @PathVariable("id") String bookingId);
 
     @Operation(summary = "Delete a Booking", description = "Delete a Booking", tags = {"booking"})
     @ApiResponses(value = {
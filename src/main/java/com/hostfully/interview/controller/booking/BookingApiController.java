@@ -1,6 +1,9 @@
 package com.hostfully.interview.controller.booking;
 
+import com.hostfully.interview.model.dto.BookingBatchCreateDto;
+import com.hostfully.interview.model.dto.BookingBatchResultDto;
 import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.BookingDetailDto;
 import com.hostfully.interview.model.dto.BookingUpdateDto;
 import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.service.BookingService;
@@ -25,6 +28,11 @@ public class BookingApiController implements BookingApi {
         return ResponseEntity.status(HttpStatus.CREATED).body(entity);
     }
 
+    @Override
+    public ResponseEntity<BookingBatchResultDto> createBookings(BookingBatchCreateDto bookingBatchCreateDto) {
+        return ResponseEntity.ok(bookingService.createBookings(bookingBatchCreateDto));
+    }
+
     @Override
     public ResponseEntity<Booking> cancelBooking(String bookingId) {
         return ResponseEntity.ok(bookingService.cancelBooking(bookingId));
@@ -36,8 +44,8 @@ public class BookingApiController implements BookingApi {
     }
 
     @Override
-    public ResponseEntity<Booking> getBooking(String bookingId) {
-        return ResponseEntity.ok(bookingService.getBooking(bookingId));
+    public ResponseEntity<BookingDetailDto> getBooking(String bookingId) {
+        return ResponseEntity.ok(bookingService.getBookingDetail(bookingId));
     }
 
     @Override
@@ -0,0 +1,34 @@
+package com.hostfully.interview.controller.importer;
+
+import com.hostfully.interview.model.dto.ErrorInfoDto;
+import com.hostfully.interview.model.entity.ImportJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@Tag(name = "import", description = "This is the Import API, that allows loading historical bookings and blocks")
+public interface ImportApi {
+    @Operation(summary = "Import bookings and blocks", description = "Stream NDJSON or CSV rows (type, propertyId, startDate, endDate, guests) committed in chunks. Send the same file with the job id to resume a failed import.", tags = {"import"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "import finished, see the job status and row counts", content = @Content(schema = @Schema(implementation = ImportJob.class))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @PostMapping("/import")
+    ResponseEntity<ImportJob> importRows(@Parameter(hidden = true) InputStream body,
+                                         @Parameter(description = "ndjson or csv") @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                         @Parameter(description = "Job id of the import to resume") @RequestParam(value = "jobId", required = false) String jobId);
+
+    @Operation(summary = "Get Import job", description = "Get the progress of an import", tags = {"import"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(schema = @Schema(implementation = ImportJob.class))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @GetMapping("/import/{job-id}")
+    ResponseEntity<ImportJob> getImportJob(@Parameter(description = "Import job id") @PathVariable("job-id") String jobId);
+}
@@ -0,0 +1,30 @@
+package com.hostfully.interview.controller.importer;
+
+import com.hostfully.interview.model.entity.ImportJob;
+import com.hostfully.interview.service.ImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping
+public class ImportApiController implements ImportApi {
+
+    private final ImportService importService;
+
+    public ImportApiController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @Override
+    public ResponseEntity<ImportJob> importRows(InputStream body, String format, String jobId) {
+        return ResponseEntity.ok(importService.importRows(body, format, jobId));
+    }
+
+    @Override
+    public ResponseEntity<ImportJob> getImportJob(String jobId) {
+        return ResponseEntity.ok(importService.getImportJob(jobId));
+    }
+}
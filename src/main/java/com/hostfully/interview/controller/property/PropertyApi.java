@@ -1,8 +1,11 @@
 package com.hostfully.interview.controller.property;
 
+import com.hostfully.interview.model.dto.AvailabilityCalendarDto;
+import com.hostfully.interview.model.dto.AvailableWindowDto;
+import com.hostfully.interview.model.dto.BlockSummaryDto;
+import com.hostfully.interview.model.dto.BookingSummaryDto;
 import com.hostfully.interview.model.dto.ErrorInfoDto;
 import com.hostfully.interview.model.dto.PropertyCreateDto;
-import com.hostfully.interview.model.entity.Block;
 import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.Property;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,9 +16,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "properties", description = "the Property API")
@@ -27,11 +33,25 @@ public interface PropertyApi {
     @GetMapping("/{id}")
     Property getProperty(@Parameter(description="Property id") @PathVariable("id") String id);
 
-    @Operation(summary = "Find all Property", description = "Find All Property", tags = {"properties"})
+    @Operation(summary = "Find all Property", description = "Find All Property ordered by id, a page at a time. The next page cursor goes in the X-Next-Cursor header and, with %count%, the total in X-Total-Count", tags = {"properties"})
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Property.class))))})
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Property.class)))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
     @GetMapping
-    List<Property> getAllProperties();
+    ResponseEntity<List<Property>> getAllProperties(@Parameter(description="X-Next-Cursor of the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @Parameter(description="Page size, up to 1000") @RequestParam(value = "limit", required = false) Integer limit,
+                                                    @Parameter(description="Also count all properties") @RequestParam(value = "count", defaultValue = "false") boolean count);
+
+    @Operation(summary = "Find available Properties", description = "Properties with no booking or block between %from% and %to% (inclusive) ordered by id, a page at a time. The next page cursor goes in the X-Next-Cursor header and, with %count%, the total in X-Total-Count", tags = {"properties"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Property.class)))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @GetMapping("/available")
+    ResponseEntity<List<Property>> getAvailableProperties(@Parameter(description="First day, yyyy-MM-dd") @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @Parameter(description="Last day, yyyy-MM-dd") @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                          @Parameter(description="X-Next-Cursor of the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @Parameter(description="Page size, up to 1000") @RequestParam(value = "limit", required = false) Integer limit,
+                                                          @Parameter(description="Also count all available properties") @RequestParam(value = "count", defaultValue = "false") boolean count);
 
     @Operation(summary = "Create Property", description = "Create a new Property", tags = {"properties"})
     @ApiResponses(value = {
@@ -54,17 +74,56 @@ public interface PropertyApi {
     @DeleteMapping("/{id}")
     ResponseEntity<?> deleteProperty(@Parameter(description="Property id")  @PathVariable("id") String id);
 
-    @Operation(summary = "Get all Bookings of a Property", description = "Find all booking by propertyId", tags = {"booking"})
+    @Operation(summary = "Get all Bookings of a Property", description = "Find all booking by propertyId overlapping %from% and %to% ordered by start date, a page at a time. The next page cursor goes in the X-Next-Cursor header and, with %count%, the total in X-Total-Count", tags = {"booking"})
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Booking.class)))),
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BookingSummaryDto.class)))),
             @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
     @GetMapping("/{id}/bookings")
-    List<Booking> getBookingsByPropertyId(@Parameter(description="Property id") @PathVariable("id") String propertyId);
+    ResponseEntity<List<BookingSummaryDto>> getBookingsByPropertyId(@Parameter(description="Property id") @PathVariable("id") String propertyId,
+                                                          @Parameter(description="First day, yyyy-MM-dd") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @Parameter(description="Last day, yyyy-MM-dd") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                          @Parameter(description="Booking status") @RequestParam(value = "status", required = false) String status,
+                                                          @Parameter(description="guests to add the guests of each booking") @RequestParam(value = "include", required = false) String include,
+                                                          @Parameter(description="X-Next-Cursor of the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @Parameter(description="Page size, up to 1000") @RequestParam(value = "limit", required = false) Integer limit,
+                                                          @Parameter(description="Also count all matching bookings") @RequestParam(value = "count", defaultValue = "false") boolean count);
 
-    @Operation(summary = "Get all Blocks of a Property", description = "Find all blocks by propertyId", tags = {"block"})
+    @Operation(summary = "Export all Bookings of a Property", description = "Stream all bookings of a Property as NDJSON (one booking per line) or as a JSON array, without loading them all in memory", tags = {"booking"})
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Block.class)))),
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Booking.class)))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @GetMapping("/{id}/bookings/export")
+    ResponseEntity<StreamingResponseBody> exportBookingsByPropertyId(@Parameter(description="Property id") @PathVariable("id") String propertyId,
+                                                                     @Parameter(description="ndjson or json") @RequestParam(value = "format", defaultValue = "ndjson") String format);
+
+    @Operation(summary = "Get all Blocks of a Property", description = "Find all blocks by propertyId overlapping %from% and %to% ordered by start date, a page at a time. The next page cursor goes in the X-Next-Cursor header and, with %count%, the total in X-Total-Count", tags = {"block"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BlockSummaryDto.class)))),
             @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
     @GetMapping("/{id}/blocks")
-    List<Block> getBlocksByPropertyId(@Parameter(description="Property id") @PathVariable("id") String propertyId);
+    ResponseEntity<List<BlockSummaryDto>> getBlocksByPropertyId(@Parameter(description="Property id") @PathVariable("id") String propertyId,
+                                                      @Parameter(description="First day, yyyy-MM-dd") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @Parameter(description="Last day, yyyy-MM-dd") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @Parameter(description="X-Next-Cursor of the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @Parameter(description="Page size, up to 1000") @RequestParam(value = "limit", required = false) Integer limit,
+                                                      @Parameter(description="Also count all matching blocks") @RequestParam(value = "count", defaultValue = "false") boolean count);
+
+    @Operation(summary = "Get availability calendar of a Property", description = "Free, booked and blocked ranges of a Property between %from% and %to% (inclusive)", tags = {"properties"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(schema = @Schema(implementation = AvailabilityCalendarDto.class))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @GetMapping("/{id}/availability")
+    AvailabilityCalendarDto getAvailabilityCalendar(@Parameter(description="Property id") @PathVariable("id") String propertyId,
+                                                    @Parameter(description="First day, yyyy-MM-dd") @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @Parameter(description="Last day, yyyy-MM-dd") @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to);
+
+    @Operation(summary = "Find available windows of a Property", description = "First %limit% free windows of at least %nights% nights starting on or after %after%", tags = {"properties"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AvailableWindowDto.class)))),
+            @ApiResponse(responseCode = "400", description = "bad request", content = @Content(schema = @Schema(implementation = ErrorInfoDto.class)))})
+    @GetMapping("/{id}/available-windows")
+    List<AvailableWindowDto> getAvailableWindows(@Parameter(description="Property id") @PathVariable("id") String propertyId,
+                                                 @Parameter(description="Earliest start date, yyyy-MM-dd") @RequestParam("after") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+                                                 @Parameter(description="Length of stay") @RequestParam("nights") int nights,
+                                                 @Parameter(description="Maximum number of windows, up to 50") @RequestParam(value = "limit", defaultValue = "5") int limit);
 }
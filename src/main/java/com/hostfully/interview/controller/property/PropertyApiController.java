@@ -1,12 +1,18 @@
 package com.hostfully.interview.controller.property;
 
+import com.hostfully.interview.model.dto.AvailabilityCalendarDto;
+import com.hostfully.interview.model.dto.AvailableWindowDto;
+import com.hostfully.interview.model.dto.BlockSummaryDto;
+import com.hostfully.interview.model.dto.BookingSummaryDto;
+import com.hostfully.interview.model.dto.CursorPageDto;
+import com.hostfully.interview.model.dto.ExportFormat;
 import com.hostfully.interview.model.dto.PropertyCreateDto;
-import com.hostfully.interview.model.entity.Block;
-import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.Property;
 import com.hostfully.interview.service.BlockService;
+import com.hostfully.interview.service.BookingExportService;
 import com.hostfully.interview.service.BookingService;
 import com.hostfully.interview.service.PropertyService;
+import com.hostfully.interview.service.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,9 +20,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -26,11 +35,16 @@ public class PropertyApiController implements PropertyApi {
     private final PropertyService propertyService;
     private final BookingService bookingService;
     private final BlockService blockService;
+    private final ReservationService reservationService;
+    private final BookingExportService bookingExportService;
 
-    public PropertyApiController(PropertyService propertyService, BookingService bookingService, BlockService blockService) {
+    public PropertyApiController(PropertyService propertyService, BookingService bookingService, BlockService blockService, ReservationService reservationService,
+                                 BookingExportService bookingExportService) {
         this.propertyService = propertyService;
         this.bookingService = bookingService;
         this.blockService = blockService;
+        this.reservationService = reservationService;
+        this.bookingExportService = bookingExportService;
     }
 
     @Override
@@ -39,8 +53,13 @@ public class PropertyApiController implements PropertyApi {
     }
 
     @Override
-    public List<Property> getAllProperties() {
-        return propertyService.findAllProperties();
+    public ResponseEntity<List<Property>> getAllProperties(String cursor, Integer limit, boolean count) {
+        return page(propertyService.findProperties(cursor, limit, count));
+    }
+
+    @Override
+    public ResponseEntity<List<Property>> getAvailableProperties(LocalDate from, LocalDate to, String cursor, Integer limit, boolean count) {
+        return page(propertyService.findAvailableProperties(from, to, cursor, limit, count));
     }
 
     @Override
@@ -62,12 +81,49 @@ public class PropertyApiController implements PropertyApi {
     }
 
     @Override
-    public List<Booking> getBookingsByPropertyId(String propertyId) {
-        return bookingService.getBookingsByPropertyId(propertyId);
+    public ResponseEntity<List<BookingSummaryDto>> getBookingsByPropertyId(String propertyId, LocalDate from, LocalDate to, String status, String include,
+                                                                           String cursor, Integer limit, boolean count) {
+        return page(bookingService.findBookingsByPropertyId(propertyId, from, to, status, include, cursor, limit, count));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportBookingsByPropertyId(String propertyId, String format) {
+        var property = propertyService.getProperty(propertyId);
+        var exportFormat = bookingExportService.toFormat(format);
+        bookingExportService.acquireExport();
+        StreamingResponseBody body = out -> {
+            try {
+                bookingExportService.exportBookings(property, exportFormat, out);
+            } finally {
+                bookingExportService.releaseExport();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.JSON ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<List<BlockSummaryDto>> getBlocksByPropertyId(String propertyId, LocalDate from, LocalDate to, String cursor, Integer limit, boolean count) {
+        return page(blockService.findBlocksByPropertyId(propertyId, from, to, cursor, limit, count));
     }
 
     @Override
-    public List<Block> getBlocksByPropertyId(String propertyId) {
-        return blockService.getBlocksByPropertyId(propertyId);
+    public AvailabilityCalendarDto getAvailabilityCalendar(String propertyId, LocalDate from, LocalDate to) {
+        var property = propertyService.getProperty(propertyId);
+        return reservationService.getAvailabilityCalendar(property.getId(), from, to);
+    }
+
+    @Override
+    public List<AvailableWindowDto> getAvailableWindows(String propertyId, LocalDate after, int nights, int limit) {
+        var property = propertyService.getProperty(propertyId);
+        return reservationService.findAvailableWindows(property.getId(), after, nights, limit);
+    }
+
+    private static <T> ResponseEntity<List<T>> page(CursorPageDto<T> page) {
+        var response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) response.header("X-Next-Cursor", page.getNextCursor());
+        if (page.getTotal() != null) response.header("X-Total-Count", String.valueOf(page.getTotal()));
+        return response.body(page.getContent());
     }
 }
@@ -2,8 +2,10 @@ package com.hostfully.interview.exception;
 
 import com.hostfully.interview.model.dto.ErrorInfoDto;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -25,4 +27,26 @@ public class ExceptionHandlerResolver {
     handleHttpMessageNotReadableException(HttpServletRequest req, Exception ex) {
         return new ErrorInfoDto("Malformed JSON request");
     }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseBody ErrorInfoDto
+    handleOptimisticLockingFailure(HttpServletRequest req, Exception ex) {
+        return new ErrorInfoDto("Resource was modified concurrently, please retry");
+    }
+
+    // The connection pool timed out, with virtual threads many requests can be waiting for it at once.
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseBody ErrorInfoDto
+    handleCannotCreateTransaction(HttpServletRequest req, Exception ex) {
+        return new ErrorInfoDto("Service is busy, please retry");
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseBody ErrorInfoDto
+    handleServiceUnavailable(HttpServletRequest req, Exception ex) {
+        return new ErrorInfoDto(ex);
+    }
 }
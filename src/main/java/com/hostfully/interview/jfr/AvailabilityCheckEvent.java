@@ -0,0 +1,28 @@
+package com.hostfully.interview.jfr;
+
+import com.hostfully.interview.availability.AvailabilityMode;
+import com.hostfully.interview.model.entity.OccupancySource;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.time.LocalDate;
+
+@Name("com.hostfully.interview.AvailabilityCheck")
+@Label("Availability Check")
+@Description("Overlap check of a date span against the bookings and blocks of a property")
+public class AvailabilityCheckEvent extends ReservationEvent {
+
+    @Label("Mode")
+    String mode;
+
+    // Ends the check begun with begin(), the outcome is available, booking or block.
+    public void checked(String propertyId, LocalDate startDate, LocalDate endDate, AvailabilityMode mode, OccupancySource conflict) {
+        end();
+        if (!shouldCommit()) return;
+        span(propertyId, startDate, endDate);
+        this.mode = mode.name().toLowerCase();
+        outcome = conflict == null ? "available" : conflict.name().toLowerCase();
+        commit();
+    }
+}
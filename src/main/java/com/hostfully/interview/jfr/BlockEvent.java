@@ -0,0 +1,28 @@
+package com.hostfully.interview.jfr;
+
+import com.hostfully.interview.model.entity.Block;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.hostfully.interview.BlockOperation")
+@Label("Block Operation")
+@Description("Creation or update of a block")
+public class BlockEvent extends ReservationEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Block Id")
+    String blockId;
+
+    public BlockEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public void block(Block block) {
+        if (!isEnabled()) return;
+        blockId = block.getId() == null ? null : block.getId().toString();
+        span(block.getProperty().getId(), block.getStartDate(), block.getEndDate());
+    }
+}
@@ -0,0 +1,28 @@
+package com.hostfully.interview.jfr;
+
+import com.hostfully.interview.model.entity.Booking;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.hostfully.interview.BookingOperation")
+@Label("Booking Operation")
+@Description("Creation, update, cancellation or rebooking of a booking")
+public class BookingEvent extends ReservationEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Booking Id")
+    String bookingId;
+
+    public BookingEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public void booking(Booking booking) {
+        if (!isEnabled()) return;
+        bookingId = booking.getId() == null ? null : booking.getId().toString();
+        span(booking.getProperty().getId(), booking.getStartDate(), booking.getEndDate());
+    }
+}
@@ -0,0 +1,64 @@
+package com.hostfully.interview.jfr;
+
+import com.hostfully.interview.exception.BadRequestException;
+import jdk.jfr.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+/**
+ * Flight recorder event of a write on a property's dates. Disabled unless the recording enables it (see
+ * jfr/booking.jfc), then the fields are only filled in for events that will be written.
+ */
+@Category({"Hostfully", "Booking"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class ReservationEvent extends Event {
+
+    @Label("Property Id")
+    String propertyId;
+
+    @Label("Start Date")
+    String startDate;
+
+    @Label("End Date")
+    String endDate;
+
+    @Label("Nights")
+    long nights;
+
+    @Label("Outcome")
+    @Description("ok, the rejection message or the exception type")
+    String outcome;
+
+    public void span(Object propertyId, LocalDate startDate, LocalDate endDate) {
+        if (!isEnabled()) return;
+        this.propertyId = propertyId == null ? null : propertyId.toString();
+        this.startDate = startDate == null ? null : startDate.toString();
+        this.endDate = endDate == null ? null : endDate.toString();
+        this.nights = startDate == null || endDate == null ? 0 : ChronoUnit.DAYS.between(startDate, endDate);
+    }
+
+    // Runs the operation as the duration of the event, its outcome is written whether it returns or throws.
+    public <T> T record(Supplier<T> operation) {
+        if (!isEnabled()) return operation.get();
+        begin();
+        var result = "ok";
+        try {
+            return operation.get();
+        } catch (BadRequestException e) {
+            result = e.getMessage();
+            throw e;
+        } catch (RuntimeException | Error e) {
+            result = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            end();
+            if (shouldCommit()) {
+                outcome = result;
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.hostfully.interview.metrics;
+
+import com.hostfully.interview.availability.AvailabilityMode;
+import com.hostfully.interview.config.ReservationMetricsProperties;
+import com.hostfully.interview.model.entity.OccupancySource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Availability checks: booking.availability.check by mode and result, booking.availability.query by query (booked,
+ * blocked, or combined and occupancy when one statement answers both) and booking.availability.rejections by reason and
+ * property. The property tag is bounded: opted-in properties and the first max-property-tags others seen keep their
+ * id, every other property is tagged "other".
+ */
+public class ReservationMetrics {
+
+    public static final String OTHER_PROPERTY = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> taggedProperties = ConcurrentHashMap.newKeySet();
+    private final int maxTaggedProperties;
+
+    public ReservationMetrics(MeterRegistry meterRegistry, ReservationMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        properties.getPropertyTags().forEach(id -> taggedProperties.add(id.toLowerCase()));
+        this.maxTaggedProperties = taggedProperties.size() + properties.getMaxPropertyTags();
+    }
+
+    public <T> T timeQuery(String query, Supplier<T> supplier) {
+        return Timer.builder("booking.availability.query")
+                .tag("query", query)
+                .register(meterRegistry)
+                .record(supplier);
+    }
+
+    public void recordCheck(AvailabilityMode mode, OccupancySource conflict, long startNanos) {
+        Timer.builder("booking.availability.check")
+                .tag("mode", mode.name().toLowerCase())
+                .tag("result", conflict == null ? "available" : reason(conflict))
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejection(String propertyId, OccupancySource conflict) {
+        Counter.builder("booking.availability.rejections")
+                .tag("reason", reason(conflict))
+                .tag("property", propertyTag(propertyId))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public String propertyTag(String propertyId) {
+        var id = propertyId.toLowerCase();
+        if (taggedProperties.contains(id)) return id;
+
+        synchronized (taggedProperties) {
+            if (taggedProperties.size() < maxTaggedProperties) {
+                taggedProperties.add(id);
+                return id;
+            }
+        }
+        return OTHER_PROPERTY;
+    }
+
+    private static String reason(OccupancySource conflict) {
+        return conflict == OccupancySource.BOOKING ? "booked" : "blocked";
+    }
+}
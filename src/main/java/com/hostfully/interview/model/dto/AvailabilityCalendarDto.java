@@ -0,0 +1,28 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class AvailabilityCalendarDto {
+
+    @Schema(description = "Property id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", requiredMode = Schema.RequiredMode.REQUIRED)
+    private UUID propertyId;
+
+    @Schema(description = "First day of the calendar", example = "2021-01-01", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate from;
+
+    @Schema(description = "Last day of the calendar, inclusive", example = "2021-01-31", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate to;
+
+    @Schema(description = "Consecutive days with the same status, covering from..to without gaps", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<AvailabilityRangeDto> ranges;
+}
@@ -0,0 +1,24 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class AvailabilityRangeDto {
+
+    @Schema(description = "Status of every day in the range", example = "BOOKED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private AvailabilityStatus status;
+
+    @Schema(description = "First day of the range", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate startDate;
+
+    @Schema(description = "Last day of the range, inclusive", example = "2021-01-15", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate endDate;
+}
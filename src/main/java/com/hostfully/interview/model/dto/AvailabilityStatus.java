@@ -0,0 +1,7 @@
+package com.hostfully.interview.model.dto;
+
+public enum AvailabilityStatus {
+    FREE,
+    BOOKED,
+    BLOCKED
+}
@@ -0,0 +1,24 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class AvailableWindowDto {
+
+    @Schema(description = "First free day, earliest possible start date", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate startDate;
+
+    @Schema(description = "Last free day, latest possible end date. The search horizon when nothing is booked after it", example = "2021-01-20", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate endDate;
+
+    @Schema(description = "Longest stay that fits in the window", example = "10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private long nights;
+}
@@ -0,0 +1,8 @@
+package com.hostfully.interview.model.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    REJECTED,
+    // Valid item not created because another item of an atomic batch or bulk request was rejected.
+    ABORTED
+}
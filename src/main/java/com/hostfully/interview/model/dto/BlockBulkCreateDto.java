@@ -0,0 +1,42 @@
+package com.hostfully.interview.model.dto;
+
+import com.hostfully.interview.exception.BadRequestException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BlockBulkCreateDto {
+
+    public static final int MAX_BLOCKS = 1000;
+
+    @Schema(description = "When true nothing is created if any block is rejected", example = "false")
+    private boolean atomic;
+
+    @Schema(description = "Property IDs (UUID) to block", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<String> propertyIds;
+
+    @Schema(description = "Ranges blocked on every property", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<BlockCreateDto> ranges;
+
+    public boolean validate() {
+        var valid = propertyIds != null && !propertyIds.isEmpty() && ranges != null && !ranges.isEmpty();
+        var errorMessage = "Property IDs and ranges are required";
+
+        if(valid && (long) propertyIds.size() * ranges.size() > MAX_BLOCKS) {
+            valid = false;
+            errorMessage = "Up to " + MAX_BLOCKS + " blocks per request";
+        }
+
+        if(!valid) {
+            throw new BadRequestException(errorMessage);
+        }
+
+        return valid;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BlockBulkItemResultDto {
+
+    @Schema(description = "Property ID as sent in the request", example = "c4eada6d-dbba-4be2-ad3b-92995154a682", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String propertyId;
+
+    @Schema(description = "When the block start", example = "2021-01-10")
+    private LocalDate startDate;
+
+    @Schema(description = "When the block end", example = "2022-01-10")
+    private LocalDate endDate;
+
+    @Schema(description = "Outcome of the block", example = "CREATED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BatchItemStatus status;
+
+    @Schema(description = "Id of the created block", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+    private UUID blockId;
+
+    @Schema(description = "Why the block was rejected", example = "Dates are already booked")
+    private String message;
+}
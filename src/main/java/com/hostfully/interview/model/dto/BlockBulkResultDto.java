@@ -0,0 +1,20 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BlockBulkResultDto {
+
+    @Schema(description = "Number of created blocks", example = "6", requiredMode = Schema.RequiredMode.REQUIRED)
+    private int created;
+
+    @Schema(description = "One result per property and range, properties in request order then ranges in request order", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<BlockBulkItemResultDto> items;
+}
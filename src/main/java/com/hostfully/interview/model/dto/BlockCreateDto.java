@@ -1,6 +1,5 @@
 package com.hostfully.interview.model.dto;
 
-import com.hostfully.interview.exception.BadRequestException;
 import com.hostfully.interview.model.entity.Property;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -30,18 +29,6 @@ public class BlockCreateDto {
     }
 
     public boolean validateDates() {
-        var valid = startDate != null && endDate != null && startDate.isBefore(endDate);
-        var errorMessage = "Bad Request";
-
-        if(startDate == null) errorMessage = "Start date is required";
-        if(endDate == null) errorMessage = "End date is required";
-        if(startDate != null && endDate != null && startDate.isAfter(endDate)) errorMessage = "Start date must be before end date";
-        if(startDate != null && endDate != null && startDate.isEqual(endDate)) errorMessage = "Start date must be different than end date";
-
-        if(!valid) {
-            throw new BadRequestException(errorMessage);
-        }
-
-        return valid;
+        return ReservationDates.validate(startDate, endDate);
     }
 }
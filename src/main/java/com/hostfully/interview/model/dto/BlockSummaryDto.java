@@ -0,0 +1,36 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BlockSummaryDto {
+
+    @Schema(description = "Block id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", requiredMode = Schema.RequiredMode.REQUIRED)
+    private UUID id;
+
+    @Schema(description = "Property ID (UUID) that this block belongs", example = "c4eada6d-dbba-4be2-ad3b-92995154a682", requiredMode = Schema.RequiredMode.REQUIRED)
+    private UUID propertyId;
+
+    @Schema(description = "When the block start", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate startDate;
+
+    @Schema(description = "When the block end", example = "2022-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate endDate;
+
+    @Schema(description = "When the block was created", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate createdAt;
+
+    @Schema(description = "When the last time the block was updated", example = "2021-01-10")
+    private LocalDate updateAt;
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    private Long version;
+}
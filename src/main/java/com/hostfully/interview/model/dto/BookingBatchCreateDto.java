@@ -0,0 +1,33 @@
+package com.hostfully.interview.model.dto;
+
+import com.hostfully.interview.exception.BadRequestException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BookingBatchCreateDto {
+
+    public static final int MAX_BOOKINGS = 500;
+
+    @Schema(description = "When true nothing is created if any booking is rejected", example = "false")
+    private boolean atomic;
+
+    @Schema(description = "Bookings to create", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<BookingCreateDto> bookings;
+
+    public boolean validate() {
+        var valid = bookings != null && !bookings.isEmpty() && bookings.size() <= MAX_BOOKINGS;
+
+        if(!valid) {
+            throw new BadRequestException("Bookings are required, up to " + MAX_BOOKINGS + " per batch");
+        }
+
+        return valid;
+    }
+}
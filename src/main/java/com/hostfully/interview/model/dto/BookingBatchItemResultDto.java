@@ -0,0 +1,26 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BookingBatchItemResultDto {
+
+    @Schema(description = "Position of the booking in the request", example = "0", requiredMode = Schema.RequiredMode.REQUIRED)
+    private int index;
+
+    @Schema(description = "Outcome of the booking", example = "CREATED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BatchItemStatus status;
+
+    @Schema(description = "Id of the created booking", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+    private UUID bookingId;
+
+    @Schema(description = "Why the booking was rejected", example = "Dates are already booked")
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BookingBatchResultDto {
+
+    @Schema(description = "Number of created bookings", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+    private int created;
+
+    @Schema(description = "One result per requested booking, in request order", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<BookingBatchItemResultDto> items;
+}
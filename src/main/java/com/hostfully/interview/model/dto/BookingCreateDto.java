@@ -53,19 +53,7 @@ public class BookingCreateDto {
     }
 
     public boolean validateDates() {
-        var valid = startDate != null && endDate != null && startDate.isBefore(endDate);
-        var errorMessage = "Bad Request";
-
-        if(startDate == null) errorMessage = "Start date is required";
-        if(endDate == null) errorMessage = "End date is required";
-        if(startDate != null && endDate != null && startDate.isAfter(endDate)) errorMessage = "Start date must be before end date";
-        if(startDate != null && endDate != null && startDate.isEqual(endDate)) errorMessage = "Start date must be different than end date";
-
-        if(!valid) {
-            throw new BadRequestException(errorMessage);
-        }
-
-        return valid;
+        return ReservationDates.validate(startDate, endDate);
     }
 
     public boolean validateGuests() {
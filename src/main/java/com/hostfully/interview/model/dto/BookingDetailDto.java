@@ -0,0 +1,50 @@
+package com.hostfully.interview.model.dto;
+
+import com.hostfully.interview.model.entity.BookingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Same JSON as the Booking entity, read with one projection query for the booking and one for its guests.
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BookingDetailDto {
+
+    @Schema(description = "Booking id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", requiredMode = Schema.RequiredMode.REQUIRED)
+    private UUID id;
+
+    @Schema(description = "Property that this booking belongs", requiredMode = Schema.RequiredMode.REQUIRED)
+    private PropertySummaryDto property;
+
+    @Schema(description = "When the booking start", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate startDate;
+
+    @Schema(description = "When the booking end", example = "2022-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate endDate;
+
+    @Schema(description = "Booking status", example = "CONFIRMED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BookingStatus status;
+
+    @Schema(description = "When the booking was created", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate createdAt;
+
+    @Schema(description = "When the last time the booking was updated", example = "2021-01-10")
+    private LocalDate updateAt;
+
+    @Schema(description = "Guests that belongs to this booking", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<GuestSummaryDto> guests;
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    private Long version;
+
+    public BookingDetailDto(UUID id, UUID propertyId, String propertyName, Long propertyVersion, LocalDate startDate, LocalDate endDate,
+                            BookingStatus status, LocalDate createdAt, LocalDate updateAt, Long version) {
+        this(id, new PropertySummaryDto(propertyId, propertyName, propertyVersion), startDate, endDate, status, createdAt, updateAt, List.of(), version);
+    }
+}
@@ -0,0 +1,51 @@
+package com.hostfully.interview.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hostfully.interview.model.entity.BookingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Row of the booking listings, selected column by column. Guests are only set when they are included.
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingSummaryDto {
+
+    @Schema(description = "Booking id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", requiredMode = Schema.RequiredMode.REQUIRED)
+    private UUID id;
+
+    @Schema(description = "Property ID (UUID) that this booking belongs", example = "c4eada6d-dbba-4be2-ad3b-92995154a682", requiredMode = Schema.RequiredMode.REQUIRED)
+    private UUID propertyId;
+
+    @Schema(description = "When the booking start", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate startDate;
+
+    @Schema(description = "When the booking end", example = "2022-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate endDate;
+
+    @Schema(description = "Booking status", example = "CONFIRMED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BookingStatus status;
+
+    @Schema(description = "When the booking was created", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate createdAt;
+
+    @Schema(description = "When the last time the booking was updated", example = "2021-01-10")
+    private LocalDate updateAt;
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    private Long version;
+
+    @Schema(description = "Guests of the booking, only with include=guests")
+    private List<GuestSummaryDto> guests;
+
+    public BookingSummaryDto(UUID id, UUID propertyId, LocalDate startDate, LocalDate endDate, BookingStatus status, LocalDate createdAt, LocalDate updateAt, Long version) {
+        this(id, propertyId, startDate, endDate, status, createdAt, updateAt, version, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.hostfully.interview.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class CursorPageDto<T> {
+
+    @Schema(description = "Items of the page", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<T> content;
+
+    @Schema(description = "Cursor of the next page, null on the last page", example = "c3RhcnREYXRlPTIwMjMtMDEtMDU")
+    private String nextCursor;
+
+    @Schema(description = "Items matching the filters, only computed when requested", example = "42")
+    private Long total;
+}
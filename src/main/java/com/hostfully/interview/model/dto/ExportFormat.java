@@ -0,0 +1,6 @@
+package com.hostfully.interview.model.dto;
+
+public enum ExportFormat {
+    NDJSON,
+    JSON
+}
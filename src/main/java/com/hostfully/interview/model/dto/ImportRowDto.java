@@ -0,0 +1,40 @@
+package com.hostfully.interview.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImportRowDto {
+
+    @Schema(description = "Whether the row is a booking or a block", example = "BOOKING", requiredMode = Schema.RequiredMode.REQUIRED)
+    private ImportRowType type;
+
+    @Schema(description = "Property ID (UUID) that this row belongs", example = "c4eada6d-dbba-4be2-ad3b-92995154a682", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String propertyId;
+
+    @Schema(description = "When the booking or block start", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate startDate;
+
+    @Schema(description = "When the booking or block end", example = "2021-01-15", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate endDate;
+
+    @Schema(description = "Guests of a booking, ignored for blocks")
+    private List<GuestCreateDTO> guests;
+
+    public BookingCreateDto toBookingCreateDto() {
+        return new BookingCreateDto(propertyId, startDate, endDate, guests);
+    }
+
+    public BlockCreateDto toBlockCreateDto() {
+        return new BlockCreateDto(startDate, endDate);
+    }
+}
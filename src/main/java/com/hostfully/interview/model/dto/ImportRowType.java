@@ -0,0 +1,6 @@
+package com.hostfully.interview.model.dto;
+
+public enum ImportRowType {
+    BOOKING,
+    BLOCK
+}
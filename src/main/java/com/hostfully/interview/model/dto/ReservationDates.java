@@ -0,0 +1,44 @@
+package com.hostfully.interview.model.dto;
+
+import com.hostfully.interview.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Date checks shared by bookings and blocks. Dates are bounded to a supported horizon and a maximum span so the
+ * in-memory day indexes stay small whatever a request asks for.
+ */
+public final class ReservationDates {
+
+    public static final LocalDate MIN_DATE = LocalDate.of(2000, 1, 1);
+    public static final LocalDate MAX_DATE = LocalDate.of(2099, 12, 31);
+    public static final long MAX_NIGHTS = 3 * 366;
+
+    private ReservationDates() {
+    }
+
+    public static boolean validate(LocalDate startDate, LocalDate endDate) {
+        var valid = startDate != null && endDate != null && startDate.isBefore(endDate);
+        var errorMessage = "Bad Request";
+
+        if(startDate == null) errorMessage = "Start date is required";
+        if(endDate == null) errorMessage = "End date is required";
+        if(startDate != null && endDate != null && startDate.isAfter(endDate)) errorMessage = "Start date must be before end date";
+        if(startDate != null && endDate != null && startDate.isEqual(endDate)) errorMessage = "Start date must be different than end date";
+
+        if(!valid) {
+            throw new BadRequestException(errorMessage);
+        }
+
+        if(startDate.isBefore(MIN_DATE) || endDate.isAfter(MAX_DATE)) {
+            throw new BadRequestException("Dates must be between " + MIN_DATE + " and " + MAX_DATE);
+        }
+
+        if(ChronoUnit.DAYS.between(startDate, endDate) > MAX_NIGHTS) {
+            throw new BadRequestException("Dates must not span more than " + MAX_NIGHTS + " nights");
+        }
+
+        return valid;
+    }
+}
@@ -1,9 +1,11 @@
 package com.hostfully.interview.model.entity;
 
+import com.hostfully.interview.model.id.TimeOrderedUuid;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -16,14 +18,14 @@ import java.util.UUID;
 @Entity
 public class Block {
 
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     @Schema(description = "Block id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6",
             requiredMode = Schema.RequiredMode.REQUIRED)
     @Id
     private UUID id;
 
     @Schema(description = "Property that this block belongs", requiredMode = Schema.RequiredMode.REQUIRED)
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne
     private Property property;
 
     @Schema(description = "When the booking start", example = "2021-01-10", requiredMode = Schema.RequiredMode.REQUIRED)
@@ -40,4 +42,13 @@ public class Block {
 
     @Schema(description = "When the last time the block was updated", example = "2021-01-10")
     private LocalDate updateAt;
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public Block(UUID id, Property property, LocalDate startDate, LocalDate endDate, LocalDate createdAt, LocalDate updateAt) {
+        this(id, property, startDate, endDate, createdAt, updateAt, null);
+    }
 }
@@ -1,11 +1,13 @@
 package com.hostfully.interview.model.entity;
 
 
+import com.hostfully.interview.model.id.TimeOrderedUuid;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 
@@ -21,7 +23,7 @@ import java.util.UUID;
 @Entity
 public class Booking {
 
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     @Schema(description = "Booking id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6",
             requiredMode = Schema.RequiredMode.REQUIRED)
     @Id
@@ -55,6 +57,15 @@ public class Booking {
     @Schema(description = "Guest that belongs to this booking", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotNull
     @OneToMany(cascade = CascadeType.ALL)
-    @JoinColumn(name="BOOKING_ID")
+    @JoinColumn(name="BOOKING_ID", nullable = false)
     private List<Guest> guests;
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public Booking(UUID id, Property property, LocalDate startDate, LocalDate endDate, BookingStatus status, LocalDate createdAt, LocalDate updateAt, List<Guest> guests) {
+        this(id, property, startDate, endDate, status, createdAt, updateAt, guests, null);
+    }
 }
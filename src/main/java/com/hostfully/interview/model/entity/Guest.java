@@ -1,10 +1,12 @@
 package com.hostfully.interview.model.entity;
 
 
+import com.hostfully.interview.model.id.TimeOrderedUuid;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -17,7 +19,7 @@ import java.util.UUID;
 @Entity
 public class Guest {
 
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     @Schema(description = "Guest id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6",
             requiredMode = Schema.RequiredMode.REQUIRED)
     @Id
@@ -33,4 +35,13 @@ public class Guest {
 
     @Schema(description = "When the last time the guest was updated", example = "2021-01-10")
     private LocalDate updateAt;
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public Guest(UUID id, String name, LocalDate createdAt, LocalDate updateAt) {
+        this(id, name, createdAt, updateAt, null);
+    }
 }
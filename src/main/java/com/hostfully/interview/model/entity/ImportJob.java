@@ -0,0 +1,65 @@
+package com.hostfully.interview.model.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@Entity
+public class ImportJob {
+
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Schema(description = "Import job id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @Id
+    private UUID id;
+
+    @Schema(description = "Where the rows come from, the file path for offline imports", example = "bookings.ndjson")
+    private String source;
+
+    @Schema(description = "Format of the rows", example = "NDJSON", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private ImportFormat format;
+
+    @Schema(description = "Import job status", example = "RUNNING", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+
+    @Schema(description = "Rows of every committed chunk, a resumed import skips them", example = "1500", requiredMode = Schema.RequiredMode.REQUIRED)
+    private long committedRows;
+
+    @Schema(description = "Rows that created a booking or block", example = "1490", requiredMode = Schema.RequiredMode.REQUIRED)
+    private long importedRows;
+
+    @Schema(description = "Rows that were invalid or conflicted with existing dates", example = "10", requiredMode = Schema.RequiredMode.REQUIRED)
+    private long rejectedRows;
+
+    @Schema(description = "Throughput of the current or last run", example = "2500.0")
+    private double rowsPerSecond;
+
+    @Schema(description = "When the job was started", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    private Instant startedAt;
+
+    @Schema(description = "When the last chunk was committed")
+    private Instant updatedAt;
+
+    @Schema(description = "Why the last run failed", example = "Unexpected end of input")
+    private String lastError;
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+}
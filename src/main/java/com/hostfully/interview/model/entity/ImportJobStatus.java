@@ -0,0 +1,7 @@
+package com.hostfully.interview.model.entity;
+
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
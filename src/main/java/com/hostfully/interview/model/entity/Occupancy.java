@@ -0,0 +1,33 @@
+package com.hostfully.interview.model.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@Entity
+public class Occupancy {
+
+    @Id
+    private UUID sourceId;
+
+    @NotNull
+    private UUID propertyId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private OccupancySource sourceType;
+
+    @NotNull
+    private LocalDate startDate;
+
+    @NotNull
+    private LocalDate endDate;
+}
@@ -0,0 +1,6 @@
+package com.hostfully.interview.model.entity;
+
+public enum OccupancySource {
+    BOOKING,
+    BLOCK
+}
@@ -1,13 +1,17 @@
 package com.hostfully.interview.model.entity;
 
 
+import com.hostfully.interview.cache.PropertyCache;
+import com.hostfully.interview.cache.PropertyCacheListener;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hostfully.interview.model.id.TimeOrderedUuid;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 @Getter
@@ -16,9 +20,12 @@ import java.util.UUID;
 @NoArgsConstructor
 @EqualsAndHashCode
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners(PropertyCacheListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PropertyCache.NAME)
 public class Property {
 
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     @Schema(description = "Property id", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6",
             requiredMode = Schema.RequiredMode.REQUIRED)
     @Id
@@ -28,4 +35,13 @@ public class Property {
     @NotEmpty
     private String name;
     //TODO: add created and updated date
+
+    @Schema(description = "Optimistic lock version, incremented on every update", example = "0")
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public Property(UUID id, String name) {
+        this(id, name, null);
+    }
 }
@@ -0,0 +1,29 @@
+package com.hostfully.interview.model.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562): 48 bits of Unix milliseconds, then a 12 bit counter and 62 random bits. Ids generated in
+ * this JVM are strictly increasing, so inserts append to the right edge of the primary key index instead of splitting
+ * random pages. When the counter overflows within a millisecond the timestamp moves one millisecond ahead.
+ */
+public final class TimeOrderedUuids {
+
+    private static final SecureRandom random = new SecureRandom();
+
+    // Timestamp in milliseconds shifted left by 12, plus the counter.
+    private static final AtomicLong last = new AtomicLong();
+
+    private TimeOrderedUuids() {
+    }
+
+    public static UUID next() {
+        var now = System.currentTimeMillis() << 12;
+        var current = last.updateAndGet(previous -> Math.max(now, previous + 1));
+        var mostSigBits = (current >>> 12) << 16 | 0x7000L | (current & 0xFFFL);
+        var leastSigBits = random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -3,25 +3,32 @@ package com.hostfully.interview.repository;
 import com.hostfully.interview.model.entity.Block;
 import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.Property;
+import com.hostfully.interview.repository.projection.OccupancyView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
-public interface BlockRepository extends JpaRepository<Block, UUID> {
+public interface BlockRepository extends JpaRepository<Block, UUID>, JpaSpecificationExecutor<Block>, BlockSummaryRepository {
 
+    // earliestStart is startDate - MAX_NIGHTS, no overlapping row starts before it, it bounds the index range from below.
     @Query(value =
     """
         SELECT exists(
             SELECT PROPERTY_ID FROM BLOCK
             WHERE PROPERTY_ID = ?1
             AND (ID != ?2 OR ?2 IS NULL)
-            AND START_DATE <= ?4
-            AND END_DATE >= ?3)
+            AND START_DATE >= ?3
+            AND START_DATE <= ?5
+            AND END_DATE >= ?4)
     """, nativeQuery = true)
-    boolean existByPropertyIdAndDateRange(String propertyId, String blockId, LocalDate startDate, LocalDate endDate);
+    boolean existByPropertyIdAndDateRange(UUID propertyId, UUID blockId, LocalDate earliestStart, LocalDate startDate, LocalDate endDate);
 
     List<Block> findAllByProperty(Property property);
+
+    @Query("SELECT b.property.id AS propertyId, b.id AS id, b.startDate AS startDate, b.endDate AS endDate FROM Block b")
+    List<OccupancyView> findAllOccupancies();
 }
@@ -0,0 +1,12 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.dto.BlockSummaryDto;
+import com.hostfully.interview.model.entity.Block;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BlockSummaryRepository {
+
+    Window<BlockSummaryDto> findSummaries(Specification<Block> filters, KeysetScrollPosition position, int limit);
+}
@@ -0,0 +1,26 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.dto.BlockSummaryDto;
+import com.hostfully.interview.model.entity.Block;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+class BlockSummaryRepositoryImpl implements BlockSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    BlockSummaryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Window<BlockSummaryDto> findSummaries(Specification<Block> filters, KeysetScrollPosition position, int limit) {
+        return KeysetQueries.scrollByStartDate(entityManager, Block.class, BlockSummaryDto.class,
+                root -> new Selection<?>[]{root.get("id"), root.get("property").get("id"), root.get("startDate"), root.get("endDate"),
+                        root.get("createdAt"), root.get("updateAt"), root.get("version")},
+                filters, position, limit, BlockSummaryDto::getStartDate, BlockSummaryDto::getId);
+    }
+}
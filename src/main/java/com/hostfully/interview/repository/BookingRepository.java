@@ -1,16 +1,27 @@
 package com.hostfully.interview.repository;
 
 import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.BookingStatus;
 import com.hostfully.interview.model.entity.Property;
+import com.hostfully.interview.repository.projection.BookingExportRow;
+import com.hostfully.interview.repository.projection.OccupancyView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpecificationExecutor<Booking>, BookingSummaryRepository {
 
+    // earliestStart is startDate - MAX_NIGHTS, no overlapping row starts before it, it bounds the index range from below.
     @Query(value =
     """
         SELECT exists(
@@ -18,10 +29,55 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
             WHERE PROPERTY_ID = ?1
             AND (ID != ?2 OR ?2 IS NULL)
             AND STATUS != 'CANCELLED'
-            AND START_DATE <= ?4
-            AND END_DATE >= ?3)
+            AND START_DATE >= ?3
+            AND START_DATE <= ?5
+            AND END_DATE >= ?4)
     """, nativeQuery = true)
-    boolean existByPropertyIdAndDateRange(String propertyId, String bookingId, LocalDate startDate, LocalDate endDate);
+    boolean existByPropertyIdAndDateRange(UUID propertyId, UUID bookingId, LocalDate earliestStart, LocalDate startDate, LocalDate endDate);
 
+    // Both availability probes in one round trip, a booking wins over a block like the separate checks. earliestStart
+    // bounds both index ranges from below.
+    @Query(value =
+    """
+        SELECT SOURCE_TYPE FROM (
+            SELECT 'BOOKING' AS SOURCE_TYPE FROM BOOKING
+            WHERE PROPERTY_ID = ?1
+            AND (ID != ?2 OR ?2 IS NULL)
+            AND STATUS != 'CANCELLED'
+            AND START_DATE >= ?4
+            AND START_DATE <= ?6
+            AND END_DATE >= ?5
+            UNION ALL
+            SELECT 'BLOCK' AS SOURCE_TYPE FROM BLOCK
+            WHERE PROPERTY_ID = ?1
+            AND (ID != ?3 OR ?3 IS NULL)
+            AND START_DATE >= ?4
+            AND START_DATE <= ?6
+            AND END_DATE >= ?5) AS CONFLICT
+        ORDER BY CASE SOURCE_TYPE WHEN 'BOOKING' THEN 0 ELSE 1 END
+        LIMIT 1
+    """, nativeQuery = true)
+    Optional<String> findConflictingSource(UUID propertyId, UUID bookingId, UUID blockId, LocalDate earliestStart, LocalDate startDate, LocalDate endDate);
+
+    @EntityGraph(attributePaths = {"property", "guests"})
     List<Booking> findAllByProperty(Property property);
+
+    // Guests are read with the booking, it is detached once the lookup returns and responses render them.
+    @EntityGraph(attributePaths = {"property", "guests"})
+    Optional<Booking> findWithGuestsById(UUID id);
+
+    // Rows of a booking are adjacent, must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+        SELECT b.id AS id, b.startDate AS startDate, b.endDate AS endDate, b.status AS status, b.createdAt AS createdAt,
+               b.updateAt AS updateAt, b.version AS version, g.id AS guestId, g.name AS guestName,
+               g.createdAt AS guestCreatedAt, g.updateAt AS guestUpdateAt, g.version AS guestVersion
+        FROM Booking b LEFT JOIN b.guests g
+        WHERE b.property.id = ?1
+        ORDER BY b.startDate, b.id, g.id
+    """)
+    Stream<BookingExportRow> streamExportRowsByPropertyId(UUID propertyId);
+
+    @Query("SELECT b.property.id AS propertyId, b.id AS id, b.startDate AS startDate, b.endDate AS endDate FROM Booking b WHERE b.status <> ?1")
+    List<OccupancyView> findAllOccupanciesByStatusNot(BookingStatus status);
 }
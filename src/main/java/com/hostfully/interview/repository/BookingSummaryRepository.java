@@ -0,0 +1,18 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.dto.BookingDetailDto;
+import com.hostfully.interview.model.dto.BookingSummaryDto;
+import com.hostfully.interview.model.entity.Booking;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BookingSummaryRepository {
+
+    Window<BookingSummaryDto> findSummaries(Specification<Booking> filters, KeysetScrollPosition position, int limit);
+
+    Optional<BookingDetailDto> findDetailById(UUID id);
+}
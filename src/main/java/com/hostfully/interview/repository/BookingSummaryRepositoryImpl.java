@@ -0,0 +1,42 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.dto.BookingDetailDto;
+import com.hostfully.interview.model.dto.BookingSummaryDto;
+import com.hostfully.interview.model.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.UUID;
+
+class BookingSummaryRepositoryImpl implements BookingSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    BookingSummaryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Window<BookingSummaryDto> findSummaries(Specification<Booking> filters, KeysetScrollPosition position, int limit) {
+        return KeysetQueries.scrollByStartDate(entityManager, Booking.class, BookingSummaryDto.class,
+                root -> new Selection<?>[]{root.get("id"), root.get("property").get("id"), root.get("startDate"), root.get("endDate"),
+                        root.get("status"), root.get("createdAt"), root.get("updateAt"), root.get("version")},
+                filters, position, limit, BookingSummaryDto::getStartDate, BookingSummaryDto::getId);
+    }
+
+    @Override
+    public Optional<BookingDetailDto> findDetailById(UUID id) {
+        return entityManager.createQuery("""
+                        SELECT new com.hostfully.interview.model.dto.BookingDetailDto(b.id, p.id, p.name, p.version, b.startDate, b.endDate,
+                               b.status, b.createdAt, b.updateAt, b.version)
+                        FROM Booking b JOIN b.property p
+                        WHERE b.id = :id""", BookingDetailDto.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,9 +1,16 @@
 package com.hostfully.interview.repository;
 
 import com.hostfully.interview.model.entity.Guest;
+import com.hostfully.interview.repository.projection.GuestView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface GuestRepository extends JpaRepository<Guest, UUID> {
+
+    @Query("SELECT b.id AS bookingId, g.id AS id, g.name AS name, g.createdAt AS createdAt, g.updateAt AS updateAt, g.version AS version FROM Booking b JOIN b.guests g WHERE b.id IN ?1 ORDER BY g.id")
+    List<GuestView> findAllByBookingIdIn(Collection<UUID> bookingIds);
 }
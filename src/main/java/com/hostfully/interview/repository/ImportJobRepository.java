@@ -0,0 +1,13 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.entity.ImportJob;
+import com.hostfully.interview.model.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+    Optional<ImportJob> findFirstBySourceAndStatusNotOrderByStartedAtDesc(String source, ImportJobStatus status);
+}
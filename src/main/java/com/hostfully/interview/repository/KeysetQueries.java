@@ -0,0 +1,58 @@
+package com.hostfully.interview.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Keyset scrolling on (startDate, id) that selects a constructor projection instead of the entity.
+final class KeysetQueries {
+
+    private KeysetQueries() {
+    }
+
+    static <T, R> Window<R> scrollByStartDate(EntityManager entityManager, Class<T> entityType, Class<R> resultType, Function<Root<T>, Selection<?>[]> columns,
+                                              Specification<T> filters, KeysetScrollPosition position, int limit,
+                                              Function<R, LocalDate> startDate, Function<R, UUID> id) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(resultType);
+        var root = query.from(entityType);
+        query.select(builder.construct(resultType, columns.apply(root)));
+
+        var predicates = new ArrayList<Predicate>();
+        var filter = filters.toPredicate(root, query, builder);
+        if (filter != null) predicates.add(filter);
+        if (!position.isInitial()) {
+            var afterStartDate = (LocalDate) position.getKeys().get("startDate");
+            var afterId = (UUID) position.getKeys().get("id");
+            // The first conjunct repeats what the OR implies, it is the one the index can seek on instead of filtering
+            // every row of the property before the cursor.
+            predicates.add(builder.greaterThanOrEqualTo(root.<LocalDate>get("startDate"), afterStartDate));
+            predicates.add(builder.or(
+                    builder.greaterThan(root.<LocalDate>get("startDate"), afterStartDate),
+                    builder.and(builder.equal(root.get("startDate"), afterStartDate), builder.greaterThan(root.<UUID>get("id"), afterId))));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(builder.asc(root.get("startDate")), builder.asc(root.get("id")));
+
+        var rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        var hasNext = rows.size() > limit;
+        var content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, index -> {
+            var keys = new LinkedHashMap<String, Object>();
+            keys.put("startDate", startDate.apply(content.get(index)));
+            keys.put("id", id.apply(content.get(index)));
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+    }
+}
@@ -0,0 +1,49 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.dto.ReservationDates;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.Occupancy;
+import com.hostfully.interview.model.entity.Property;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Filters of the property, booking and block listings, a null argument adds no predicate.
+public final class ListingSpecifications {
+
+    private ListingSpecifications() {
+    }
+
+    public static <T> Specification<T> ofProperty(UUID propertyId) {
+        return (root, query, builder) -> builder.equal(root.get("property").get("id"), propertyId);
+    }
+
+    // A row ending on or after from starts at most MAX_NIGHTS before it, the start bound lets the index seek there.
+    public static <T> Specification<T> endsOnOrAfter(LocalDate from) {
+        return (root, query, builder) -> from == null ? null : builder.and(
+                builder.greaterThanOrEqualTo(root.get("startDate"), from.minusDays(ReservationDates.MAX_NIGHTS)),
+                builder.greaterThanOrEqualTo(root.get("endDate"), from));
+    }
+
+    public static <T> Specification<T> startsOnOrBefore(LocalDate to) {
+        return (root, query, builder) -> to == null ? null : builder.lessThanOrEqualTo(root.get("startDate"), to);
+    }
+
+    public static <T> Specification<T> hasStatus(BookingStatus status) {
+        return (root, query, builder) -> status == null ? null : builder.equal(root.get("status"), status);
+    }
+
+    public static Specification<Property> availableBetween(LocalDate from, LocalDate to) {
+        return (root, query, builder) -> {
+            var occupied = query.subquery(Integer.class);
+            var occupancy = occupied.from(Occupancy.class);
+            occupied.select(builder.literal(1)).where(
+                    builder.equal(occupancy.get("propertyId"), root.get("id")),
+                    builder.greaterThanOrEqualTo(occupancy.get("startDate"), from.minusDays(ReservationDates.MAX_NIGHTS)),
+                    builder.lessThanOrEqualTo(occupancy.get("startDate"), to),
+                    builder.greaterThanOrEqualTo(occupancy.get("endDate"), from));
+            return builder.not(builder.exists(occupied));
+        };
+    }
+}
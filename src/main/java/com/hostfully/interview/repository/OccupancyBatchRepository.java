@@ -0,0 +1,10 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.entity.Occupancy;
+
+import java.util.List;
+
+public interface OccupancyBatchRepository {
+
+    void upsertAll(List<Occupancy> occupancies);
+}
@@ -0,0 +1,32 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.entity.Occupancy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Rows of batch and bulk writes go in one JDBC batch instead of one MERGE round trip each.
+class OccupancyBatchRepositoryImpl implements OccupancyBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OccupancyBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertAll(List<Occupancy> occupancies) {
+        jdbcTemplate.batchUpdate("""
+                MERGE INTO OCCUPANCY (SOURCE_ID, PROPERTY_ID, SOURCE_TYPE, START_DATE, END_DATE)
+                KEY (SOURCE_ID)
+                VALUES (?, ?, ?, ?, ?)""", occupancies, occupancies.size(), (statement, occupancy) -> {
+            statement.setObject(1, occupancy.getSourceId());
+            statement.setObject(2, occupancy.getPropertyId());
+            statement.setString(3, occupancy.getSourceType().name());
+            statement.setObject(4, occupancy.getStartDate());
+            statement.setObject(5, occupancy.getEndDate());
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.hostfully.interview.repository;
+
+import com.hostfully.interview.model.entity.Occupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OccupancyRepository extends JpaRepository<Occupancy, UUID>, OccupancyBatchRepository {
+
+    @Transactional
+    @Modifying
+    @Query(value =
+    """
+        MERGE INTO OCCUPANCY (SOURCE_ID, PROPERTY_ID, SOURCE_TYPE, START_DATE, END_DATE)
+        KEY (SOURCE_ID)
+        VALUES (?1, ?2, ?3, ?4, ?5)
+    """, nativeQuery = true)
+    void upsert(UUID sourceId, UUID propertyId, String sourceType, LocalDate startDate, LocalDate endDate);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM OCCUPANCY WHERE SOURCE_ID = ?1", nativeQuery = true)
+    void deleteBySourceId(UUID sourceId);
+
+    // earliestStart is startDate - MAX_NIGHTS, no overlapping row starts before it, it bounds the index range from below.
+    @Query(value =
+    """
+        SELECT SOURCE_TYPE FROM OCCUPANCY
+        WHERE PROPERTY_ID = ?1
+        AND (SOURCE_ID != ?2 OR ?2 IS NULL)
+        AND START_DATE >= ?3
+        AND START_DATE <= ?5
+        AND END_DATE >= ?4
+        ORDER BY CASE SOURCE_TYPE WHEN 'BOOKING' THEN 0 ELSE 1 END
+        LIMIT 1
+    """, nativeQuery = true)
+    Optional<String> findConflictingSource(UUID propertyId, UUID excludedSourceId, LocalDate earliestStart, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT o FROM Occupancy o WHERE o.propertyId = ?1 AND o.startDate >= ?2 AND o.startDate <= ?4 AND o.endDate >= ?3 ORDER BY o.startDate")
+    List<Occupancy> findOverlapping(UUID propertyId, LocalDate earliestStart, LocalDate from, LocalDate to);
+
+    // Rows overlapping from and to on any of the properties, earliestStart bounds the index range from below.
+    @Query("SELECT o FROM Occupancy o WHERE o.propertyId IN ?1 AND o.startDate >= ?2 AND o.startDate <= ?4 AND o.endDate >= ?3 ORDER BY o.propertyId, o.startDate")
+    List<Occupancy> findOverlappingAny(Collection<UUID> propertyIds, LocalDate earliestStart, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,34 @@
+package com.hostfully.interview.repository.projection;
+
+import com.hostfully.interview.model.entity.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// One row per booking and guest, bookings without guests have null guest columns.
+public interface BookingExportRow {
+
+    UUID getId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    BookingStatus getStatus();
+
+    LocalDate getCreatedAt();
+
+    LocalDate getUpdateAt();
+
+    Long getVersion();
+
+    UUID getGuestId();
+
+    String getGuestName();
+
+    LocalDate getGuestCreatedAt();
+
+    LocalDate getGuestUpdateAt();
+
+    Long getGuestVersion();
+}
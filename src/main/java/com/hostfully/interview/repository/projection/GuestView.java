@@ -0,0 +1,19 @@
+package com.hostfully.interview.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface GuestView {
+
+    UUID getBookingId();
+
+    UUID getId();
+
+    String getName();
+
+    LocalDate getCreatedAt();
+
+    LocalDate getUpdateAt();
+
+    Long getVersion();
+}
@@ -0,0 +1,15 @@
+package com.hostfully.interview.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface OccupancyView {
+
+    UUID getPropertyId();
+
+    UUID getId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
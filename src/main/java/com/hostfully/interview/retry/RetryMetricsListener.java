@@ -0,0 +1,55 @@
+package com.hostfully.interview.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+/**
+ * Conflict rate of an operation is booking.write.conflicts / booking.write.calls, both tagged by operation.
+ */
+public class RetryMetricsListener implements RetryListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof OptimisticLockingFailureException) {
+            counter("booking.write.conflicts", context).increment();
+        }
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        counter("booking.write.calls", context).increment();
+
+        var failedAttempts = context.getRetryCount();
+        var retries = throwable == null ? failedAttempts : Math.max(failedAttempts - 1, 0);
+        DistributionSummary.builder("booking.write.retries")
+                .tag("operation", operation(context))
+                .register(meterRegistry)
+                .record(retries);
+
+        if (throwable instanceof OptimisticLockingFailureException) {
+            counter("booking.write.conflicts.exhausted", context).increment();
+        }
+    }
+
+    private Counter counter(String name, RetryContext context) {
+        return Counter.builder(name)
+                .tag("operation", operation(context))
+                .register(meterRegistry);
+    }
+
+    private String operation(RetryContext context) {
+        var name = context.getAttribute(RetryContext.NAME);
+        return name == null ? "unknown" : name.toString();
+    }
+}
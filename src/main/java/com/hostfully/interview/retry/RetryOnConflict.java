@@ -0,0 +1,28 @@
+package com.hostfully.interview.retry;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.*;
+
+/**
+ * Re-runs the annotated write when another transaction bumped the version of an entity it touched.
+ * The whole method is retried, so it must reload what it modifies instead of reusing stale instances.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${booking.retry.max-attempts:3}",
+        backoff = @Backoff(delayExpression = "${booking.retry.delay:20}",
+                multiplierExpression = "${booking.retry.multiplier:2}",
+                maxDelayExpression = "${booking.retry.max-delay:200}",
+                random = true))
+public @interface RetryOnConflict {
+
+    // Used as the operation tag of the retry metrics, keep it low cardinality.
+    @AliasFor(annotation = Retryable.class, attribute = "label")
+    String value();
+}
@@ -1,13 +1,19 @@
 package com.hostfully.interview.service;
 
 import com.hostfully.interview.exception.BadRequestException;
-import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.jfr.BlockEvent;
+import com.hostfully.interview.model.dto.*;
 import com.hostfully.interview.model.entity.Block;
 import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.ListingSpecifications;
+import com.hostfully.interview.retry.RetryOnConflict;
+import org.hibernate.Hibernate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class BlockService {
@@ -23,21 +29,119 @@ public class BlockService {
     }
 
     public Block createBlock(BlockCreateDto blockCreateDto, String propertyId) {
-        blockCreateDto.validate();
-        var property = propertyService.getProperty(propertyId);
-        reservationService.validateIfDatesAreAvailable(propertyId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate());
-        var block = new Block(null, property, blockCreateDto.getStartDate(), blockCreateDto.getEndDate(), LocalDate.now(), null);
-        return blockRepository.save(block);
+        var event = new BlockEvent("create");
+        event.span(propertyId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate());
+        return event.record(() -> {
+            blockCreateDto.validate();
+            propertyService.validUUID(propertyId);
+            try {
+                var savedBlock = reservationService.withPropertyLock(propertyId, () -> {
+                    reservationService.validateIfDatesAreAvailable(propertyId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate());
+                    var block = new Block(null, propertyService.getPropertyReference(propertyId), blockCreateDto.getStartDate(), blockCreateDto.getEndDate(), LocalDate.now(), null);
+                    return saveBlock(block);
+                });
+                event.block(savedBlock);
+                return savedBlock;
+            } catch (DataIntegrityViolationException e) {
+                throw new BadRequestException("Bad Request");
+            }
+        });
+    }
+
+    /**
+     * Blocks every range on every property. Properties are resolved with one query and all blocks are checked
+     * against the database with one query before the accepted ones are inserted in one transaction.
+     */
+    public BlockBulkResultDto createBlocks(BlockBulkCreateDto bulkCreateDto) {
+        bulkCreateDto.validate();
+        var propertyIds = new ArrayList<String>();
+        var ranges = new ArrayList<BlockCreateDto>();
+        for (var propertyId : bulkCreateDto.getPropertyIds()) {
+            for (var range : bulkCreateDto.getRanges()) {
+                propertyIds.add(propertyId);
+                ranges.add(range);
+            }
+        }
+        return createBlocks(propertyIds, ranges, bulkCreateDto.isAtomic());
+    }
+
+    // Creates one block per position, on propertyIds.get(i) for ranges.get(i).
+    public BlockBulkResultDto createBlocks(List<String> propertyIds, List<BlockCreateDto> ranges, boolean atomic) {
+        var properties = propertyService.getProperties(propertyIds.stream()
+                .map(this::validPropertyId).filter(Objects::nonNull).distinct().toList());
+
+        var items = new ArrayList<BlockBulkItemResultDto>();
+        var candidates = new ArrayList<Block>();
+        var candidateIndexes = new ArrayList<Integer>();
+        for (var i = 0; i < propertyIds.size(); i++) {
+            var uuid = validPropertyId(propertyIds.get(i));
+            var property = uuid == null ? null : properties.get(uuid);
+            var range = ranges.get(i);
+            var error = property == null ? "Bad Request" : rangeError(range);
+            if (error == null) {
+                candidates.add(new Block(null, property, range.getStartDate(), range.getEndDate(), LocalDate.now(), null));
+                candidateIndexes.add(items.size());
+            }
+            items.add(new BlockBulkItemResultDto(propertyIds.get(i), range.getStartDate(), range.getEndDate(), BatchItemStatus.REJECTED, null, error));
+        }
+        if (candidates.isEmpty()) return new BlockBulkResultDto(0, items);
+
+        var lockedPropertyIds = candidates.stream().map(block -> block.getProperty().getId().toString()).toList();
+        return reservationService.withPropertyLocks(lockedPropertyIds, () -> {
+            var conflicts = reservationService.findBlockBatchConflicts(candidates);
+            var accepted = new ArrayList<Block>();
+            for (var i = 0; i < candidates.size(); i++) {
+                if (conflicts.get(i) == null) accepted.add(candidates.get(i));
+                else items.get(candidateIndexes.get(i)).setMessage(conflicts.get(i));
+            }
+
+            var abort = atomic && accepted.size() < items.size();
+            var saved = abort ? List.<Block>of() : blockRepository.saveAll(accepted);
+            reservationService.blocksSaved(saved);
+            for (var i = 0, savedIndex = 0; i < candidates.size(); i++) {
+                if (conflicts.get(i) != null) continue;
+                var item = items.get(candidateIndexes.get(i));
+                item.setStatus(abort ? BatchItemStatus.ABORTED : BatchItemStatus.CREATED);
+                if (!abort) item.setBlockId(saved.get(savedIndex++).getId());
+            }
+            return new BlockBulkResultDto(saved.size(), items);
+        });
+    }
+
+    private String rangeError(BlockCreateDto range) {
+        try {
+            range.validate();
+            return null;
+        } catch (BadRequestException e) {
+            return e.getMessage();
+        }
+    }
+
+    private UUID validPropertyId(String propertyId) {
+        try {
+            return UUID.fromString(propertyId);
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
+    @RetryOnConflict("block.update")
     public Block updateBlock(BlockCreateDto blockCreateDto, String blockId) {
-        blockCreateDto.validate();
-        var block = getBlock(blockId);
-        reservationService.validateIfDatesAreAvailable(block.getProperty().getId().toString(), null, blockId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate());
-        block.setStartDate(blockCreateDto.getStartDate());
-        block.setEndDate(blockCreateDto.getEndDate());
-        block.setUpdateAt(LocalDate.now());
-        return blockRepository.save(block);
+        var event = new BlockEvent("update");
+        return event.record(() -> {
+            blockCreateDto.validate();
+            var block = getBlock(blockId);
+            var propertyId = block.getProperty().getId().toString();
+            event.block(block);
+            event.span(propertyId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate());
+            return reservationService.withPropertyLock(propertyId, () -> {
+                reservationService.validateIfDatesAreAvailable(propertyId, null, blockId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate());
+                block.setStartDate(blockCreateDto.getStartDate());
+                block.setEndDate(blockCreateDto.getEndDate());
+                block.setUpdateAt(LocalDate.now());
+                return saveBlock(block);
+            });
+        });
     }
 
     public Block getBlock(String blockId) {
@@ -45,13 +149,38 @@ public class BlockService {
         return blockRepository.findById(UUID).orElseThrow(() -> new BadRequestException("Bad Request"));
     }
 
+    @RetryOnConflict("block.delete")
     public void deleteBlock(String blockId) {
         var block = getBlock(blockId);
-        blockRepository.delete(block);
+        reservationService.withPropertyLock(block.getProperty().getId().toString(), () -> {
+            blockRepository.delete(block);
+            reservationService.blockRemoved(block);
+            return block;
+        });
     }
 
     public List<Block> getBlocksByPropertyId(String propertyId) {
         var property = propertyService.getProperty(propertyId);
         return blockRepository.findAllByProperty(property);
     }
+
+    public CursorPageDto<BlockSummaryDto> findBlocksByPropertyId(String propertyId, LocalDate from, LocalDate to, String cursor, Integer limit, boolean count) {
+        var property = propertyService.getProperty(propertyId);
+        if (from != null && to != null && from.isAfter(to)) throw new BadRequestException("From date must not be after to date");
+        var size = KeysetCursor.limit(limit);
+        var position = KeysetCursor.position(cursor, Map.of("startDate", LocalDate::parse, "id", UUID::fromString));
+        var filters = Specification.where(ListingSpecifications.<Block>ofProperty(property.getId()))
+                .and(ListingSpecifications.endsOnOrAfter(from))
+                .and(ListingSpecifications.startsOnOrBefore(to));
+        var window = blockRepository.findSummaries(filters, position, size);
+        return new CursorPageDto<>(window.getContent(), KeysetCursor.next(window), count ? blockRepository.count(filters) : null);
+    }
+
+    // The response is rendered after the transaction, the property reference of a new block is loaded here.
+    private Block saveBlock(Block block) {
+        var savedBlock = blockRepository.save(block);
+        reservationService.blockSaved(savedBlock);
+        Hibernate.initialize(savedBlock.getProperty());
+        return savedBlock;
+    }
 }
@@ -0,0 +1,110 @@
+package com.hostfully.interview.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hostfully.interview.config.ExportProperties;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.exception.ServiceUnavailableException;
+import com.hostfully.interview.model.dto.ExportFormat;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.Guest;
+import com.hostfully.interview.model.entity.Property;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.projection.BookingExportRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class BookingExportService {
+
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore exports;
+
+    public BookingExportService(BookingRepository bookingRepository, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                ExportProperties exportProperties) {
+        this.bookingRepository = bookingRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.exports = new Semaphore(exportProperties.getMaxConcurrent());
+    }
+
+    // An export holds a pooled connection for the whole download, so only booking.export.max-concurrent run at once
+    // and slow clients cannot take the pool from writes. Every acquired export must be released when it ends.
+    public void acquireExport() {
+        if (!exports.tryAcquire()) throw new ServiceUnavailableException("Too many exports running, please retry");
+    }
+
+    public void releaseExport() {
+        exports.release();
+    }
+
+    public ExportFormat toFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase());
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Format must be ndjson or json");
+        }
+    }
+
+    /**
+     * Writes the bookings of the property with their property and guests, in the same shape as GET /booking/{id}, while
+     * reading them from a database cursor, only the booking being written is held in memory. Returns the number of
+     * bookings written.
+     */
+    public long exportBookings(Property property, ExportFormat format, OutputStream out) throws IOException {
+        var writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try {
+            var written = transactionTemplate.execute(status -> {
+                try (var rows = bookingRepository.streamExportRowsByPropertyId(property.getId());
+                     var values = format == ExportFormat.JSON ? writer.writeValuesAsArray(out) : writer.withRootValueSeparator("\n").writeValues(out)) {
+                    return writeBookings(property, rows.iterator(), values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            return written == null ? 0 : written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeBookings(Property property, Iterator<BookingExportRow> rows, SequenceWriter values) throws IOException {
+        long written = 0;
+        Booking current = null;
+        while (rows.hasNext()) {
+            var row = rows.next();
+            if (current == null || !current.getId().equals(row.getId())) {
+                if (current != null) {
+                    values.write(current);
+                    written++;
+                }
+                current = new Booking(row.getId(), property, row.getStartDate(), row.getEndDate(), row.getStatus(),
+                        row.getCreatedAt(), row.getUpdateAt(), new ArrayList<>(), row.getVersion());
+            }
+            if (row.getGuestId() != null) {
+                current.getGuests().add(new Guest(row.getGuestId(), row.getGuestName(), row.getGuestCreatedAt(), row.getGuestUpdateAt(), row.getGuestVersion()));
+            }
+        }
+        if (current != null) {
+            values.write(current);
+            written++;
+        }
+        return written;
+    }
+}
@@ -1,16 +1,24 @@
 package com.hostfully.interview.service;
 
 import com.hostfully.interview.exception.BadRequestException;
-import com.hostfully.interview.model.dto.BookingCreateDto;
-import com.hostfully.interview.model.dto.BookingUpdateDto;
-import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.jfr.BookingEvent;
+import com.hostfully.interview.model.dto.*;
 import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.Property;
 import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.GuestRepository;
+import com.hostfully.interview.repository.ListingSpecifications;
+import com.hostfully.interview.repository.projection.GuestView;
+import com.hostfully.interview.retry.RetryOnConflict;
+import org.hibernate.Hibernate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
@@ -18,24 +26,102 @@ public class BookingService {
     private final PropertyService propertyService;
     private final ReservationService reservationService;
     private final BookingRepository bookingRepository;
+    private final GuestRepository guestRepository;
 
-    public BookingService(PropertyService propertyService, ReservationService reservationService, BookingRepository bookingRepository) {
+    public BookingService(PropertyService propertyService, ReservationService reservationService, BookingRepository bookingRepository, GuestRepository guestRepository) {
         this.propertyService = propertyService;
         this.reservationService = reservationService;
         this.bookingRepository = bookingRepository;
+        this.guestRepository = guestRepository;
     }
 
     public Booking createBooking(BookingCreateDto bookingCreateDto) {
-        bookingCreateDto.validate();
-        var booking = bookingCreateDtoToBooking(bookingCreateDto);
-        reservationService.validateIfDatesAreAvailable(bookingCreateDto.getPropertyId(), bookingCreateDto.getStartDate(), bookingCreateDto.getEndDate());
-        return saveBooking(booking);
+        var event = new BookingEvent("create");
+        event.span(bookingCreateDto.getPropertyId(), bookingCreateDto.getStartDate(), bookingCreateDto.getEndDate());
+        return event.record(() -> {
+            bookingCreateDto.validate();
+            try {
+                var savedBooking = reservationService.withPropertyLock(bookingCreateDto.getPropertyId(), () -> {
+                    reservationService.validateIfDatesAreAvailable(bookingCreateDto.getPropertyId(), bookingCreateDto.getStartDate(), bookingCreateDto.getEndDate());
+                    return saveBooking(bookingCreateDtoToBooking(bookingCreateDto));
+                });
+                event.booking(savedBooking);
+                return savedBooking;
+            } catch (DataIntegrityViolationException e) {
+                throw new BadRequestException("Bad Request");
+            }
+        });
+    }
+
+    /**
+     * Validates every booking against the database and the bookings before it in the request, then inserts the
+     * accepted ones in one transaction. Atomic batches create nothing when any booking is rejected.
+     */
+    public BookingBatchResultDto createBookings(BookingBatchCreateDto batchCreateDto) {
+        batchCreateDto.validate();
+        var items = new ArrayList<BookingBatchItemResultDto>();
+        var candidates = new ArrayList<Booking>();
+        var candidateIndexes = new ArrayList<Integer>();
+
+        var properties = propertyService.getProperties(batchCreateDto.getBookings().stream()
+                .map(this::validPropertyId).filter(Objects::nonNull).toList());
+        for (var index = 0; index < batchCreateDto.getBookings().size(); index++) {
+            var bookingCreateDto = batchCreateDto.getBookings().get(index);
+            try {
+                bookingCreateDto.validate();
+                var property = properties.get(UUID.fromString(bookingCreateDto.getPropertyId()));
+                if (property == null) throw new BadRequestException("Bad Request");
+                candidates.add(bookingCreateDtoToBooking(bookingCreateDto, property));
+                candidateIndexes.add(index);
+                items.add(null);
+            } catch (BadRequestException e) {
+                items.add(new BookingBatchItemResultDto(index, BatchItemStatus.REJECTED, null, e.getMessage()));
+            }
+        }
+        if (candidates.isEmpty()) return new BookingBatchResultDto(0, items);
+
+        var propertyIds = candidates.stream().map(booking -> booking.getProperty().getId().toString()).toList();
+        return reservationService.withPropertyLocks(propertyIds, () -> {
+            var conflicts = reservationService.findBatchConflicts(candidates);
+            var accepted = new ArrayList<Booking>();
+            for (var i = 0; i < candidates.size(); i++) {
+                if (conflicts.get(i) == null) {
+                    accepted.add(candidates.get(i));
+                } else {
+                    items.set(candidateIndexes.get(i), new BookingBatchItemResultDto(candidateIndexes.get(i), BatchItemStatus.REJECTED, null, conflicts.get(i)));
+                }
+            }
+
+            var abort = batchCreateDto.isAtomic() && accepted.size() < batchCreateDto.getBookings().size();
+            var saved = abort ? List.<Booking>of() : bookingRepository.saveAll(accepted);
+            reservationService.bookingsSaved(saved);
+            for (var i = 0, savedIndex = 0; i < candidates.size(); i++) {
+                if (conflicts.get(i) != null) continue;
+                var index = candidateIndexes.get(i);
+                items.set(index, abort
+                        ? new BookingBatchItemResultDto(index, BatchItemStatus.ABORTED, null, null)
+                        : new BookingBatchItemResultDto(index, BatchItemStatus.CREATED, saved.get(savedIndex++).getId(), null));
+            }
+            return new BookingBatchResultDto(saved.size(), items);
+        });
+    }
+
+    private UUID validPropertyId(BookingCreateDto bookingCreateDto) {
+        try {
+            return UUID.fromString(bookingCreateDto.getPropertyId());
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
     public Booking bookingCreateDtoToBooking(BookingCreateDto bookingCreateDto) {
+        var property = propertyService.getPropertyReference(bookingCreateDto.getPropertyId());
+        return bookingCreateDtoToBooking(bookingCreateDto, property);
+    }
+
+    private Booking bookingCreateDtoToBooking(BookingCreateDto bookingCreateDto, Property property) {
         var booking = new Booking();
 
-        var property = propertyService.getProperty(bookingCreateDto.getPropertyId());
         booking.setProperty(property);
         booking.setStartDate(bookingCreateDto.getStartDate());
         booking.setEndDate(bookingCreateDto.getEndDate());
@@ -48,7 +134,7 @@ public class BookingService {
 
     public Booking getBooking(String bookingId) {
         var uuid = propertyService.validUUID(bookingId);
-        return bookingRepository.findById(uuid).orElseThrow(() -> new BadRequestException("Bad Request"));
+        return bookingRepository.findWithGuestsById(uuid).orElseThrow(() -> new BadRequestException("Bad Request"));
     }
 
     public List<Booking> getBookingsByPropertyId(String propertyId) {
@@ -56,14 +142,74 @@ public class BookingService {
         return bookingRepository.findAllByProperty(property);
     }
 
+    /**
+     * Bookings of the property overlapping from and to, ordered by start date. Each page continues after the cursor
+     * of the previous one, the total is only counted when asked for. Guests of the page are read with one query
+     * when included.
+     */
+    public CursorPageDto<BookingSummaryDto> findBookingsByPropertyId(String propertyId, LocalDate from, LocalDate to, String status, String include,
+                                                                     String cursor, Integer limit, boolean count) {
+        var property = propertyService.getProperty(propertyId);
+        if (from != null && to != null && from.isAfter(to)) throw new BadRequestException("From date must not be after to date");
+        var includeGuests = includesGuests(include);
+        var size = KeysetCursor.limit(limit);
+        var position = KeysetCursor.position(cursor, Map.of("startDate", LocalDate::parse, "id", UUID::fromString));
+        var filters = Specification.where(ListingSpecifications.<Booking>ofProperty(property.getId()))
+                .and(ListingSpecifications.endsOnOrAfter(from))
+                .and(ListingSpecifications.startsOnOrBefore(to))
+                .and(ListingSpecifications.hasStatus(toStatus(status)));
+        var window = bookingRepository.findSummaries(filters, position, size);
+        if (includeGuests && !window.isEmpty()) {
+            var guests = guestsByBookingId(window.getContent().stream().map(BookingSummaryDto::getId).toList());
+            window.forEach(booking -> booking.setGuests(guests.getOrDefault(booking.getId(), List.of())));
+        }
+        return new CursorPageDto<>(window.getContent(), KeysetCursor.next(window), count ? bookingRepository.count(filters) : null);
+    }
+
+    public BookingDetailDto getBookingDetail(String bookingId) {
+        var uuid = propertyService.validUUID(bookingId);
+        var booking = bookingRepository.findDetailById(uuid).orElseThrow(() -> new BadRequestException("Bad Request"));
+        booking.setGuests(guestsByBookingId(List.of(uuid)).getOrDefault(uuid, List.of()));
+        return booking;
+    }
+
+    private Map<UUID, List<GuestSummaryDto>> guestsByBookingId(Collection<UUID> bookingIds) {
+        return guestRepository.findAllByBookingIdIn(bookingIds).stream().collect(Collectors.groupingBy(GuestView::getBookingId,
+                Collectors.mapping(guest -> new GuestSummaryDto(guest.getId(), guest.getName(), guest.getCreatedAt(), guest.getUpdateAt(), guest.getVersion()), Collectors.toList())));
+    }
+
+    private boolean includesGuests(String include) {
+        if (include == null || include.isBlank()) return false;
+        for (var value : include.split(",")) {
+            if (!value.trim().equalsIgnoreCase("guests")) throw new BadRequestException("Invalid include");
+        }
+        return true;
+    }
+
+    private BookingStatus toStatus(String status) {
+        if (status == null) return null;
+        try {
+            return BookingStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid status");
+        }
+    }
+
+    @RetryOnConflict("booking.cancel")
     public Booking cancelBooking(String bookingId) {
-        var booking = getBooking(bookingId);
-        validateBookingForCancellation(booking);
+        var event = new BookingEvent("cancel");
+        return event.record(() -> {
+            var booking = getBooking(bookingId);
+            event.booking(booking);
+            validateBookingForCancellation(booking);
 
-        booking.setStatus(BookingStatus.CANCELLED);
-        booking.setUpdateAt(LocalDate.now());
+            return reservationService.withPropertyLock(booking.getProperty().getId().toString(), () -> {
+                booking.setStatus(BookingStatus.CANCELLED);
+                booking.setUpdateAt(LocalDate.now());
 
-        return saveBooking(booking);
+                return saveBooking(booking);
+            });
+        });
     }
 
     private boolean validateBookingForCancellation(Booking booking) {
@@ -73,15 +219,24 @@ public class BookingService {
         return true;
     }
 
+    @RetryOnConflict("booking.rebook")
     public Booking rebookBooking(String bookingId) {
-        var booking = getBooking(bookingId);
-        validateBookingForRebooking(booking);
-        reservationService.validateIfDatesAreAvailable(booking.getProperty().getId().toString(), booking.getId().toString(), null, booking.getStartDate(), booking.getEndDate());
+        var event = new BookingEvent("rebook");
+        return event.record(() -> {
+            var booking = getBooking(bookingId);
+            event.booking(booking);
+            validateBookingForRebooking(booking);
+            var propertyId = booking.getProperty().getId().toString();
+
+            return reservationService.withPropertyLock(propertyId, () -> {
+                reservationService.validateIfDatesAreAvailable(propertyId, booking.getId().toString(), null, booking.getStartDate(), booking.getEndDate());
 
-        booking.setStatus(BookingStatus.CONFIRMED); //TODO: space to improve, make host able to approve rebooking
-        booking.setUpdateAt(LocalDate.now());
+                booking.setStatus(BookingStatus.CONFIRMED); //TODO: space to improve, make host able to approve rebooking
+                booking.setUpdateAt(LocalDate.now());
 
-        return saveBooking(booking);
+                return saveBooking(booking);
+            });
+        });
     }
 
     private boolean validateBookingForRebooking(Booking booking) {
@@ -91,23 +246,44 @@ public class BookingService {
         return true;
     }
 
+    @RetryOnConflict("booking.delete")
     public void deleteBooking(String bookingId) {
         var booking = getBooking(bookingId);
-        bookingRepository.delete(booking);
+        reservationService.withPropertyLock(booking.getProperty().getId().toString(), () -> {
+            bookingRepository.delete(booking);
+            reservationService.bookingRemoved(booking);
+            return booking;
+        });
     }
 
+    @RetryOnConflict("booking.update")
     public Booking updateBooking(String bookingId, BookingUpdateDto bookingUpdateDto) {
-        bookingUpdateDto.validate();
-        var booking = getBooking(bookingId);
-        reservationService.validateIfDatesAreAvailable(booking.getProperty().getId().toString(), booking.getId().toString(), null, bookingUpdateDto.getStartDate(), bookingUpdateDto.getEndDate());
+        var event = new BookingEvent("update");
+        return event.record(() -> {
+            bookingUpdateDto.validate();
+            var booking = getBooking(bookingId);
+            var propertyId = booking.getProperty().getId().toString();
+            event.booking(booking);
+            // The span of an update is the requested one
+            event.span(propertyId, bookingUpdateDto.getStartDate(), bookingUpdateDto.getEndDate());
+
+            return reservationService.withPropertyLock(propertyId, () -> {
+                reservationService.validateIfDatesAreAvailable(propertyId, booking.getId().toString(), null, bookingUpdateDto.getStartDate(), bookingUpdateDto.getEndDate());
 
-        booking.setStartDate(bookingUpdateDto.getStartDate());
-        booking.setEndDate(bookingUpdateDto.getEndDate());
+                booking.setStartDate(bookingUpdateDto.getStartDate());
+                booking.setEndDate(bookingUpdateDto.getEndDate());
 
-        return saveBooking(booking);
+                return saveBooking(booking);
+            });
+        });
     }
 
+    // The response is rendered after the transaction, the property reference of a new booking is loaded here.
     public Booking saveBooking(Booking booking) {
-        return bookingRepository.save(booking);
+        var savedBooking = bookingRepository.save(booking);
+        reservationService.bookingSaved(savedBooking);
+        Hibernate.initialize(savedBooking.getProperty());
+        Hibernate.initialize(savedBooking.getGuests());
+        return savedBooking;
     }
 }
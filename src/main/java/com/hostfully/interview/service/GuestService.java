@@ -5,6 +5,7 @@ import com.hostfully.interview.model.dto.GuestCreateDTO;
 import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.Guest;
 import com.hostfully.interview.repository.GuestRepository;
+import com.hostfully.interview.retry.RetryOnConflict;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -20,6 +21,7 @@ public class GuestService {
         this.guestRepository = guestRepository;
     }
 
+    @RetryOnConflict("guest.create")
     public Booking createGuest(String bookingId, GuestCreateDTO guestCreateDTO) {
         var booking = bookingService.getBooking(bookingId);
         validateGuest(guestCreateDTO);
@@ -51,12 +53,14 @@ public class GuestService {
         return guestRepository.findById(uuid).orElseThrow(() -> new BadRequestException("Bad Request"));
     }
 
+    @RetryOnConflict("guest.update")
     public Guest updateGuest(String guestId, GuestCreateDTO guestCreateDTO) {
         var guest = getGuest(guestId);
         guest.setName(guestCreateDTO.getName());
         return guestRepository.save(guest);
     }
 
+    @RetryOnConflict("guest.delete")
     public void deleteGuest(String bookingId, String guestId) {
         var guest = getGuest(guestId);
         var booking = bookingService.getBooking(bookingId);
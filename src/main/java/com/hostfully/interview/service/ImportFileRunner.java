@@ -0,0 +1,30 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.config.ImportProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "booking.import", name = "file")
+public class ImportFileRunner implements ApplicationRunner {
+
+    private final ImportService importService;
+    private final ImportProperties importProperties;
+
+    public ImportFileRunner(ImportService importService, ImportProperties importProperties) {
+        this.importService = importService;
+        this.importProperties = importProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var job = importService.importFile(Path.of(importProperties.getFile()), importProperties.getFormat());
+        log.info("Import {} of {} finished as {}, {} rows committed", job.getId(), job.getSource(), job.getStatus(), job.getCommittedRows());
+    }
+}
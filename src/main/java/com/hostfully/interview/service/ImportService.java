@@ -0,0 +1,246 @@
+package com.hostfully.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.hostfully.interview.config.ImportProperties;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.*;
+import com.hostfully.interview.model.entity.ImportFormat;
+import com.hostfully.interview.model.entity.ImportJob;
+import com.hostfully.interview.model.entity.ImportJobStatus;
+import com.hostfully.interview.repository.ImportJobRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ImportService {
+
+    private final BookingService bookingService;
+    private final BlockService blockService;
+    private final ReservationService reservationService;
+    private final ImportJobRepository importJobRepository;
+    private final ImportProperties importProperties;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public ImportService(BookingService bookingService, BlockService blockService, ReservationService reservationService,
+                         ImportJobRepository importJobRepository, ImportProperties importProperties, ObjectMapper objectMapper,
+                         EntityManager entityManager) {
+        this.bookingService = bookingService;
+        this.blockService = blockService;
+        this.reservationService = reservationService;
+        this.importJobRepository = importJobRepository;
+        this.importProperties = importProperties;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Reads the rows line by line and commits them in chunks, each chunk with the job progress in one transaction.
+     * Passing the id of an unfinished job skips the rows it already committed.
+     */
+    public ImportJob importRows(InputStream input, String format, String jobId) {
+        var importFormat = toFormat(format);
+        var job = jobId == null ? newJob(null, importFormat) : getImportJob(jobId);
+        if (job.getStatus() == ImportJobStatus.COMPLETED) throw new BadRequestException("Import job is already completed");
+        if (job.getFormat() != importFormat) throw new BadRequestException("Format does not match the import job");
+        return run(job, input);
+    }
+
+    public ImportJob importFile(Path file, ImportFormat format) {
+        var source = file.toString();
+        var importFormat = format != null ? format : file.toString().toLowerCase().endsWith(".csv") ? ImportFormat.CSV : ImportFormat.NDJSON;
+        var job = importJobRepository.findFirstBySourceAndStatusNotOrderByStartedAtDesc(source, ImportJobStatus.COMPLETED)
+                .filter(unfinished -> unfinished.getFormat() == importFormat)
+                .orElseGet(() -> newJob(source, importFormat));
+        try (var input = Files.newInputStream(file)) {
+            return run(job, input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ImportJob getImportJob(String jobId) {
+        try {
+            return importJobRepository.findById(UUID.fromString(jobId)).orElseThrow(() -> new BadRequestException("Bad Request"));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Bad Request");
+        }
+    }
+
+    private ImportJob newJob(String source, ImportFormat format) {
+        return new ImportJob(null, source, format, ImportJobStatus.RUNNING, 0, 0, 0, 0, Instant.now(), null, null, null);
+    }
+
+    private ImportFormat toFormat(String format) {
+        try {
+            return ImportFormat.valueOf(format.toUpperCase());
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Format must be ndjson or csv");
+        }
+    }
+
+    private ImportJob run(ImportJob job, InputStream input) {
+        var chunkSize = Math.max(1, Math.min(importProperties.getChunkSize(), BookingBatchCreateDto.MAX_BOOKINGS));
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setLastError(null);
+        job = importJobRepository.save(job);
+
+        var run = new Run(System.nanoTime(), job.getCommittedRows());
+        try (var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            var columns = job.getFormat() == ImportFormat.CSV ? csvColumns(reader) : null;
+            var chunk = new ArrayList<ImportRow>(chunkSize);
+            long rowNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || ++rowNumber <= run.skippedRows) continue;
+                chunk.add(parse(rowNumber, line, columns));
+                if (chunk.size() == chunkSize) {
+                    job = writeChunk(job, chunk, run);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) job = writeChunk(job, chunk, run);
+            job.setStatus(ImportJobStatus.COMPLETED);
+            log.info("Import {} completed with {} rows imported and {} rejected", job.getId(), job.getImportedRows(), job.getRejectedRows());
+        } catch (IOException | RuntimeException e) {
+            log.error("Import {} failed after {} committed rows", job.getId(), job.getCommittedRows(), e);
+            job = importJobRepository.findById(job.getId()).orElseThrow();
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setLastError(e.getMessage());
+        }
+        job.setUpdatedAt(Instant.now());
+        return importJobRepository.save(job);
+    }
+
+    // Bookings of the chunk are written before its blocks, a block overlapping a booking of the same chunk is rejected.
+    private ImportJob writeChunk(ImportJob job, List<ImportRow> chunk, Run run) {
+        var bookingRows = new ArrayList<ImportRow>();
+        var blockRows = new ArrayList<ImportRow>();
+        var rejected = new ArrayList<String>();
+        for (var row : chunk) {
+            if (row.error() != null) rejected.add(row.error());
+            else if (row.row().getType() == ImportRowType.BOOKING) bookingRows.add(row);
+            else blockRows.add(row);
+        }
+
+        var propertyIds = Stream.concat(bookingRows.stream(), blockRows.stream())
+                .map(row -> row.row().getPropertyId()).filter(ImportService::isUUID).distinct().toList();
+        var saved = reservationService.withPropertyLocks(propertyIds, () -> {
+            long imported = 0;
+            if (!bookingRows.isEmpty()) {
+                var result = bookingService.createBookings(new BookingBatchCreateDto(false,
+                        bookingRows.stream().map(row -> row.row().toBookingCreateDto()).toList()));
+                for (var item : result.getItems()) {
+                    if (item.getStatus() == BatchItemStatus.REJECTED) rejected.add(reject(job, bookingRows.get(item.getIndex()), item.getMessage()));
+                }
+                imported += result.getCreated();
+            }
+            if (!blockRows.isEmpty()) {
+                var result = blockService.createBlocks(blockRows.stream().map(row -> row.row().getPropertyId()).toList(),
+                        blockRows.stream().map(row -> row.row().toBlockCreateDto()).toList(), false);
+                for (var i = 0; i < result.getItems().size(); i++) {
+                    var item = result.getItems().get(i);
+                    if (item.getStatus() == BatchItemStatus.REJECTED) rejected.add(reject(job, blockRows.get(i), item.getMessage()));
+                }
+                imported += result.getCreated();
+            }
+
+            run.rows += chunk.size();
+            var seconds = Math.max((System.nanoTime() - run.startedAt) / 1e9, 1e-3);
+            job.setCommittedRows(job.getCommittedRows() + chunk.size());
+            job.setImportedRows(job.getImportedRows() + imported);
+            job.setRejectedRows(job.getRejectedRows() + rejected.size());
+            job.setRowsPerSecond(run.rows / seconds);
+            job.setUpdatedAt(Instant.now());
+            return importJobRepository.save(job);
+        });
+        // A request bound EntityManager (open in view) outlives the chunk transactions and would keep every saved
+        // booking, guest and block managed until the response, clearing it keeps memory and flushes per chunk flat.
+        entityManager.clear();
+        log.info("Import {} committed {} rows ({} imported, {} rejected), {} rows/s",
+                saved.getId(), saved.getCommittedRows(), saved.getImportedRows(), saved.getRejectedRows(), Math.round(saved.getRowsPerSecond()));
+        return saved;
+    }
+
+    private String reject(ImportJob job, ImportRow row, String message) {
+        log.debug("Import {} rejected row {}: {}", job.getId(), row.number(), message);
+        return message;
+    }
+
+    private String[] csvColumns(BufferedReader reader) throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+        } while (header != null && header.isBlank());
+        if (header == null) return new String[0];
+        return Arrays.stream(header.split(",")).map(String::trim).toArray(String[]::new);
+    }
+
+    private ImportRow parse(long rowNumber, String line, String[] csvColumns) {
+        try {
+            var row = csvColumns == null ? objectMapper.readValue(line, ImportRowDto.class) : parseCsv(line, csvColumns);
+            if (row.getType() == null) return new ImportRow(rowNumber, row, "Type must be BOOKING or BLOCK");
+            return new ImportRow(rowNumber, row, null);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Import could not parse row {}", rowNumber, e);
+            return new ImportRow(rowNumber, null, "Row could not be parsed");
+        }
+    }
+
+    // Guests are a single column with names separated by semicolons.
+    private ImportRowDto parseCsv(String line, String[] columns) throws IOException {
+        var schema = CsvSchema.builder().addColumns(Arrays.asList(columns), CsvSchema.ColumnType.STRING).build();
+        Map<String, String> values = csvMapper.readerForMapOf(String.class).with(schema).readValue(line);
+        var row = new ImportRowDto();
+        row.setType(values.get("type") == null ? null : ImportRowType.valueOf(values.get("type").trim().toUpperCase()));
+        row.setPropertyId(values.get("propertyId"));
+        row.setStartDate(toDate(values.get("startDate")));
+        row.setEndDate(toDate(values.get("endDate")));
+        var guests = values.get("guests");
+        if (guests != null && !guests.isBlank()) {
+            row.setGuests(Arrays.stream(guests.split(";")).map(String::trim).map(GuestCreateDTO::new).toList());
+        }
+        return row;
+    }
+
+    private static LocalDate toDate(String value) {
+        return value == null || value.isBlank() ? null : LocalDate.parse(value.trim());
+    }
+
+    private static boolean isUUID(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private record ImportRow(long number, ImportRowDto row, String error) {
+    }
+
+    private static class Run {
+        private final long startedAt;
+        private final long skippedRows;
+        private long rows;
+
+        private Run(long startedAt, long skippedRows) {
+            this.startedAt = startedAt;
+            this.skippedRows = skippedRows;
+        }
+    }
+}
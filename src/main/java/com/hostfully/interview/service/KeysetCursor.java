@@ -0,0 +1,60 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque cursor holding the sort keys of the last item of a page, the next page starts strictly after them so it
+ * is found through the index instead of skipping rows.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private KeysetCursor() {
+    }
+
+    public static String next(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) return null;
+        var position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        var keys = position.getKeys().entrySet().stream()
+                .map(key -> key.getKey() + "=" + key.getValue())
+                .collect(Collectors.joining("&"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Key values are parsed back to the type of their attribute, in the order of the sort.
+    public static KeysetScrollPosition position(String cursor, Map<String, Function<String, Object>> keyTypes) {
+        if (cursor == null || cursor.isEmpty()) return ScrollPosition.keyset();
+        try {
+            var values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("&");
+            var keys = new LinkedHashMap<String, Object>();
+            for (var value : values) {
+                var key = value.split("=", 2);
+                var type = keyTypes.get(key[0]);
+                if (type == null || key.length != 2) throw new IllegalArgumentException(value);
+                keys.put(key[0], type.apply(key[1]));
+            }
+            if (!keys.keySet().equals(keyTypes.keySet())) throw new IllegalArgumentException(cursor);
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public static int limit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) throw new BadRequestException("Invalid limit");
+        return limit;
+    }
+}
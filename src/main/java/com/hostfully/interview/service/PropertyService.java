@@ -1,44 +1,111 @@
 package com.hostfully.interview.service;
 
+import com.hostfully.interview.availability.PortfolioAvailabilityIndex;
+import com.hostfully.interview.availability.PropertyChangedEvent;
+import com.hostfully.interview.cache.PropertyCache;
 import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.CursorPageDto;
 import com.hostfully.interview.model.dto.PropertyCreateDto;
 import com.hostfully.interview.model.entity.Property;
+import com.hostfully.interview.repository.ListingSpecifications;
 import com.hostfully.interview.repository.PropertyRepository;
+import com.hostfully.interview.retry.RetryOnConflict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PropertyService {
 
     private final PropertyRepository propertyRepository;
+    private final PortfolioAvailabilityIndex portfolioAvailabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PropertyCache propertyCache;
 
-    public PropertyService(PropertyRepository propertyRepository) {
+    public PropertyService(PropertyRepository propertyRepository, PortfolioAvailabilityIndex portfolioAvailabilityIndex, ApplicationEventPublisher eventPublisher, PropertyCache propertyCache) {
         this.propertyRepository = propertyRepository;
+        this.portfolioAvailabilityIndex = portfolioAvailabilityIndex;
+        this.eventPublisher = eventPublisher;
+        this.propertyCache = propertyCache;
     }
 
     //TODO: extract toEntity method
     public Property createProperty(PropertyCreateDto propertyCreateDto) {
         propertyCreateDto.validate();
-        return propertyRepository.save(propertyCreateDto.toEntity());
+        var property = propertyRepository.save(propertyCreateDto.toEntity());
+        eventPublisher.publishEvent(PropertyChangedEvent.of(property));
+        return property;
     }
 
     public Property getProperty(String id) {
         var uuid = validUUID(id);
 
-        return propertyRepository.findById(uuid)
+        return propertyCache.get(uuid, propertyRepository::findById)
                 .orElseThrow(() -> new BadRequestException("Bad Request"));
     }
 
+    // Runs no statement when the property is not cached, an unknown id fails the foreign key of the row referencing it.
+    public Property getPropertyReference(String id) {
+        var uuid = validUUID(id);
+
+        return propertyCache.getIfPresent(uuid).orElseGet(() -> propertyRepository.getReferenceById(uuid));
+    }
+
+    public Map<UUID, Property> getProperties(Collection<UUID> ids) {
+        return propertyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Property::getId, Function.identity()));
+    }
+
     public List<Property> findAllProperties() {
         return propertyRepository.findAll();
     }
 
+    public CursorPageDto<Property> findProperties(String cursor, Integer limit, boolean count) {
+        var size = KeysetCursor.limit(limit);
+        var position = KeysetCursor.position(cursor, Map.of("id", UUID::fromString));
+        Specification<Property> all = (root, query, builder) -> null;
+        var window = propertyRepository.findBy(all, query -> query.sortBy(Sort.by("id")).limit(size).scroll(position));
+        return new CursorPageDto<>(window.getContent(), KeysetCursor.next(window), count ? propertyRepository.count() : null);
+    }
+
     public void deleteProperty(String id) {
         var uuid = validUUID(id);
 
         propertyRepository.deleteById(uuid);
+        eventPublisher.publishEvent(PropertyChangedEvent.removed(uuid));
+    }
+
+    public CursorPageDto<Property> findAvailableProperties(LocalDate from, LocalDate to, String cursor, Integer limit, boolean count) {
+        validateAvailabilitySearch(from, to);
+        var size = KeysetCursor.limit(limit);
+        var position = KeysetCursor.position(cursor, Map.of("id", UUID::fromString));
+        if (!portfolioAvailabilityIndex.isReady()) {
+            var available = ListingSpecifications.availableBetween(from, to);
+            var window = propertyRepository.findBy(available, query -> query.sortBy(Sort.by("id")).limit(size).scroll(position));
+            return new CursorPageDto<>(window.getContent(), KeysetCursor.next(window), count ? propertyRepository.count(available) : null);
+        }
+
+        var after = position.isInitial() ? null : (UUID) position.getKeys().get("id");
+        var ids = portfolioAvailabilityIndex.findAvailable(from, to, after, size);
+        var properties = getProperties(ids.getContent());
+        var content = ids.getContent().stream().map(properties::get).filter(Objects::nonNull).toList();
+        return new CursorPageDto<>(content, KeysetCursor.next(ids), count ? portfolioAvailabilityIndex.countAvailable(from, to) : null);
+    }
+
+    private boolean validateAvailabilitySearch(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new BadRequestException("From and to dates are required");
+        if (from.isAfter(to)) throw new BadRequestException("From date must not be after to date");
+        return true;
     }
 
     //TODO: extract to a util class
@@ -52,9 +119,12 @@ public class PropertyService {
         }
     }
 
+    @RetryOnConflict("property.update")
     public Property updateProperty(String id, PropertyCreateDto propertyCreateDto) {
         propertyCreateDto.validate();
-        var oldProperty = getProperty(id);
+        // Cached instances are shared, the update works on its own copy.
+        var oldProperty = propertyRepository.findById(validUUID(id))
+                .orElseThrow(() -> new BadRequestException("Bad Request"));
         oldProperty.setName(propertyCreateDto.getName());
         return propertyRepository.save(oldProperty);
     }
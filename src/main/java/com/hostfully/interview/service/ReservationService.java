@@ -1,28 +1,117 @@
 package com.hostfully.interview.service;
 
+import com.hostfully.interview.availability.AvailabilityCalendars;
+import com.hostfully.interview.availability.AvailabilityIndex;
+import com.hostfully.interview.availability.AvailabilityMode;
+import com.hostfully.interview.availability.OccupancyChangedEvent;
+import com.hostfully.interview.config.ReservationProperties;
 import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.jfr.AvailabilityCheckEvent;
+import com.hostfully.interview.metrics.ReservationMetrics;
+import com.hostfully.interview.model.dto.AvailabilityCalendarDto;
+import com.hostfully.interview.model.dto.AvailableWindowDto;
+import com.hostfully.interview.model.dto.ReservationDates;
+import com.hostfully.interview.model.entity.Block;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.Occupancy;
+import com.hostfully.interview.model.entity.OccupancySource;
 import com.hostfully.interview.repository.BlockRepository;
 import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class ReservationService {
+    private static final long MAX_CALENDAR_DAYS = AvailabilityCalendars.MAX_DAYS;
+    private static final int MAX_WINDOWS = 50;
+
     private final BlockRepository blockRepository;
     private final BookingRepository bookingRepository;
+    private final OccupancyRepository occupancyRepository;
+    private final PropertyRepository propertyRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationProperties reservationProperties;
+    private final ReservationMetrics reservationMetrics;
+    private final Lock[] propertyLocks;
 
-    public ReservationService(BlockRepository blockRepository, BookingRepository bookingRepository) {
+    public ReservationService(BlockRepository blockRepository, BookingRepository bookingRepository, OccupancyRepository occupancyRepository, PropertyRepository propertyRepository,
+                              AvailabilityIndex availabilityIndex, ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate, ReservationProperties reservationProperties,
+                              ReservationMetrics reservationMetrics) {
         this.blockRepository = blockRepository;
         this.bookingRepository = bookingRepository;
+        this.occupancyRepository = occupancyRepository;
+        this.propertyRepository = propertyRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.reservationProperties = reservationProperties;
+        this.reservationMetrics = reservationMetrics;
+        this.propertyLocks = new Lock[stripeCount(reservationProperties.getLockStripes())];
+        for (int i = 0; i < propertyLocks.length; i++) {
+            propertyLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // Availability check and write must run inside the action so no other write for the property can interleave.
+    // The transaction commits before the lock is released, in occupancy mode the property row is locked as well
+    // so several instances sharing a database serialize on it. The lock is always taken before a connection, callers
+    // must not hold one while waiting for it, which is why open-session-in-view is off.
+    public <T> T withPropertyLock(String propertyId, Supplier<T> action) {
+        var lock = propertyLock(propertyId);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                if (isOccupancyMode()) propertyRepository.findAndLockById(UUID.fromString(propertyId));
+                return action.get();
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stripes are taken in index order so batches sharing properties cannot deadlock each other.
+    public <T> T withPropertyLocks(Collection<String> propertyIds, Supplier<T> action) {
+        var stripes = propertyIds.stream().mapToInt(this::stripe).distinct().sorted().toArray();
+        for (var stripe : stripes) propertyLocks[stripe].lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                if (isOccupancyMode()) propertyIds.stream().map(UUID::fromString).distinct().sorted().forEach(propertyRepository::findAndLockById);
+                return action.get();
+            });
+        } finally {
+            for (var i = stripes.length - 1; i >= 0; i--) propertyLocks[stripes[i]].unlock();
+        }
     }
 
     public boolean isDatesBooked(String propertyId, String bookingId, LocalDate startDate, LocalDate endDate) {
-        return bookingRepository.existByPropertyIdAndDateRange(propertyId, bookingId, startDate, endDate);
+        return reservationMetrics.timeQuery("booked", () -> {
+            if (availabilityIndex.isReady())
+                return availabilityIndex.isBooked(toUUID(propertyId), toUUID(bookingId), startDate, endDate);
+
+            return bookingRepository.existByPropertyIdAndDateRange(toUUID(propertyId), toUUID(bookingId), earliestStart(startDate), startDate, endDate);
+        });
     }
 
     public boolean isDatesBlocked(String propertyId, String blockId, LocalDate startDate, LocalDate endDate) {
-        return blockRepository.existByPropertyIdAndDateRange(propertyId, blockId, startDate, endDate);
+        return reservationMetrics.timeQuery("blocked", () -> {
+            if (availabilityIndex.isReady())
+                return availabilityIndex.isBlocked(toUUID(propertyId), toUUID(blockId), startDate, endDate);
+
+            return blockRepository.existByPropertyIdAndDateRange(toUUID(propertyId), toUUID(blockId), earliestStart(startDate), startDate, endDate);
+        });
     }
 
     public boolean validateIfDatesAreAvailable(String propertyId, LocalDate startDate, LocalDate endDate) {
@@ -30,12 +119,208 @@ public class ReservationService {
     }
 
     public boolean validateIfDatesAreAvailable(String propertyId, String bookingId, String blockId, LocalDate startDate, LocalDate endDate) {
-        if (isDatesBooked(propertyId, bookingId, startDate, endDate))
+        var event = new AvailabilityCheckEvent();
+        event.begin();
+        var start = System.nanoTime();
+        var conflict = findConflictingSource(propertyId, bookingId, blockId, startDate, endDate);
+        reservationMetrics.recordCheck(reservationProperties.getAvailabilityMode(), conflict, start);
+        event.checked(propertyId, startDate, endDate, reservationProperties.getAvailabilityMode(), conflict);
+        if (conflict == null) return true;
+
+        reservationMetrics.recordRejection(propertyId, conflict);
+        if (conflict == OccupancySource.BOOKING)
             throw new BadRequestException("Dates are already booked");
 
-        if (isDatesBlocked(propertyId, blockId, startDate, endDate))
-            throw new BadRequestException("Dates are already blocked");
+        throw new BadRequestException("Dates are already blocked");
+    }
+
+    public AvailabilityCalendarDto getAvailabilityCalendar(UUID propertyId, LocalDate from, LocalDate to) {
+        AvailabilityCalendars.validateRange(from, to);
+        return AvailabilityCalendars.of(propertyId, from, to, occupancyRepository.findOverlapping(propertyId, earliestStart(from), from, to));
+    }
+
+    // A stay of N nights occupies N + 1 days since the end date is taken too, so a gap fits it when its last day is
+    // at least N days after its first. Gaps are found in one pass over the occupancy rows up to the search horizon.
+    public List<AvailableWindowDto> findAvailableWindows(UUID propertyId, LocalDate after, int nights, int limit) {
+        validateWindowSearch(after, nights, limit);
+        var horizon = after.plusDays(MAX_CALENDAR_DAYS - 1);
+
+        var windows = new ArrayList<AvailableWindowDto>();
+        var cursor = after;
+        for (var occupancy : occupancyRepository.findOverlapping(propertyId, earliestStart(after), after, horizon)) {
+            if (windows.size() == limit) return windows;
+            if (occupancy.getStartDate().isAfter(cursor)) {
+                addWindow(windows, cursor, occupancy.getStartDate().minusDays(1), nights);
+            }
+            if (!occupancy.getEndDate().isBefore(cursor)) cursor = occupancy.getEndDate().plusDays(1);
+        }
+        if (windows.size() < limit && !cursor.isAfter(horizon)) addWindow(windows, cursor, horizon, nights);
+
+        return windows;
+    }
+
+    /**
+     * Conflict message for every booking, null when it can be created. Bookings are checked against the OCCUPANCY
+     * rows of all their properties, fetched with one query, and against the bookings of the list accepted before them.
+     */
+    public List<String> findBatchConflicts(List<Booking> bookings) {
+        return findConflicts(bookings.stream().map(OccupancyChangedEvent::of).toList(), "Dates overlap another booking of the batch");
+    }
+
+    public List<String> findBlockBatchConflicts(List<Block> blocks) {
+        return findConflicts(blocks.stream().map(OccupancyChangedEvent::of).toList(), "Dates overlap another block of the batch");
+    }
+
+    public void bookingSaved(Booking booking) {
+        recordOccupancy(OccupancyChangedEvent.of(booking));
+    }
+
+    public void bookingRemoved(Booking booking) {
+        recordOccupancy(OccupancyChangedEvent.removed(booking));
+    }
+
+    public void blockSaved(Block block) {
+        recordOccupancy(OccupancyChangedEvent.of(block));
+    }
+
+    public void bookingsSaved(List<Booking> bookings) {
+        recordOccupancies(bookings.stream().map(OccupancyChangedEvent::of).toList());
+    }
+
+    public void blocksSaved(List<Block> blocks) {
+        recordOccupancies(blocks.stream().map(OccupancyChangedEvent::of).toList());
+    }
+
+    public void blockRemoved(Block block) {
+        recordOccupancy(OccupancyChangedEvent.removed(block));
+    }
 
+    // A booking wins over a block when the dates overlap both.
+    private OccupancySource findConflictingSource(String propertyId, String bookingId, String blockId, LocalDate startDate, LocalDate endDate) {
+        if (isOccupancyMode()) {
+            var excludedSourceId = toUUID(bookingId != null ? bookingId : blockId);
+            return reservationMetrics.timeQuery("occupancy", () -> occupancyRepository.findConflictingSource(toUUID(propertyId), excludedSourceId, earliestStart(startDate), startDate, endDate))
+                    .map(OccupancySource::valueOf).orElse(null);
+        }
+
+        if (!availabilityIndex.isReady()) {
+            return reservationMetrics.timeQuery("combined", () -> bookingRepository.findConflictingSource(toUUID(propertyId), toUUID(bookingId), toUUID(blockId), earliestStart(startDate), startDate, endDate))
+                    .map(OccupancySource::valueOf).orElse(null);
+        }
+
+        if (isDatesBooked(propertyId, bookingId, startDate, endDate)) return OccupancySource.BOOKING;
+        if (isDatesBlocked(propertyId, blockId, startDate, endDate)) return OccupancySource.BLOCK;
+        return null;
+    }
+
+    // Rows of each property come sorted by start date, a candidate only visits the rows starting between its start
+    // minus the longest span and its end. Accepted candidates of a property never overlap each other, so the one
+    // starting last on or before a candidate's end is the only one it can overlap. Rejections are counted like the
+    // ones of single writes, a candidate overlapping the batch is rejected for its own source.
+    private List<String> findConflicts(List<OccupancyChangedEvent> candidates, String batchConflict) {
+        var propertyIds = candidates.stream().map(OccupancyChangedEvent::propertyId).collect(Collectors.toSet());
+        var from = candidates.stream().map(OccupancyChangedEvent::startDate).min(Comparator.naturalOrder()).orElseThrow();
+        var to = candidates.stream().map(OccupancyChangedEvent::endDate).max(Comparator.naturalOrder()).orElseThrow();
+        var occupanciesByProperty = occupancyRepository.findOverlappingAny(propertyIds, earliestStart(from), from, to).stream()
+                .collect(Collectors.groupingBy(Occupancy::getPropertyId));
+
+        var acceptedByProperty = new HashMap<UUID, NavigableMap<LocalDate, LocalDate>>();
+        var conflicts = new ArrayList<String>(candidates.size());
+        for (var candidate : candidates) {
+            var source = findConflict(occupanciesByProperty.getOrDefault(candidate.propertyId(), List.of()), candidate);
+            var conflict = source == null ? null : source == OccupancySource.BOOKING ? "Dates are already booked" : "Dates are already blocked";
+            var accepted = acceptedByProperty.computeIfAbsent(candidate.propertyId(), id -> new TreeMap<>());
+            var previous = accepted.floorEntry(candidate.endDate());
+            if (conflict == null && previous != null && !previous.getValue().isBefore(candidate.startDate())) {
+                source = candidate.source();
+                conflict = batchConflict;
+            }
+
+            if (conflict == null) accepted.put(candidate.startDate(), candidate.endDate());
+            else reservationMetrics.recordRejection(candidate.propertyId().toString(), source);
+            conflicts.add(conflict);
+        }
+        return conflicts;
+    }
+
+    private static OccupancySource findConflict(List<Occupancy> occupancies, OccupancyChangedEvent candidate) {
+        var earliestStart = earliestStart(candidate.startDate());
+        OccupancySource conflict = null;
+        for (var i = startingAfter(occupancies, candidate.endDate()) - 1; i >= 0; i--) {
+            var occupancy = occupancies.get(i);
+            if (occupancy.getStartDate().isBefore(earliestStart)) break;
+            if (occupancy.getEndDate().isBefore(candidate.startDate())) continue;
+            if (occupancy.getSourceType() == OccupancySource.BOOKING) return OccupancySource.BOOKING;
+            conflict = OccupancySource.BLOCK;
+        }
+        return conflict;
+    }
+
+    // No row spans more than MAX_NIGHTS, so none overlapping a range starting on startDate starts before this day.
+    private static LocalDate earliestStart(LocalDate startDate) {
+        return startDate.minusDays(ReservationDates.MAX_NIGHTS);
+    }
+
+    // Index of the first row starting after date.
+    private static int startingAfter(List<Occupancy> occupancies, LocalDate date) {
+        int low = 0, high = occupancies.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (occupancies.get(middle).getStartDate().isAfter(date)) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    private boolean validateWindowSearch(LocalDate after, int nights, int limit) {
+        if (after == null) throw new BadRequestException("After date is required");
+        if (nights < 1 || nights >= MAX_CALENDAR_DAYS) throw new BadRequestException("Invalid number of nights");
+        if (limit < 1 || limit > MAX_WINDOWS) throw new BadRequestException("Invalid limit");
         return true;
     }
+
+    private static void addWindow(List<AvailableWindowDto> windows, LocalDate startDate, LocalDate endDate, int nights) {
+        var length = ChronoUnit.DAYS.between(startDate, endDate);
+        if (length >= nights) windows.add(new AvailableWindowDto(startDate, endDate, length));
+    }
+
+    private void recordOccupancy(OccupancyChangedEvent event) {
+        if (event.active()) {
+            occupancyRepository.upsert(event.sourceId(), event.propertyId(), event.source().name(), event.startDate(), event.endDate());
+        } else {
+            occupancyRepository.deleteBySourceId(event.sourceId());
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    // Rows of a batch are written with one JDBC batch instead of a MERGE per row.
+    private void recordOccupancies(List<OccupancyChangedEvent> events) {
+        if (events.isEmpty()) return;
+        occupancyRepository.upsertAll(events.stream()
+                .map(event -> new Occupancy(event.sourceId(), event.propertyId(), event.source(), event.startDate(), event.endDate()))
+                .toList());
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private boolean isOccupancyMode() {
+        return reservationProperties.getAvailabilityMode() == AvailabilityMode.OCCUPANCY;
+    }
+
+    private UUID toUUID(String id) {
+        return id == null ? null : UUID.fromString(id);
+    }
+
+    private Lock propertyLock(String propertyId) {
+        return propertyLocks[stripe(propertyId)];
+    }
+
+    private int stripe(String propertyId) {
+        var hash = UUID.fromString(propertyId).hashCode();
+        return (hash ^ (hash >>> 16)) & (propertyLocks.length - 1);
+    }
+
+    private static int stripeCount(int lockStripes) {
+        if (lockStripes <= 1) return 1;
+        return Integer.highestOneBit(lockStripes - 1) << 1;
+    }
 }
@@ -0,0 +1,68 @@
+-- Schema previously generated by Hibernate, H2 syntax.
+CREATE TABLE PROPERTY (
+    ID UUID NOT NULL PRIMARY KEY,
+    NAME VARCHAR(255) NOT NULL,
+    VERSION BIGINT DEFAULT 0
+);
+
+CREATE TABLE BOOKING (
+    ID UUID NOT NULL PRIMARY KEY,
+    PROPERTY_ID UUID NOT NULL,
+    START_DATE DATE NOT NULL,
+    END_DATE DATE NOT NULL,
+    STATUS VARCHAR(16) NOT NULL,
+    CREATED_AT DATE NOT NULL,
+    UPDATE_AT DATE,
+    VERSION BIGINT DEFAULT 0,
+    CONSTRAINT FK_BOOKING_PROPERTY FOREIGN KEY (PROPERTY_ID) REFERENCES PROPERTY (ID)
+);
+
+CREATE INDEX IDX_BOOKING_PROPERTY_START ON BOOKING (PROPERTY_ID, START_DATE, ID);
+
+CREATE TABLE GUEST (
+    ID UUID NOT NULL PRIMARY KEY,
+    BOOKING_ID UUID NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    CREATED_AT DATE NOT NULL,
+    UPDATE_AT DATE,
+    VERSION BIGINT DEFAULT 0,
+    CONSTRAINT FK_GUEST_BOOKING FOREIGN KEY (BOOKING_ID) REFERENCES BOOKING (ID)
+);
+
+CREATE TABLE BLOCK (
+    ID UUID NOT NULL PRIMARY KEY,
+    PROPERTY_ID UUID,
+    START_DATE DATE NOT NULL,
+    END_DATE DATE NOT NULL,
+    CREATED_AT DATE NOT NULL,
+    UPDATE_AT DATE,
+    VERSION BIGINT DEFAULT 0,
+    CONSTRAINT FK_BLOCK_PROPERTY FOREIGN KEY (PROPERTY_ID) REFERENCES PROPERTY (ID)
+);
+
+CREATE INDEX IDX_BLOCK_PROPERTY_START ON BLOCK (PROPERTY_ID, START_DATE, ID);
+
+CREATE TABLE OCCUPANCY (
+    SOURCE_ID UUID NOT NULL PRIMARY KEY,
+    PROPERTY_ID UUID NOT NULL,
+    SOURCE_TYPE VARCHAR(16) NOT NULL,
+    START_DATE DATE NOT NULL,
+    END_DATE DATE NOT NULL
+);
+
+CREATE INDEX IDX_OCCUPANCY_PROPERTY_DATES ON OCCUPANCY (PROPERTY_ID, START_DATE, END_DATE);
+
+CREATE TABLE IMPORT_JOB (
+    ID UUID NOT NULL PRIMARY KEY,
+    SOURCE VARCHAR,
+    FORMAT VARCHAR(16) NOT NULL,
+    STATUS VARCHAR(16) NOT NULL,
+    COMMITTED_ROWS BIGINT NOT NULL,
+    IMPORTED_ROWS BIGINT NOT NULL,
+    REJECTED_ROWS BIGINT NOT NULL,
+    ROWS_PER_SECOND DOUBLE PRECISION NOT NULL,
+    STARTED_AT TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    UPDATED_AT TIMESTAMP(6) WITH TIME ZONE,
+    LAST_ERROR VARCHAR,
+    VERSION BIGINT DEFAULT 0
+);
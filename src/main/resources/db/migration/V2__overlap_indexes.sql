@@ -0,0 +1,10 @@
+-- Overlap checks filter on PROPERTY_ID, START_DATE between ? - MAX_NIGHTS and ?, and END_DATE >= ?, and exclude a row
+-- by ID. The seek only uses PROPERTY_ID and START_DATE, the index holds the other columns of the predicates so the
+-- remaining filters are applied to the index entries without reading the rows.
+
+-- H2 has no partial indexes. STATUS comes after END_DATE in the key so it cannot narrow the seek, cancelled bookings
+-- are still visited in the index and only the row lookup is saved.
+-- On PostgreSQL this would be ON BOOKING (PROPERTY_ID, START_DATE, END_DATE) INCLUDE (ID) WHERE STATUS <> 'CANCELLED'.
+CREATE INDEX IDX_BOOKING_OVERLAP ON BOOKING (PROPERTY_ID, START_DATE, END_DATE, STATUS, ID);
+
+CREATE INDEX IDX_BLOCK_OVERLAP ON BLOCK (PROPERTY_ID, START_DATE, END_DATE, ID);
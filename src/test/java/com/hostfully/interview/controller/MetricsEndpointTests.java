@@ -0,0 +1,70 @@
+package com.hostfully.interview.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = "booking.metrics.property-tags=555a2254-e8ff-4005-ada2-4d478b04a5d7")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Sql("classpath:sql/insert-property.sql")
+class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        occupancyRepository.deleteAll();
+        propertyRepository.deleteAll();
+    }
+
+    @Test
+    public void prometheus_BookingRejected_ExposesAvailabilityAndHandlerMetrics() throws Exception {
+        var bookingCreateDto = new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d7", LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 12), List.of(new GuestCreateDTO("John")));
+        var body = objectMapper.writeValueAsString(bookingCreateDto);
+        mockMvc.perform(post("/booking").contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isCreated());
+        mockMvc.perform(post("/booking").contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("booking_availability_rejections_total{property=\"555a2254-e8ff-4005-ada2-4d478b04a5d7\",reason=\"booked\"")))
+                .andExpect(content().string(containsString("booking_availability_check_seconds_bucket{")))
+                .andExpect(content().string(containsString("handler=\"BookingApiController.createProperty\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+}
@@ -0,0 +1,205 @@
+package com.hostfully.interview.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.model.entity.Block;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.Guest;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import com.hostfully.interview.service.BookingService;
+import com.hostfully.interview.service.PropertyService;
+import com.hostfully.interview.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statements per request do not depend on the number of rows, a new N+1 fails these counts. The property cache is
+// cold in each test, tearDown evicts the deleted properties.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = SqlStatementCounter.PROPERTY)
+@AutoConfigureMockMvc
+@Sql("classpath:sql/insert-property.sql")
+class SqlStatementCountTests {
+
+    private static final String PROPERTY_ID = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        var property = propertyRepository.findById(UUID.fromString(PROPERTY_ID)).orElseThrow();
+        var firstDay = LocalDate.of(2023, 1, 1);
+        for (var i = 0; i < BOOKINGS; i++) {
+            var startDate = firstDay.plusDays(i * 10L);
+            var guests = List.of(new Guest(null, "John " + i, firstDay, null), new Guest(null, "Mary " + i, firstDay, null));
+            bookings.add(bookingRepository.save(new Booking(null, property, startDate, startDate.plusDays(3), BookingStatus.CONFIRMED, firstDay, null, new ArrayList<>(guests))));
+            blockRepository.save(new Block(null, property, startDate.plusDays(5), startDate.plusDays(6), firstDay, null));
+        }
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockRepository.deleteAll();
+        bookingRepository.deleteAll();
+        propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
+    }
+
+    @Test
+    void getBookingsByPropertyId_Summaries_TwoStatements() throws Exception {
+        mockMvc.perform(get("/properties/{id}/bookings", PROPERTY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(BOOKINGS)));
+
+        assertEquals(2, SqlStatementCounter.count());
+    }
+
+    @Test
+    void getBookingsByPropertyId_CachedProperty_OneStatement() throws Exception {
+        propertyService.getProperty(PROPERTY_ID);
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/properties/{id}/bookings", PROPERTY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(BOOKINGS)));
+
+        assertEquals(1, SqlStatementCounter.count());
+    }
+
+    @Test
+    void getBookingsByPropertyId_IncludeGuests_ThreeStatements() throws Exception {
+        mockMvc.perform(get("/properties/{id}/bookings", PROPERTY_ID).param("include", "guests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[4].guests", hasSize(2)));
+
+        assertEquals(3, SqlStatementCounter.count());
+    }
+
+    @Test
+    void getBlocksByPropertyId_Summaries_TwoStatements() throws Exception {
+        mockMvc.perform(get("/properties/{id}/blocks", PROPERTY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(BOOKINGS)));
+
+        assertEquals(2, SqlStatementCounter.count());
+    }
+
+    @Test
+    void getAllProperties_Page_OneStatement() throws Exception {
+        mockMvc.perform(get("/properties"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, SqlStatementCounter.count());
+    }
+
+    @Test
+    void getBooking_Detail_TwoStatements() throws Exception {
+        mockMvc.perform(get("/booking/{id}", bookings.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("guests", hasSize(2)));
+
+        assertEquals(2, SqlStatementCounter.count());
+    }
+
+    @Test
+    void getBookingsByPropertyId_SerializedEntities_GuestsFetchedWithBookings() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                objectMapper.writeValueAsString(bookingService.getBookingsByPropertyId(PROPERTY_ID));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(2, SqlStatementCounter.count());
+    }
+
+    @Test
+    void createBooking_UncachedProperty_OneStatementBeforeInsert() throws Exception {
+        postBooking();
+
+        var statements = SqlStatementCounter.statements();
+        var insert = indexOf(statements, "insert into booking");
+        assertEquals(1, insert);
+        assertTrue(statements.get(0).toLowerCase().contains("from block"));
+    }
+
+    @Test
+    void createBooking_CachedProperty_PropertyNotRead() throws Exception {
+        propertyService.getProperty(PROPERTY_ID);
+        SqlStatementCounter.reset();
+
+        postBooking();
+
+        assertEquals(-1, indexOf(SqlStatementCounter.statements(), " from property "));
+    }
+
+    private void postBooking() throws Exception {
+        var bookingCreateDto = new BookingCreateDto(PROPERTY_ID, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 5), List.of(new GuestCreateDTO("John")));
+        mockMvc.perform(post("/booking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingCreateDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("property.name").exists());
+    }
+
+    private static int indexOf(List<String> statements, String fragment) {
+        for (var i = 0; i < statements.size(); i++) {
+            if (statements.get(i).toLowerCase().contains(fragment)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,119 @@
+package com.hostfully.interview.controller;
+
+import com.hostfully.interview.BookingApplication;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with ./gradlew benchmark on Java 21 or later to include virtual threads. -Dbenchmark.clients, -Dbenchmark.requests
+// and -Dbenchmark.pool-size change the number of concurrent clients, the requests sent and the connection pool size.
+@Tag("benchmark")
+class ThreadingBenchmarkTests {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 50_000);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 10);
+    private static final int PROPERTIES = 500;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    @Test
+    void bookingRequests_PlatformAndVirtualThreads_ReportsThroughputAndLatency() throws Exception {
+        var platform = run(false);
+        System.out.printf("Platform threads, %d clients, pool of %d: %s%n", CLIENTS, POOL_SIZE, platform);
+        assertTrue(platform.successful() > 0);
+
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21");
+        var virtual = run(true);
+        System.out.printf("Virtual threads, %d clients, pool of %d: %s%n", CLIENTS, POOL_SIZE, virtual);
+        assertTrue(virtual.successful() > 0);
+    }
+
+    // Every other request creates a booking on the next free dates of a property, the others list its bookings.
+    private Result run(boolean virtualThreads) throws Exception {
+        try (var context = new SpringApplicationBuilder(BookingApplication.class).properties(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.url=jdbc:h2:mem:threads-" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "server.tomcat.max-connections=" + (CLIENTS * 2),
+                "booking.reservation.portfolio-index=false").run()) {
+            var propertyIds = new ArrayList<UUID>();
+            var rows = new ArrayList<Object[]>();
+            for (var i = 0; i < PROPERTIES; i++) {
+                propertyIds.add(UUID.randomUUID());
+                rows.add(new Object[]{propertyIds.get(i), "property " + i});
+            }
+            context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", rows);
+
+            var baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            var requests = new ArrayList<HttpRequest>(REQUESTS);
+            for (var i = 0; i < REQUESTS; i++) requests.add(request(baseUri, propertyIds, i));
+
+            var latencies = new long[REQUESTS];
+            var successful = new AtomicInteger();
+            var next = new AtomicInteger();
+            var clients = Executors.newFixedThreadPool(CLIENTS);
+            var start = System.nanoTime();
+            for (var c = 0; c < CLIENTS; c++) {
+                clients.execute(() -> {
+                    for (var i = next.getAndIncrement(); i < REQUESTS; i = next.getAndIncrement()) {
+                        var begin = System.nanoTime();
+                        try {
+                            var status = client.send(requests.get(i), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status < 300) successful.incrementAndGet();
+                        } catch (Exception e) {
+                            // Counted as a failure.
+                        }
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                });
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(30, TimeUnit.MINUTES));
+            var seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            return new Result(REQUESTS / seconds, latencies[REQUESTS / 2] / 1_000_000.0, latencies[REQUESTS * 99 / 100] / 1_000_000.0, successful.get());
+        }
+    }
+
+    private static HttpRequest request(String baseUri, List<UUID> propertyIds, int index) {
+        var propertyId = propertyIds.get(index % PROPERTIES);
+        if (index % 2 == 1) {
+            return HttpRequest.newBuilder(URI.create(baseUri + "/properties/" + propertyId + "/bookings?limit=20")).GET().build();
+        }
+        var startDate = FIRST_DAY.plusDays(index / PROPERTIES * 5L);
+        var body = """
+                {"propertyId":"%s","startDate":"%s","endDate":"%s","guests":[{"name":"Guest %d"}]}"""
+                .formatted(propertyId, startDate, startDate.plusDays(2), index);
+        return HttpRequest.newBuilder(URI.create(baseUri + "/booking"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int successful) {
+        @Override
+        public String toString() {
+            return "%.0f requests/s, p50 %.1f ms, p99 %.1f ms, %d of %d successful".formatted(throughput, p50Millis, p99Millis, successful, REQUESTS);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hostfully.interview.controller.block;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.model.dto.BlockBulkCreateDto;
 import com.hostfully.interview.model.dto.BlockCreateDto;
 import com.hostfully.interview.model.dto.BookingCreateDto;
 import com.hostfully.interview.model.dto.BookingUpdateDto;
@@ -9,6 +10,7 @@ import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.BookingStatus;
 import com.hostfully.interview.repository.BlockRepository;
 import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
 import com.hostfully.interview.repository.PropertyRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -42,6 +44,9 @@ class BlockApiControllerTests {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
     @Autowired
     private BlockRepository blockRepository;
 
@@ -55,6 +60,7 @@ class BlockApiControllerTests {
         blockRepository.deleteAll();
         bookingRepository.deleteAll();
         propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
     }
 
     @Test
@@ -221,6 +227,29 @@ class BlockApiControllerTests {
     }
 
 
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void createBlocks_ManyPropertiesAndRanges_ReportsConflicts() throws Exception {
+        createBlock();
+        var bulk = new BlockBulkCreateDto(false,
+                List.of("555a2254-e8ff-4005-ada2-4d478b04a5d7", "555a2254-e8ff-4005-ada2-4d478b04a5d8"),
+                List.of(new BlockCreateDto(LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 12)), new BlockCreateDto(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 5))));
+
+        mockMvc.perform(post("/block/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulk))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created", is(3)))
+                .andExpect(jsonPath("items[0].status", is("REJECTED")))
+                .andExpect(jsonPath("items[0].message", is("Dates are already blocked")))
+                .andExpect(jsonPath("items[1].status", is("CREATED")))
+                .andExpect(jsonPath("items[2].status", is("CREATED")))
+                .andExpect(jsonPath("items[3].status", is("CREATED")));
+
+        assertEquals(4, blockRepository.count());
+    }
+
     private Booking createBlock() throws Exception {
         var startDate = LocalDate.of(2023, 1, 5);
         var endDate = LocalDate.of(2023, 1, 15);
@@ -2,6 +2,7 @@ package com.hostfully.interview.controller.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.model.dto.BookingBatchCreateDto;
 import com.hostfully.interview.model.dto.BookingCreateDto;
 import com.hostfully.interview.model.dto.BookingUpdateDto;
 import com.hostfully.interview.model.dto.GuestCreateDTO;
@@ -9,6 +10,7 @@ import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.BookingStatus;
 import com.hostfully.interview.repository.BlockRepository;
 import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
 import com.hostfully.interview.repository.PropertyRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -41,6 +43,9 @@ class BookingApiControllerTests {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
     @Autowired
     private BlockRepository blockRepository;
 
@@ -54,6 +59,7 @@ class BookingApiControllerTests {
         blockRepository.deleteAll();
         bookingRepository.deleteAll();
         propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
     }
 
     @Test
@@ -395,7 +401,9 @@ class BookingApiControllerTests {
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("id", is(booking.getId().toString())))
-                .andExpect(jsonPath("status", is(BookingStatus.CONFIRMED.toString())));
+                .andExpect(jsonPath("status", is(BookingStatus.CONFIRMED.toString())))
+                .andExpect(jsonPath("property.id", is(booking.getProperty().getId().toString())))
+                .andExpect(jsonPath("guests[0].name", is(booking.getGuests().get(0).getName())));
     }
 
     @Test
@@ -535,6 +543,54 @@ class BookingApiControllerTests {
                 .andExpect(jsonPath("message", is("Dates are already booked")));
     }
 
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void createBookings_PartialBatch_CreatesNonOverlappingBookings() throws Exception {
+        createBooking();
+        var batch = new BookingBatchCreateDto(false, List.of(
+                new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d7", LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20), guests),
+                new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d8", LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20), guests),
+                new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d8", LocalDate.of(2023, 1, 20), LocalDate.of(2023, 1, 25), guests),
+                new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d9", LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20), guests)));
+
+        mockMvc.perform(post("/booking/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created", is(2)))
+                .andExpect(jsonPath("items[0].status", is("REJECTED")))
+                .andExpect(jsonPath("items[0].message", is("Dates are already booked")))
+                .andExpect(jsonPath("items[1].status", is("CREATED")))
+                .andExpect(jsonPath("items[1].bookingId").isNotEmpty())
+                .andExpect(jsonPath("items[2].status", is("REJECTED")))
+                .andExpect(jsonPath("items[2].message", is("Dates overlap another booking of the batch")))
+                .andExpect(jsonPath("items[3].status", is("CREATED")));
+
+        Assertions.assertEquals(3, bookingRepository.count());
+        Assertions.assertEquals(3, occupancyRepository.count());
+    }
+
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void createBookings_AtomicBatchWithConflict_CreatesNothing() throws Exception {
+        createBooking();
+        var batch = new BookingBatchCreateDto(true, List.of(
+                new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d8", LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20), guests),
+                new BookingCreateDto("555a2254-e8ff-4005-ada2-4d478b04a5d7", LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20), guests)));
+
+        mockMvc.perform(post("/booking/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created", is(0)))
+                .andExpect(jsonPath("items[0].status", is("ABORTED")))
+                .andExpect(jsonPath("items[1].status", is("REJECTED")));
+
+        Assertions.assertEquals(1, bookingRepository.count());
+    }
+
     private Booking createBooking() throws Exception {
         var startDate = LocalDate.of(2023, 1, 5);
         var endDate = LocalDate.of(2023, 1, 15);
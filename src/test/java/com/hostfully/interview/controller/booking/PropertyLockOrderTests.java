@@ -0,0 +1,79 @@
+package com.hostfully.interview.controller.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.BookingUpdateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// An update reads its booking before it knows which property lock to take, a create takes the lock first. A request
+// holding its connection while waiting for the lock starves the lock holder of one with a pool this small, both wait
+// until the connection timeout and the requests fail with 503.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.datasource.url=jdbc:h2:mem:lock-order",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000"})
+@AutoConfigureMockMvc
+@Sql("classpath:sql/insert-property.sql")
+class PropertyLockOrderTests {
+
+    private static final String PROPERTY_ID = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+    private static final int BOOKINGS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void updateAndCreateBooking_ConcurrentOnOnePropertyWithSmallPool_AllSucceed() throws Exception {
+        var tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            var startDate = LocalDate.of(2024, 1, 1).plusDays(10L * i);
+            var bookingId = bookingService.createBooking(new BookingCreateDto(PROPERTY_ID, startDate, startDate.plusDays(2), List.of(new GuestCreateDTO("John")))).getId();
+            // Each booking moves by one day inside its own free slot, each create takes a slot of the next year
+            var update = new BookingUpdateDto(startDate.plusDays(1), startDate.plusDays(3));
+            var create = new BookingCreateDto(PROPERTY_ID, startDate.plusYears(1), startDate.plusYears(1).plusDays(2), List.of(new GuestCreateDTO("Mary")));
+            tasks.add(() -> mockMvc.perform(put("/booking/{id}", bookingId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+                    .andReturn().getResponse().getStatus());
+            tasks.add(() -> mockMvc.perform(post("/booking")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(create)))
+                    .andReturn().getResponse().getStatus());
+        }
+
+        var executor = Executors.newFixedThreadPool(tasks.size());
+        var futures = executor.invokeAll(tasks);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i % 2 == 0 ? 200 : 201, futures.get(i).get());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.BookingStatus;
 import com.hostfully.interview.model.entity.Guest;
 import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
 import com.hostfully.interview.repository.PropertyRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,9 @@ class GuestApiControllerTests {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,6 +51,7 @@ class GuestApiControllerTests {
     void setUp() {
         bookingRepository.deleteAll();
         propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
     }
 
     @Test
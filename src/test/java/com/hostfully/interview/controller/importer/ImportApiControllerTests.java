@@ -0,0 +1,126 @@
+package com.hostfully.interview.controller.importer;
+
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.GuestRepository;
+import com.hostfully.interview.repository.ImportJobRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+class ImportApiControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @AfterEach
+    void setUp() {
+        blockRepository.deleteAll();
+        bookingRepository.deleteAll();
+        propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
+        importJobRepository.deleteAll();
+    }
+
+    @Test
+    @Sql("/sql/insert-property.sql")
+    public void importRows_NdjsonRows_ImportsValidRowsAndRejectsOthers() throws Exception {
+        var rows = """
+                {"type":"BOOKING","propertyId":"555a2254-e8ff-4005-ada2-4d478b04a5d7","startDate":"2023-01-10","endDate":"2023-01-20","guests":[{"name":"John"}]}
+                {"type":"BLOCK","propertyId":"555a2254-e8ff-4005-ada2-4d478b04a5d8","startDate":"2023-01-10","endDate":"2023-01-20"}
+
+                {"type":"BLOCK","propertyId":"555a2254-e8ff-4005-ada2-4d478b04a5d7","startDate":"2023-01-15","endDate":"2023-01-25"}
+                {"type":"BOOKING","propertyId":"555a2254-e8ff-4005-ada2-4d478b04a5d9","startDate":"2023-01-20","endDate":"2023-01-10","guests":[{"name":"John"}]}
+                not json
+                """;
+
+        var response = mockMvc.perform(post("/import")
+                        .param("format", "ndjson")
+                        .content(rows))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status", is("COMPLETED")))
+                .andExpect(jsonPath("committedRows", is(5)))
+                .andExpect(jsonPath("importedRows", is(2)))
+                .andExpect(jsonPath("rejectedRows", is(3)))
+                .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertEquals(1, bookingRepository.count());
+        Assertions.assertEquals(1, blockRepository.count());
+        Assertions.assertEquals(2, occupancyRepository.count());
+
+        var jobId = importJobRepository.findAll().get(0).getId();
+        Assertions.assertTrue(response.contains(jobId.toString()));
+        mockMvc.perform(get("/import/{id}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status", is("COMPLETED")))
+                .andExpect(jsonPath("committedRows", is(5)));
+    }
+
+    @Test
+    @Sql("/sql/insert-property.sql")
+    public void importRows_CsvRows_ImportsRows() throws Exception {
+        var rows = """
+                type,propertyId,startDate,endDate,guests
+                BOOKING,555a2254-e8ff-4005-ada2-4d478b04a5d7,2023-01-10,2023-01-20,John;"Smith, Jane"
+                BLOCK,555a2254-e8ff-4005-ada2-4d478b04a5d8,2023-01-10,2023-01-20,
+                """;
+
+        mockMvc.perform(post("/import")
+                        .param("format", "csv")
+                        .content(rows))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status", is("COMPLETED")))
+                .andExpect(jsonPath("importedRows", is(2)))
+                .andExpect(jsonPath("rejectedRows", is(0)));
+
+        Assertions.assertEquals(1, bookingRepository.count());
+        Assertions.assertEquals(2, guestRepository.count());
+        Assertions.assertEquals(1, blockRepository.count());
+    }
+
+    @Test
+    public void importRows_InvalidFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/import")
+                        .param("format", "xml")
+                        .content("<bookings/>"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Format must be ndjson or csv")));
+    }
+
+    @Test
+    public void getImportJob_InvalidId_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/import/{id}", "invalid-id"))
+                .andExpect(status().isBadRequest());
+    }
+}
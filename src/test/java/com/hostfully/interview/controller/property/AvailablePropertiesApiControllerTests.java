@@ -0,0 +1,121 @@
+package com.hostfully.interview.controller.property;
+
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.model.dto.PropertyCreateDto;
+import com.hostfully.interview.model.entity.Property;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import com.hostfully.interview.service.BookingService;
+import com.hostfully.interview.service.PropertyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Own context: the portfolio index only sees writes made through the services, other tests clean up with repositories.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = "booking.reservation.portfolio-index=true")
+@AutoConfigureMockMvc
+class AvailablePropertiesApiControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @AfterEach
+    void setUp() {
+        bookingRepository.findAll().forEach(booking -> bookingService.deleteBooking(booking.getId().toString()));
+        propertyRepository.findAll().forEach(property -> propertyService.deleteProperty(property.getId().toString()));
+    }
+
+    @Test
+    public void getAvailableProperties_OneBookedProperty_ReturnsOthers() throws Exception {
+        var booked = propertyService.createProperty(new PropertyCreateDto("property1"));
+        var second = propertyService.createProperty(new PropertyCreateDto("property2"));
+        var third = propertyService.createProperty(new PropertyCreateDto("property3"));
+        createBooking(booked, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15));
+
+        mockMvc.perform(get("/properties/available")
+                        .param("from", "2023-01-15")
+                        .param("to", "2023-01-20")
+                        .param("count", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(second.getId().toString())))
+                .andExpect(jsonPath("$[1].id", is(third.getId().toString())));
+
+        var cursor = mockMvc.perform(get("/properties/available")
+                        .param("from", "2023-01-16")
+                        .param("to", "2023-01-20")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/properties/available")
+                        .param("from", "2023-01-16")
+                        .param("to", "2023-01-20")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(third.getId().toString())));
+    }
+
+    @Test
+    public void getAvailableProperties_BookingDeleted_ReturnsProperty() throws Exception {
+        var property = propertyService.createProperty(new PropertyCreateDto("property1"));
+        var bookingId = createBooking(property, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15));
+        bookingService.deleteBooking(bookingId.toString());
+
+        mockMvc.perform(get("/properties/available")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-01-31")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(property.getId().toString())));
+    }
+
+    @Test
+    public void getAvailableProperties_FromAfterTo_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/properties/available")
+                        .param("from", "2023-01-20")
+                        .param("to", "2023-01-15")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("From date must not be after to date")));
+    }
+
+    private UUID createBooking(Property property, LocalDate startDate, LocalDate endDate) {
+        return bookingService.createBooking(new BookingCreateDto(property.getId().toString(), startDate, endDate, List.of(new GuestCreateDTO("John")))).getId();
+    }
+}
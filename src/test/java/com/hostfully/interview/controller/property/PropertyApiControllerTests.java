@@ -1,8 +1,15 @@
 package com.hostfully.interview.controller.property;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
 import com.hostfully.interview.model.dto.PropertyCreateDto;
+import com.hostfully.interview.model.entity.Booking;
 import com.hostfully.interview.model.entity.Property;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
 import com.hostfully.interview.repository.PropertyRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -15,8 +22,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,12 +41,24 @@ class PropertyApiControllerTests {
     @Autowired
     private PropertyRepository propertyRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @AfterEach
     void setUp() {
+        bookingRepository.deleteAll();
+        blockRepository.deleteAll();
         propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
     }
 
     @Test
@@ -208,4 +230,240 @@ class PropertyApiControllerTests {
                 .andExpect(jsonPath("message", is("Property name is required")));
 
     }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void getAvailabilityCalendar_BookingAndBlock_ReturnsRanges() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        var bookingCreateDto = new BookingCreateDto(propertyId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), List.of(new GuestCreateDTO("John")));
+        mockMvc.perform(post("/booking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingCreateDto)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/property/{id}/block", propertyId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BlockCreateDto(LocalDate.of(2023, 1, 20), LocalDate.of(2023, 1, 25)))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/properties/{id}/availability", propertyId)
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-01-31")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("propertyId", is(propertyId)))
+                .andExpect(jsonPath("ranges", hasSize(5)))
+                .andExpect(jsonPath("ranges[0].status", is("FREE")))
+                .andExpect(jsonPath("ranges[0].endDate", is("2023-01-04")))
+                .andExpect(jsonPath("ranges[1].status", is("BOOKED")))
+                .andExpect(jsonPath("ranges[1].startDate", is("2023-01-05")))
+                .andExpect(jsonPath("ranges[1].endDate", is("2023-01-15")))
+                .andExpect(jsonPath("ranges[3].status", is("BLOCKED")))
+                .andExpect(jsonPath("ranges[4].startDate", is("2023-01-26")))
+                .andExpect(jsonPath("ranges[4].endDate", is("2023-01-31")));
+    }
+
+    @Test
+    public void getAvailabilityCalendar_UnknownProperty_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/properties/{id}/availability", UUID.randomUUID())
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-01-31")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Bad Request")));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void getAvailableWindows_BookedProperty_ReturnsGapAfterBooking() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        var bookingCreateDto = new BookingCreateDto(propertyId, LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 15), List.of(new GuestCreateDTO("John")));
+        mockMvc.perform(post("/booking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingCreateDto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/properties/{id}/available-windows", propertyId)
+                        .param("after", "2023-01-01")
+                        .param("nights", "7")
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].startDate", is("2023-01-16")));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void exportBookingsByPropertyId_Ndjson_WritesOneBookingPerLine() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        createBooking(propertyId, LocalDate.of(2023, 1, 20), LocalDate.of(2023, 1, 25), List.of(new GuestCreateDTO("Jane")));
+        createBooking(propertyId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), List.of(new GuestCreateDTO("John"), new GuestCreateDTO("Mary")));
+
+        var result = mockMvc.perform(get("/properties/{id}/bookings/export", propertyId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        Assertions.assertEquals(2, lines.length);
+        var first = objectMapper.readValue(lines[0], Booking.class);
+        Assertions.assertEquals(LocalDate.of(2023, 1, 5), first.getStartDate());
+        Assertions.assertEquals(2, first.getGuests().size());
+        Assertions.assertEquals(propertyId, first.getProperty().getId().toString());
+        Assertions.assertEquals("Jane", objectMapper.readValue(lines[1], Booking.class).getGuests().get(0).getName());
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void exportBookingsByPropertyId_Json_WritesArray() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        createBooking(propertyId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), List.of(new GuestCreateDTO("John")));
+
+        var result = mockMvc.perform(get("/properties/{id}/bookings/export", propertyId).param("format", "json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].status", is("CONFIRMED")))
+                .andExpect(jsonPath("$[0].guests[0].name", is("John")));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void exportBookingsByPropertyId_InvalidFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/properties/{id}/bookings/export", "555a2254-e8ff-4005-ada2-4d478b04a5d7").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Format must be ndjson or json")));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void getBookingsByPropertyId_LimitBelowTotal_FollowsCursorToLastPage() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        createBooking(propertyId, LocalDate.of(2023, 1, 20), LocalDate.of(2023, 1, 25), List.of(new GuestCreateDTO("Jane")));
+        createBooking(propertyId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 10), List.of(new GuestCreateDTO("John")));
+        createBooking(propertyId, LocalDate.of(2023, 1, 12), LocalDate.of(2023, 1, 15), List.of(new GuestCreateDTO("Mary")));
+
+        var cursor = mockMvc.perform(get("/properties/{id}/bookings", propertyId)
+                        .param("limit", "2")
+                        .param("count", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].startDate", is("2023-01-05")))
+                .andExpect(jsonPath("$[1].startDate", is("2023-01-12")))
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/properties/{id}/bookings", propertyId)
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].startDate", is("2023-01-20")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist("X-Total-Count"));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void getBookingsByPropertyId_DateAndStatusFilters_ReturnsMatchingBookings() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        createBooking(propertyId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 10), List.of(new GuestCreateDTO("John")));
+        createBooking(propertyId, LocalDate.of(2023, 2, 5), LocalDate.of(2023, 2, 10), List.of(new GuestCreateDTO("Mary")));
+
+        mockMvc.perform(get("/properties/{id}/bookings", propertyId)
+                        .param("from", "2023-01-10")
+                        .param("to", "2023-01-31")
+                        .param("status", "confirmed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].startDate", is("2023-01-05")));
+
+        mockMvc.perform(get("/properties/{id}/bookings", propertyId)
+                        .param("status", "CANCELLED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void getBookingsByPropertyId_IncludeGuests_ReturnsSummariesWithGuests() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        createBooking(propertyId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 10), List.of(new GuestCreateDTO("John"), new GuestCreateDTO("Mary")));
+        createBooking(propertyId, LocalDate.of(2023, 1, 12), LocalDate.of(2023, 1, 15), List.of(new GuestCreateDTO("Jane")));
+
+        mockMvc.perform(get("/properties/{id}/bookings", propertyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].propertyId", is(propertyId)))
+                .andExpect(jsonPath("$[0].property").doesNotExist())
+                .andExpect(jsonPath("$[0].guests").doesNotExist());
+
+        mockMvc.perform(get("/properties/{id}/bookings", propertyId)
+                        .param("include", "guests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].guests", hasSize(2)))
+                .andExpect(jsonPath("$[1].guests", hasSize(1)))
+                .andExpect(jsonPath("$[1].guests[0].name", is("Jane")));
+
+        mockMvc.perform(get("/properties/{id}/bookings", propertyId)
+                        .param("include", "property"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Invalid include")));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void getBookingsByPropertyId_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/properties/{id}/bookings", "555a2254-e8ff-4005-ada2-4d478b04a5d7")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", is("Invalid cursor")));
+    }
+
+    @Test
+    @Sql("classpath:sql/insert-property.sql")
+    public void getBlocksByPropertyId_FromFilter_ReturnsBlocksEndingAfter() throws Exception {
+        var propertyId = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+        for (var startDate : List.of(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 2, 5))) {
+            mockMvc.perform(post("/property/{id}/block", propertyId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BlockCreateDto(startDate, startDate.plusDays(3)))))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/properties/{id}/blocks", propertyId)
+                        .param("from", "2023-01-09"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].startDate", is("2023-02-05")));
+    }
+
+    @Test
+    @Sql("classpath:/sql/insert-property.sql")
+    public void getAllProperties_Limit_ReturnsPageAndCursor() throws Exception {
+        var cursor = mockMvc.perform(get("/properties")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/properties")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .param("count", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Total-Count", "3"));
+    }
+
+    private void createBooking(String propertyId, LocalDate startDate, LocalDate endDate, List<GuestCreateDTO> guests) throws Exception {
+        mockMvc.perform(post("/booking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingCreateDto(propertyId, startDate, endDate, guests))))
+                .andExpect(status().isCreated());
+    }
 }
@@ -0,0 +1,129 @@
+package com.hostfully.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.model.dto.ExportFormat;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.repository.PropertyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with ./gradlew benchmark, -Dbenchmark.bookings=N changes the data set size.
+@Tag("benchmark")
+@SpringBootTest(properties = "booking.reservation.portfolio-index=false")
+class BookingExportBenchmarkTests {
+
+    private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 1_000_000);
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UUID propertyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", propertyId, "benchmark");
+        var firstDay = LocalDate.of(2000, 1, 1);
+        var batch = 10_000;
+        for (var from = 0; from < BOOKINGS; from += batch) {
+            var bookings = new ArrayList<Object[]>(batch);
+            var guests = new ArrayList<Object[]>(batch);
+            for (var i = from; i < Math.min(from + batch, BOOKINGS); i++) {
+                var bookingId = UUID.randomUUID();
+                var startDate = firstDay.plusDays(i * 2L);
+                bookings.add(new Object[]{bookingId, propertyId, startDate, startDate.plusDays(1), BookingStatus.CONFIRMED.name(), firstDay});
+                guests.add(new Object[]{UUID.randomUUID(), "Guest " + i, firstDay, bookingId});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO BOOKING(ID, PROPERTY_ID, START_DATE, END_DATE, STATUS, CREATED_AT, VERSION) VALUES (?, ?, ?, ?, ?, ?, 0)", bookings);
+            jdbcTemplate.batchUpdate("INSERT INTO GUEST(ID, NAME, CREATED_AT, BOOKING_ID, VERSION) VALUES (?, ?, ?, ?, 0)", guests);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM GUEST");
+        jdbcTemplate.update("DELETE FROM BOOKING");
+        jdbcTemplate.update("DELETE FROM PROPERTY");
+    }
+
+    @Test
+    void exportBookings_1MBookings_ReportsPeakHeap() throws Exception {
+        var property = propertyRepository.findById(propertyId).orElseThrow();
+
+        var streamingOut = new CountingOutputStream();
+        var streamingPeak = peakHeapDuring(() -> assertEquals(BOOKINGS, bookingExportService.exportBookings(property, ExportFormat.JSON, streamingOut)));
+
+        var listOut = new CountingOutputStream();
+        var listPeak = peakHeapDuring(() -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                objectMapper.writeValue(listOut, bookingService.getBookingsByPropertyId(propertyId.toString()));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+
+        System.out.printf("Export of %d bookings: streaming %d MB peak heap, list %d MB peak heap, %d MB written%n",
+                BOOKINGS, streamingPeak >> 20, listPeak >> 20, streamingOut.count >> 20);
+        assertEquals(streamingOut.count, listOut.count);
+        assertTrue(streamingPeak < listPeak);
+    }
+
+    // Heap used above the post-GC baseline, summed over the peaks of each heap pool.
+    private long peakHeapDuring(ThrowingRunnable action) throws Exception {
+        var pools = ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        System.gc();
+        var baseline = pools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        action.run();
+        return pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() - baseline;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hostfully.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with ./gradlew benchmark, compares one page of entity serialization with the summary projections.
+@Tag("benchmark")
+@SpringBootTest(properties = {"booking.reservation.portfolio-index=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+class BookingListingBenchmarkTests {
+
+    private static final int BOOKINGS = 1000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID propertyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", propertyId, "benchmark");
+        var firstDay = LocalDate.of(2000, 1, 1);
+        var bookings = new ArrayList<Object[]>();
+        var guests = new ArrayList<Object[]>();
+        for (var i = 0; i < BOOKINGS; i++) {
+            var bookingId = UUID.randomUUID();
+            var startDate = firstDay.plusDays(i * 2L);
+            bookings.add(new Object[]{bookingId, propertyId, startDate, startDate.plusDays(1), BookingStatus.CONFIRMED.name(), firstDay});
+            guests.add(new Object[]{UUID.randomUUID(), "Guest " + i, firstDay, bookingId});
+            guests.add(new Object[]{UUID.randomUUID(), "Second guest " + i, firstDay, bookingId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO BOOKING(ID, PROPERTY_ID, START_DATE, END_DATE, STATUS, CREATED_AT, VERSION) VALUES (?, ?, ?, ?, ?, ?, 0)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO GUEST(ID, NAME, CREATED_AT, BOOKING_ID, VERSION) VALUES (?, ?, ?, ?, 0)", guests);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM GUEST");
+        jdbcTemplate.update("DELETE FROM BOOKING");
+        jdbcTemplate.update("DELETE FROM PROPERTY");
+    }
+
+    @Test
+    void listBookings_EntitiesAndProjections_ReportsStatementsAndAllocations() {
+        var entities = measure("entities", () -> {
+            var property = propertyRepository.findById(propertyId).orElseThrow();
+            return bookingRepository.findAllByProperty(property);
+        });
+        var summaries = measure("summaries", () -> bookingService.findBookingsByPropertyId(propertyId.toString(), null, null, null, null, null, BOOKINGS, false).getContent());
+        var summariesWithGuests = measure("summaries with guests", () -> bookingService.findBookingsByPropertyId(propertyId.toString(), null, null, null, "guests", null, BOOKINGS, false).getContent());
+
+        assertTrue(entities.statements() <= 2);
+        assertTrue(summaries.statements() <= 2);
+        assertTrue(summariesWithGuests.statements() <= 3);
+        assertTrue(summariesWithGuests.allocatedBytes() < entities.allocatedBytes());
+    }
+
+    // Reads and serializes in one transaction, as open-session-in-view does for the entity listing.
+    private Result measure(String name, Supplier<Object> listing) {
+        var statistics = statistics();
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        statistics.clear();
+        var allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        var bytes = transactionTemplate.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(listing.get()).length;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        var result = new Result(statistics.getPrepareStatementCount(), threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+        System.out.printf("Listing %d bookings as %s: %d statements, %d KB allocated, %d KB written%n",
+                BOOKINGS, name, result.statements(), result.allocatedBytes() >> 10, bytes >> 10);
+        return result;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private record Result(long statements, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.model.entity.ImportJobStatus;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.ImportJobRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Binds an EntityManager around the import like the open in view interceptor does for POST /import.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "booking.import.chunk-size=50")
+class ImportPersistenceContextTests {
+
+    private static final String PROPERTY_ID = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @AfterEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        blockRepository.deleteAll();
+        propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
+        importJobRepository.deleteAll();
+    }
+
+    @Test
+    @Sql("/sql/insert-property.sql")
+    public void importRows_ManyChunksInOneRequest_PersistenceContextStaysSmall() {
+        var rows = new StringBuilder();
+        var startDate = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < 1_000; i++) {
+            var type = i % 5 == 0 ? "BLOCK" : "BOOKING";
+            rows.append("{\"type\":\"").append(type).append("\",\"propertyId\":\"").append(PROPERTY_ID)
+                    .append("\",\"startDate\":\"").append(startDate.plusDays(2L * i))
+                    .append("\",\"endDate\":\"").append(startDate.plusDays(2L * i + 1))
+                    .append("\",\"guests\":[{\"name\":\"John\"}]}\n");
+        }
+
+        var entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            var job = importService.importRows(new ByteArrayInputStream(rows.toString().getBytes(StandardCharsets.UTF_8)), "ndjson", null);
+
+            assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+            assertEquals(1_000, job.getImportedRows());
+            // 20 chunks of 50 rows saved 800 bookings, 800 guests and 200 blocks, only the job is left
+            assertTrue(entityManager.unwrap(Session.class).getStatistics().getEntityCount() <= 1);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// H2 prints the index conditions of a plan as /* PUBLIC.INDEX: CONDITIONS */. A listing page must seek on the
+// start date, not scan every row of the property and filter the cursor and from date afterwards.
+@SpringBootTest(properties = SqlStatementCounter.PROPERTY)
+class ListingQueryPlanTests {
+
+    private static final Pattern START_DATE_SEEK = Pattern.compile("/\\* PUBLIC\\.IDX_\\w+: PROPERTY_ID = \\?\\d+ AND START_DATE >= [^*]*\\*/");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BlockService blockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID propertyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", propertyId, "plan");
+        var firstDay = LocalDate.of(2023, 1, 1);
+        var bookings = new ArrayList<Object[]>();
+        var blocks = new ArrayList<Object[]>();
+        for (var i = 0; i < 10; i++) {
+            var startDate = firstDay.plusDays(i * 4L);
+            bookings.add(new Object[]{UUID.randomUUID(), propertyId, startDate, startDate.plusDays(1), BookingStatus.CONFIRMED.name(), firstDay});
+            blocks.add(new Object[]{UUID.randomUUID(), propertyId, startDate.plusDays(2), startDate.plusDays(3), firstDay});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO BOOKING(ID, PROPERTY_ID, START_DATE, END_DATE, STATUS, CREATED_AT, VERSION) VALUES (?, ?, ?, ?, ?, ?, 0)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO BLOCK(ID, PROPERTY_ID, START_DATE, END_DATE, CREATED_AT, VERSION) VALUES (?, ?, ?, ?, ?, 0)", blocks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM BOOKING WHERE PROPERTY_ID = ?", propertyId);
+        jdbcTemplate.update("DELETE FROM BLOCK WHERE PROPERTY_ID = ?", propertyId);
+        jdbcTemplate.update("DELETE FROM PROPERTY WHERE ID = ?", propertyId);
+    }
+
+    @Test
+    void findBookingsByPropertyId_NextPage_SeeksOnStartDate() {
+        var firstPage = bookingService.findBookingsByPropertyId(propertyId.toString(), null, null, null, null, null, 2, false);
+
+        SqlStatementCounter.reset();
+        bookingService.findBookingsByPropertyId(propertyId.toString(), null, null, null, null, firstPage.getNextCursor(), 2, false);
+
+        assertSeeksOnStartDate("booking");
+    }
+
+    @Test
+    void findBookingsByPropertyId_From_SeeksOnStartDate() {
+        SqlStatementCounter.reset();
+        bookingService.findBookingsByPropertyId(propertyId.toString(), LocalDate.of(2023, 1, 20), null, null, null, null, 2, false);
+
+        assertSeeksOnStartDate("booking");
+    }
+
+    @Test
+    void findBlocksByPropertyId_NextPage_SeeksOnStartDate() {
+        var firstPage = blockService.findBlocksByPropertyId(propertyId.toString(), null, null, null, 2, false);
+
+        SqlStatementCounter.reset();
+        blockService.findBlocksByPropertyId(propertyId.toString(), LocalDate.of(2023, 1, 20), null, firstPage.getNextCursor(), 2, false);
+
+        assertSeeksOnStartDate("block");
+    }
+
+    // Explains the listing statement without binding its parameters, H2 plans them as ?1, ?2...
+    private void assertSeeksOnStartDate(String table) {
+        var listing = SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.toLowerCase().contains("from " + table + " ") && sql.toLowerCase().contains("order by"))
+                .findFirst().orElseThrow();
+        var plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + listing),
+                (rs, rowNum) -> rs.getString(1)).get(0).replaceAll("\\s+", " ");
+
+        assertTrue(START_DATE_SEEK.matcher(plan).find(), plan);
+    }
+}
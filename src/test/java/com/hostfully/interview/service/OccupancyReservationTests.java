@@ -0,0 +1,97 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.model.entity.OccupancySource;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "booking.reservation.availability-mode=occupancy")
+class OccupancyReservationTests {
+
+    private static final String PROPERTY_ID = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BlockService blockService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @AfterEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        blockRepository.deleteAll();
+        propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
+    }
+
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void createBooking_OverlappingBooking_ThrowsDatesAlreadyBooked() {
+        var booking = bookingService.createBooking(bookingCreateDto(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+
+        var occupancy = occupancyRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(OccupancySource.BOOKING, occupancy.getSourceType());
+        assertEquals(booking.getProperty().getId(), occupancy.getPropertyId());
+
+        var exception = assertThrows(BadRequestException.class, () -> bookingService.createBooking(bookingCreateDto(LocalDate.of(2023, 1, 15), LocalDate.of(2023, 1, 20))));
+        assertEquals("Dates are already booked", exception.getMessage());
+    }
+
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void cancelBooking_ValidBooking_OccupancyIsRemovedAndReAddedOnRebook() {
+        var booking = bookingService.createBooking(bookingCreateDto(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+
+        bookingService.cancelBooking(booking.getId().toString());
+        assertFalse(occupancyRepository.existsById(booking.getId()));
+
+        bookingService.rebookBooking(booking.getId().toString());
+        assertTrue(occupancyRepository.existsById(booking.getId()));
+    }
+
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void createBlock_OverlappingBlock_ThrowsDatesAlreadyBlocked() {
+        var block = blockService.createBlock(new BlockCreateDto(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)), PROPERTY_ID);
+
+        var exception = assertThrows(BadRequestException.class, () -> bookingService.createBooking(bookingCreateDto(LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20))));
+        assertEquals("Dates are already blocked", exception.getMessage());
+
+        blockService.updateBlock(new BlockCreateDto(LocalDate.of(2023, 1, 6), LocalDate.of(2023, 1, 16)), block.getId().toString());
+        assertEquals(LocalDate.of(2023, 1, 16), occupancyRepository.findById(block.getId()).orElseThrow().getEndDate());
+
+        blockService.deleteBlock(block.getId().toString());
+        assertEquals(0, occupancyRepository.count());
+    }
+
+    private BookingCreateDto bookingCreateDto(LocalDate startDate, LocalDate endDate) {
+        return new BookingCreateDto(PROPERTY_ID, startDate, endDate, List.of(new GuestCreateDTO("John")));
+    }
+}
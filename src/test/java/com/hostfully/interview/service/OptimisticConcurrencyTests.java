@@ -0,0 +1,124 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.BookingUpdateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = "booking.retry.delay=1")
+@AutoConfigureMockMvc
+class OptimisticConcurrencyTests {
+
+    private static final String PROPERTY_ID = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @SpyBean
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void setUp() {
+        Mockito.reset(bookingRepository);
+        bookingRepository.deleteAll();
+        blockRepository.deleteAll();
+        propertyRepository.deleteAll();
+        occupancyRepository.deleteAll();
+    }
+
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void save_StaleBooking_ThrowsOptimisticLockingFailure() {
+        var booking = createBooking();
+        var staleBooking = bookingRepository.findById(booking.getId()).orElseThrow();
+
+        var freshBooking = bookingRepository.findById(booking.getId()).orElseThrow();
+        freshBooking.setUpdateAt(LocalDate.now());
+        assertEquals(booking.getVersion() + 1, bookingRepository.save(freshBooking).getVersion());
+
+        staleBooking.setUpdateAt(LocalDate.now());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.save(staleBooking));
+    }
+
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void updateBooking_ConflictOnFirstAttempt_RetriesAndRecordsConflict() {
+        var booking = createBooking();
+        var conflicts = conflictCount("booking.update");
+        Mockito.doThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId()))
+                .doCallRealMethod()
+                .when(bookingRepository).save(Mockito.any());
+
+        var updatedBooking = bookingService.updateBooking(booking.getId().toString(), new BookingUpdateDto(LocalDate.of(2023, 2, 5), LocalDate.of(2023, 2, 15)));
+
+        assertEquals(LocalDate.of(2023, 2, 5), updatedBooking.getStartDate());
+        assertEquals(conflicts + 1, conflictCount("booking.update"));
+    }
+
+    @Test
+    @Sql(scripts = "/sql/insert-property.sql")
+    public void updateBooking_ConflictOnEveryAttempt_ReturnsConflict() throws Exception {
+        var booking = createBooking();
+        Mockito.clearInvocations(bookingRepository);
+        Mockito.doThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId()))
+                .when(bookingRepository).save(Mockito.any());
+
+        mockMvc.perform(put("/booking/{id}", booking.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startDate\":\"2023-02-05\",\"endDate\":\"2023-02-15\"}")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("message", is("Resource was modified concurrently, please retry")));
+
+        Mockito.verify(bookingRepository, Mockito.times(3)).save(Mockito.any());
+    }
+
+    private Booking createBooking() {
+        return bookingService.createBooking(new BookingCreateDto(PROPERTY_ID, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), List.of(new GuestCreateDTO("John"))));
+    }
+
+    private double conflictCount(String operation) {
+        var counter = meterRegistry.find("booking.write.conflicts").tag("operation", operation).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
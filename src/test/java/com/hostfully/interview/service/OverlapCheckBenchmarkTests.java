@@ -0,0 +1,112 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.model.dto.ReservationDates;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with ./gradlew benchmark, -Dbenchmark.bookings=N changes the final number of bookings.
+@Tag("benchmark")
+@SpringBootTest(properties = "booking.reservation.portfolio-index=false")
+class OverlapCheckBenchmarkTests {
+
+    private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 4_000_000);
+    private static final int PROPERTIES = 1000;
+    private static final int PROBES = 2000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> propertyIds = new ArrayList<>();
+    private final Random random = new Random(42);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM BLOCK");
+        jdbcTemplate.update("DELETE FROM BOOKING");
+        jdbcTemplate.update("DELETE FROM PROPERTY");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_BOOKING_OVERLAP ON BOOKING (PROPERTY_ID, START_DATE, END_DATE, STATUS, ID)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_BLOCK_OVERLAP ON BLOCK (PROPERTY_ID, START_DATE, END_DATE, ID)");
+    }
+
+    @Test
+    void findConflictingSource_GrowingTables_ReportsLatency() {
+        var properties = new ArrayList<Object[]>();
+        for (var i = 0; i < PROPERTIES; i++) {
+            var id = UUID.randomUUID();
+            propertyIds.add(id);
+            properties.add(new Object[]{id, "property " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", properties);
+
+        var inserted = 0;
+        for (var size = Math.min(10_000, BOOKINGS); inserted < BOOKINGS; size = Math.min(size * 10, BOOKINGS)) {
+            insertBookings(inserted, size);
+            inserted = size;
+            System.out.printf("Overlap check with %d bookings: %s%n", inserted, measure(inserted));
+        }
+
+        jdbcTemplate.execute("DROP INDEX IDX_BOOKING_OVERLAP");
+        jdbcTemplate.execute("DROP INDEX IDX_BLOCK_OVERLAP");
+        System.out.printf("Overlap check with %d bookings without the overlap indexes: %s%n", inserted, measure(inserted));
+
+        assertEquals(BOOKINGS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BOOKING", Integer.class));
+    }
+
+    // Every property gets one booking every 3 days and a block after every tenth booking, none of them overlap.
+    private void insertBookings(int from, int to) {
+        var batch = 10_000;
+        for (var start = from; start < to; start += batch) {
+            var bookings = new ArrayList<Object[]>(batch);
+            var blocks = new ArrayList<Object[]>();
+            for (var i = start; i < Math.min(start + batch, to); i++) {
+                var propertyId = propertyIds.get(i % PROPERTIES);
+                var startDate = FIRST_DAY.plusDays(i / PROPERTIES * 30L);
+                var status = i % 20 == 0 ? BookingStatus.CANCELLED : BookingStatus.CONFIRMED;
+                bookings.add(new Object[]{UUID.randomUUID(), propertyId, startDate, startDate.plusDays(1), status.name(), FIRST_DAY});
+                if (i % 10 == 0) blocks.add(new Object[]{UUID.randomUUID(), propertyId, startDate.plusDays(20), startDate.plusDays(21), FIRST_DAY});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO BOOKING(ID, PROPERTY_ID, START_DATE, END_DATE, STATUS, CREATED_AT, VERSION) VALUES (?, ?, ?, ?, ?, ?, 0)", bookings);
+            jdbcTemplate.batchUpdate("INSERT INTO BLOCK(ID, PROPERTY_ID, START_DATE, END_DATE, CREATED_AT, VERSION) VALUES (?, ?, ?, ?, ?, 0)", blocks);
+        }
+    }
+
+    private Latency measure(int bookings) {
+        var days = Math.max(1, bookings / PROPERTIES * 30);
+        var nanos = new long[PROBES];
+        for (var i = 0; i < PROBES; i++) {
+            var propertyId = propertyIds.get(random.nextInt(PROPERTIES));
+            var startDate = FIRST_DAY.plusDays(random.nextInt(days));
+            var begin = System.nanoTime();
+            bookingRepository.findConflictingSource(propertyId, null, null, startDate.minusDays(ReservationDates.MAX_NIGHTS), startDate, startDate.plusDays(2));
+            nanos[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(nanos);
+        return new Latency(nanos[PROBES / 2] / 1000, nanos[PROBES * 99 / 100] / 1000);
+    }
+
+    private record Latency(long p50, long p99) {
+        @Override
+        public String toString() {
+            return "p50 %d µs, p99 %d µs".formatted(p50, p99);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.model.id.TimeOrderedUuids;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with ./gradlew benchmark, -Dbenchmark.rows=N changes the number of rows inserted with each key type.
+@Tag("benchmark")
+@SpringBootTest(properties = "booking.reservation.portfolio-index=false")
+class PrimaryKeyInsertBenchmarkTests {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int BATCH = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS KEY_BENCHMARK");
+    }
+
+    @Test
+    void insert_RandomAndTimeOrderedKeys_ReportsThroughput() {
+        insert(UUID::randomUUID, 100_000);
+        insert(TimeOrderedUuids::next, 100_000);
+
+        var random = insert(UUID::randomUUID, ROWS);
+        var timeOrdered = insert(TimeOrderedUuids::next, ROWS);
+
+        System.out.printf("Insert of %d rows keyed by primary key: random UUID %.0f rows/s, time-ordered UUID %.0f rows/s%n",
+                ROWS, random, timeOrdered);
+    }
+
+    // Same columns as PROPERTY, in its own table so the rows can be dropped at once.
+    private double insert(Supplier<UUID> ids, int rows) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS KEY_BENCHMARK");
+        jdbcTemplate.execute("CREATE TABLE KEY_BENCHMARK(ID UUID PRIMARY KEY, NAME VARCHAR(255), VERSION BIGINT)");
+
+        var start = System.nanoTime();
+        for (var from = 0; from < rows; from += BATCH) {
+            var batch = new ArrayList<Object[]>(BATCH);
+            for (var i = from; i < Math.min(from + BATCH, rows); i++) {
+                batch.add(new Object[]{ids.get(), "property " + i});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO KEY_BENCHMARK(ID, NAME, VERSION) VALUES (?, ?, 0)", batch);
+        }
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(rows, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM KEY_BENCHMARK", Integer.class));
+        return rows / seconds;
+    }
+}
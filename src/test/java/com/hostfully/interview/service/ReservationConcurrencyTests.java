@@ -0,0 +1,142 @@
+package com.hostfully.interview.service;
+
+import com.hostfully.interview.BookingApplication;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.BlockCreateDto;
+import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.GuestCreateDTO;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every availability mode gets its own application and in-memory database, the locking matters in all of them.
+class ReservationConcurrencyTests {
+
+    private static final List<String> PROPERTY_IDS = List.of(
+            "555a2254-e8ff-4005-ada2-4d478b04a5d7",
+            "555a2254-e8ff-4005-ada2-4d478b04a5d8",
+            "555a2254-e8ff-4005-ada2-4d478b04a5d9");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sql", "occupancy", "interval-tree", "bitmap"})
+    void createBookingAndBlock_ConcurrentOverlappingRequests_OnlyOneWins(String mode) throws Exception {
+        try (var context = start(mode)) {
+            var tasks = new ArrayList<Callable<Boolean>>();
+            // The same dates on the first property, only one of them can be created
+            for (int i = 0; i < 24; i++) {
+                tasks.add(create(context, PROPERTY_IDS.get(0), LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 15), i % 4 == 0));
+            }
+            // Disjoint dates on the second property, all of them are created
+            for (int i = 0; i < 24; i++) {
+                var startDate = LocalDate.of(2024, 2, 1).plusDays(3L * i);
+                tasks.add(create(context, PROPERTY_IDS.get(1), startDate, startDate.plusDays(1), i % 4 == 0));
+            }
+
+            var created = run(tasks, 16);
+
+            assertEquals(25, created);
+            assertOccupancyDoesNotOverlap(context);
+        }
+    }
+
+    // Run with ./gradlew benchmark, -Dbenchmark.requests=N and -Dbenchmark.threads=N change the load.
+    @Tag("benchmark")
+    @ParameterizedTest
+    @ValueSource(strings = {"sql", "occupancy", "interval-tree", "bitmap"})
+    void createBookingAndBlock_RandomOverlappingRequests_ReportsThroughput(String mode) throws Exception {
+        var requests = Integer.getInteger("benchmark.requests", 3_000);
+        var threads = Integer.getInteger("benchmark.threads", 64);
+        try (var context = start(mode)) {
+            var tasks = new ArrayList<Callable<Boolean>>();
+            var random = new Random(42);
+            for (int i = 0; i < requests; i++) {
+                var propertyId = PROPERTY_IDS.get(random.nextInt(PROPERTY_IDS.size()));
+                var startDate = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+                tasks.add(create(context, propertyId, startDate, startDate.plusDays(1 + random.nextInt(6)), random.nextInt(10) == 0));
+            }
+
+            var start = System.nanoTime();
+            var created = run(tasks, threads);
+            var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("%s: %d requests on %d threads in %.2fs (%.0f req/s), %d created, %d rejected%n",
+                    mode, requests, threads, elapsedSeconds, requests / elapsedSeconds, created, requests - created);
+            assertOccupancyDoesNotOverlap(context);
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode) {
+        var context = new SpringApplicationBuilder(BookingApplication.class).properties(
+                "spring.main.web-application-type=none",
+                "spring.datasource.url=jdbc:h2:mem:concurrency-" + mode,
+                "booking.reservation.availability-mode=" + mode).run();
+        var rows = PROPERTY_IDS.stream().map(id -> new Object[]{id, "property " + id}).toList();
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO PROPERTY(ID, NAME, VERSION) VALUES (?, ?, 0)", rows);
+        return context;
+    }
+
+    // True when created, false when rejected as a conflict.
+    private Callable<Boolean> create(ConfigurableApplicationContext context, String propertyId, LocalDate startDate, LocalDate endDate, boolean isBlock) {
+        return () -> {
+            try {
+                if (isBlock) {
+                    context.getBean(BlockService.class).createBlock(new BlockCreateDto(startDate, endDate), propertyId);
+                } else {
+                    context.getBean(BookingService.class).createBooking(new BookingCreateDto(propertyId, startDate, endDate, List.of(new GuestCreateDTO("John"))));
+                }
+                return true;
+            } catch (BadRequestException e) {
+                return false;
+            }
+        };
+    }
+
+    private int run(List<Callable<Boolean>> tasks, int threads) throws Exception {
+        var executor = Executors.newFixedThreadPool(threads);
+        var futures = executor.invokeAll(tasks);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        var created = new AtomicInteger();
+        for (var future : futures) {
+            if (future.get()) created.incrementAndGet();
+        }
+        return created.get();
+    }
+
+    private void assertOccupancyDoesNotOverlap(ConfigurableApplicationContext context) {
+        var intervals = new ArrayList<String[]>();
+        context.getBean(BookingRepository.class).findAll().stream()
+                .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                .forEach(booking -> intervals.add(new String[]{booking.getProperty().getId().toString(), booking.getStartDate().toString(), booking.getEndDate().toString()}));
+        context.getBean(BlockRepository.class).findAll()
+                .forEach(block -> intervals.add(new String[]{block.getProperty().getId().toString(), block.getStartDate().toString(), block.getEndDate().toString()}));
+
+        for (int i = 0; i < intervals.size(); i++) {
+            for (int j = i + 1; j < intervals.size(); j++) {
+                var first = intervals.get(i);
+                var second = intervals.get(j);
+                var overlaps = first[0].equals(second[0])
+                        && first[1].compareTo(second[2]) <= 0
+                        && first[2].compareTo(second[1]) >= 0;
+                assertFalse(overlaps, "Overbooked " + String.join(" ", first) + " and " + String.join(" ", second));
+            }
+        }
+    }
+}
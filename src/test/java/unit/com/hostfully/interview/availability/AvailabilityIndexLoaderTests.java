@@ -0,0 +1,102 @@
+package unit.com.hostfully.interview.availability;
+
+import com.hostfully.interview.availability.*;
+import com.hostfully.interview.config.ReservationProperties;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.OccupancySource;
+import com.hostfully.interview.repository.BlockRepository;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.PropertyRepository;
+import com.hostfully.interview.repository.projection.OccupancyView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvailabilityIndexLoaderTests {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BlockRepository blockRepository;
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    private final IntervalTreeAvailabilityIndex availabilityIndex = new IntervalTreeAvailabilityIndex();
+    private final PortfolioAvailabilityIndex portfolioAvailabilityIndex = new PortfolioAvailabilityIndex();
+    private AvailabilityIndexLoader loader;
+
+    private final UUID propertyId = UUID.randomUUID();
+    private final UUID bookingId = UUID.randomUUID();
+    private final LocalDate startDate = LocalDate.of(2023, 1, 5);
+    private final LocalDate endDate = LocalDate.of(2023, 1, 15);
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        var reservationProperties = new ReservationProperties();
+        reservationProperties.setAvailabilityMode(AvailabilityMode.INTERVAL_TREE);
+        loader = new AvailabilityIndexLoader(availabilityIndex, portfolioAvailabilityIndex, reservationProperties,
+                bookingRepository, blockRepository, propertyRepository);
+        Mockito.when(propertyRepository.findAllIds()).thenReturn(List.of(propertyId));
+        Mockito.when(blockRepository.findAllOccupancies()).thenReturn(List.of());
+    }
+
+    @Test
+    void load_CancelledWhileReadingSnapshot_StaleRowIsOverridden() {
+        var staleRow = view(bookingId, startDate, endDate);
+        Mockito.when(bookingRepository.findAllOccupanciesByStatusNot(BookingStatus.CANCELLED)).thenAnswer(invocation -> {
+            loader.onOccupancyChanged(new OccupancyChangedEvent(propertyId, bookingId, OccupancySource.BOOKING, startDate, endDate, false));
+            return List.of(staleRow);
+        });
+
+        loader.load();
+
+        assertTrue(availabilityIndex.isReady());
+        assertFalse(availabilityIndex.isBooked(propertyId, null, startDate, endDate));
+        assertEquals(List.of(propertyId), portfolioAvailabilityIndex.findAvailable(startDate, endDate, null, 10).getContent());
+    }
+
+    @Test
+    void load_CreatedWhileReadingSnapshot_IsIndexed() {
+        var otherBookingId = UUID.randomUUID();
+        var row = view(bookingId, startDate, endDate);
+        Mockito.when(bookingRepository.findAllOccupanciesByStatusNot(BookingStatus.CANCELLED)).thenAnswer(invocation -> {
+            loader.onOccupancyChanged(new OccupancyChangedEvent(propertyId, otherBookingId, OccupancySource.BOOKING, endDate.plusDays(1), endDate.plusDays(3), true));
+            return List.of(row);
+        });
+
+        loader.load();
+
+        assertTrue(availabilityIndex.isBooked(propertyId, null, startDate, startDate));
+        assertTrue(availabilityIndex.isBooked(propertyId, null, endDate.plusDays(3), endDate.plusDays(4)));
+    }
+
+    @Test
+    void onOccupancyChanged_AfterLoad_AppliesImmediately() {
+        Mockito.when(bookingRepository.findAllOccupanciesByStatusNot(BookingStatus.CANCELLED)).thenReturn(List.of());
+        loader.load();
+
+        loader.onOccupancyChanged(new OccupancyChangedEvent(propertyId, bookingId, OccupancySource.BOOKING, startDate, endDate, true));
+
+        assertTrue(availabilityIndex.isBooked(propertyId, null, startDate, endDate));
+    }
+
+    private OccupancyView view(UUID id, LocalDate start, LocalDate end) {
+        var view = Mockito.mock(OccupancyView.class);
+        Mockito.when(view.getPropertyId()).thenReturn(propertyId);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getStartDate()).thenReturn(start);
+        Mockito.when(view.getEndDate()).thenReturn(end);
+        return view;
+    }
+}
@@ -0,0 +1,122 @@
+package unit.com.hostfully.interview.availability;
+
+import com.hostfully.interview.availability.BitmapCalendarAvailabilityIndex;
+import com.hostfully.interview.availability.OccupancyChangedEvent;
+import com.hostfully.interview.model.entity.OccupancySource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitmapCalendarAvailabilityIndexTests {
+
+    private final BitmapCalendarAvailabilityIndex index = new BitmapCalendarAvailabilityIndex();
+    private final UUID propertyId = UUID.randomUUID();
+
+    @Test
+    void isBooked_OverlappingBooking_ReturnsTrue() {
+        index.apply(event(OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+
+        assertTrue(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 15), LocalDate.of(2023, 3, 20)));
+        assertTrue(index.isBooked(propertyId, null, LocalDate.of(2022, 12, 1), LocalDate.of(2023, 1, 5)));
+        assertFalse(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 16), LocalDate.of(2023, 1, 20)));
+        assertFalse(index.isBlocked(propertyId, null, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+    }
+
+    @Test
+    void isBooked_SameBookingExcluded_ReturnsFalse() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+
+        assertFalse(index.isBooked(propertyId, bookingId, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 20)));
+        assertTrue(index.isBooked(propertyId, UUID.randomUUID(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 20)));
+    }
+
+    @Test
+    void isBooked_ExcludedBookingSharesDaysWithAnother_ReturnsTrue() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(event(OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 12), true));
+
+        assertTrue(index.isBooked(propertyId, bookingId, LocalDate.of(2023, 1, 11), LocalDate.of(2023, 1, 11)));
+    }
+
+    @Test
+    void isBooked_ExcludedBookingInsideEarlierLongerOne_ReturnsTrue() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 6, 30), true));
+        index.apply(event(OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 10), true));
+        index.apply(event(OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 8, 1), LocalDate.of(2023, 8, 3), true));
+
+        assertTrue(index.isBooked(propertyId, bookingId, LocalDate.of(2023, 6, 5), LocalDate.of(2023, 6, 5)));
+    }
+
+    @Test
+    void isBooked_RemovedInsideEarlierLongerOne_KeepsLongerBookingDays() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 6, 30), true));
+        index.apply(event(OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 10), true));
+        index.apply(event(OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 10), false));
+
+        assertTrue(index.isBooked(propertyId, null, LocalDate.of(2023, 6, 5), LocalDate.of(2023, 6, 5)));
+    }
+
+    @Test
+    void isBooked_BookingCancelled_ReturnsFalse() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(event(OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), false));
+
+        assertFalse(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+    }
+
+    @Test
+    void isBlocked_BlockRemovedNextToAnother_KeepsOtherBlockDays() {
+        var blockId = UUID.randomUUID();
+        index.apply(event(OccupancySource.BLOCK, blockId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(event(OccupancySource.BLOCK, UUID.randomUUID(), LocalDate.of(2023, 1, 15), LocalDate.of(2023, 1, 20), true));
+        index.apply(event(OccupancySource.BLOCK, blockId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), false));
+
+        assertFalse(index.isBlocked(propertyId, null, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 14)));
+        assertTrue(index.isBlocked(propertyId, null, LocalDate.of(2023, 1, 15), LocalDate.of(2023, 1, 15)));
+    }
+
+    @Test
+    void isBooked_BookingPastHorizon_ChecksDaysWithinHorizon() {
+        index.apply(event(OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 5), LocalDate.of(9999, 12, 31), true));
+
+        assertTrue(index.isBooked(propertyId, null, LocalDate.of(2099, 12, 30), LocalDate.of(2099, 12, 31)));
+        assertFalse(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 4)));
+        assertTrue(index.footprint().bitmapBytesPerProperty() < 8 * 1024);
+    }
+
+    // Run with ./gradlew benchmark, loads 1.4M intervals.
+    @Tag("benchmark")
+    @Test
+    void footprint_100kPropertiesWithThreeYearsOfCalendar_ReportsBytesPerProperty() {
+        var firstDay = LocalDate.of(2023, 1, 1);
+        var footprintIndex = new BitmapCalendarAvailabilityIndex();
+
+        for (int i = 0; i < 100_000; i++) {
+            var property = UUID.randomUUID();
+            for (int quarter = 0; quarter < 12; quarter++) {
+                var startDate = firstDay.plusMonths(3L * quarter).plusDays(i % 30);
+                footprintIndex.apply(new OccupancyChangedEvent(property, UUID.randomUUID(), OccupancySource.BOOKING, startDate, startDate.plusDays(7), true));
+            }
+            footprintIndex.apply(new OccupancyChangedEvent(property, UUID.randomUUID(), OccupancySource.BLOCK, firstDay.plusDays(40), firstDay.plusDays(44), true));
+            footprintIndex.apply(new OccupancyChangedEvent(property, UUID.randomUUID(), OccupancySource.BLOCK, firstDay.plusMonths(35), firstDay.plusMonths(35).plusDays(4), true));
+        }
+
+        var footprint = footprintIndex.footprint();
+
+        assertEquals(100_000, footprint.properties());
+        assertTrue(footprint.bitmapBytesPerProperty() <= 400);
+    }
+
+    private OccupancyChangedEvent event(OccupancySource source, UUID sourceId, LocalDate startDate, LocalDate endDate, boolean active) {
+        return new OccupancyChangedEvent(propertyId, sourceId, source, startDate, endDate, active);
+    }
+}
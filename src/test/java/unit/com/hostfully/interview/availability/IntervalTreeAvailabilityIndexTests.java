@@ -0,0 +1,67 @@
+package unit.com.hostfully.interview.availability;
+
+import com.hostfully.interview.availability.IntervalTreeAvailabilityIndex;
+import com.hostfully.interview.availability.OccupancyChangedEvent;
+import com.hostfully.interview.model.entity.OccupancySource;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalTreeAvailabilityIndexTests {
+
+    private final IntervalTreeAvailabilityIndex index = new IntervalTreeAvailabilityIndex();
+    private final UUID propertyId = UUID.randomUUID();
+
+    @Test
+    void isBooked_OverlappingBooking_ReturnsTrue() {
+        var bookingId = UUID.randomUUID();
+        index.apply(booking(bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+
+        assertTrue(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 15), LocalDate.of(2023, 1, 20)));
+        assertTrue(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 5)));
+        assertFalse(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 16), LocalDate.of(2023, 1, 20)));
+        assertFalse(index.isBlocked(propertyId, null, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+    }
+
+    @Test
+    void isBooked_SameBookingExcluded_ReturnsFalse() {
+        var bookingId = UUID.randomUUID();
+        index.apply(booking(bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+
+        assertFalse(index.isBooked(propertyId, bookingId, LocalDate.of(2023, 1, 6), LocalDate.of(2023, 1, 16)));
+    }
+
+    @Test
+    void isBooked_BookingCancelled_ReturnsFalse() {
+        var bookingId = UUID.randomUUID();
+        index.apply(booking(bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(booking(bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), false));
+
+        assertFalse(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+    }
+
+    @Test
+    void isBooked_BookingMoved_OnlyNewDatesAreBooked() {
+        var bookingId = UUID.randomUUID();
+        index.apply(booking(bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(booking(bookingId, LocalDate.of(2023, 2, 5), LocalDate.of(2023, 2, 15), true));
+
+        assertFalse(index.isBooked(propertyId, null, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+        assertTrue(index.isBooked(propertyId, null, LocalDate.of(2023, 2, 10), LocalDate.of(2023, 2, 11)));
+    }
+
+    @Test
+    void isBlocked_OtherProperty_ReturnsFalse() {
+        index.apply(new OccupancyChangedEvent(propertyId, UUID.randomUUID(), OccupancySource.BLOCK, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+
+        assertTrue(index.isBlocked(propertyId, null, LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 12)));
+        assertFalse(index.isBlocked(UUID.randomUUID(), null, LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 12)));
+    }
+
+    private OccupancyChangedEvent booking(UUID bookingId, LocalDate startDate, LocalDate endDate, boolean active) {
+        return new OccupancyChangedEvent(propertyId, bookingId, OccupancySource.BOOKING, startDate, endDate, active);
+    }
+}
@@ -0,0 +1,122 @@
+package unit.com.hostfully.interview.availability;
+
+import com.hostfully.interview.availability.OccupancyChangedEvent;
+import com.hostfully.interview.availability.PortfolioAvailabilityIndex;
+import com.hostfully.interview.availability.PropertyChangedEvent;
+import com.hostfully.interview.model.entity.OccupancySource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PortfolioAvailabilityIndexTests {
+
+    private final PortfolioAvailabilityIndex index = new PortfolioAvailabilityIndex();
+    // Listed in id order, the last one sorts first with UUID.compareTo
+    private final UUID first = UUID.fromString("0182f0e4-0000-7000-8000-000000000001");
+    private final UUID second = UUID.fromString("7f82f0e4-0000-7000-8000-000000000002");
+    private final UUID third = UUID.fromString("f182f0e4-0000-7000-8000-000000000003");
+
+    @BeforeEach
+    void setUp() {
+        List.of(third, first, second).forEach(id -> index.apply(new PropertyChangedEvent(id, true)));
+        index.markReady();
+    }
+
+    @Test
+    void findAvailable_OverlappingBooking_ExcludesProperty() {
+        index.apply(event(first, OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+
+        assertEquals(List.of(second, third), findAvailable(LocalDate.of(2023, 1, 15), LocalDate.of(2023, 1, 20)));
+        assertEquals(List.of(second, third), findAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 5)));
+        assertEquals(List.of(first, second, third), findAvailable(LocalDate.of(2023, 1, 16), LocalDate.of(2023, 1, 20)));
+    }
+
+    @Test
+    void findAvailable_BookingCancelled_IncludesPropertyAgain() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(second, OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(event(second, OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), false));
+
+        assertEquals(List.of(first, second, third), findAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31)));
+    }
+
+    @Test
+    void findAvailable_RemovedBookingSharesDaysWithBlock_KeepsSharedDays() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(first, OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(event(first, OccupancySource.BLOCK, UUID.randomUUID(), LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20), true));
+        index.apply(event(first, OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), false));
+
+        assertEquals(List.of(first, second, third), findAvailable(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 9)));
+        assertEquals(List.of(second, third), findAvailable(LocalDate.of(2023, 1, 9), LocalDate.of(2023, 1, 10)));
+    }
+
+    @Test
+    void findAvailable_BookingMoved_OnlyNewDatesOccupied() {
+        var bookingId = UUID.randomUUID();
+        index.apply(event(third, OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(event(third, OccupancySource.BOOKING, bookingId, LocalDate.of(2023, 2, 5), LocalDate.of(2023, 2, 15), true));
+
+        assertEquals(List.of(first, second, third), findAvailable(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+        assertEquals(List.of(first, second), findAvailable(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 5)));
+    }
+
+    @Test
+    void findAvailable_PropertyDeleted_ExcludesProperty() {
+        index.apply(new PropertyChangedEvent(second, false));
+
+        assertEquals(List.of(first, third), findAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31)));
+    }
+
+    @Test
+    void findAvailable_PropertyDeletedAndAnotherCreated_ReusesOrdinalWithoutItsBookings() {
+        index.apply(event(second, OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+        index.apply(new PropertyChangedEvent(second, false));
+        var created = UUID.fromString("0082f0e4-0000-7000-8000-000000000004");
+        index.apply(new PropertyChangedEvent(created, true));
+
+        assertEquals(List.of(created, first, third), findAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31)));
+    }
+
+    @Test
+    void findAvailable_BookingPastHorizon_ExcludesPropertyUpToHorizon() {
+        index.apply(event(first, OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 5), LocalDate.of(9999, 12, 31), true));
+
+        assertEquals(List.of(second, third), findAvailable(LocalDate.of(2099, 12, 1), LocalDate.of(2099, 12, 31)));
+    }
+
+    @Test
+    void findAvailable_AfterLastIdOfPage_ReturnsRemainingProperties() {
+        var page = index.findAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31), null, 2);
+        var next = index.findAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31), page.getContent().get(1), 2);
+
+        assertEquals(List.of(first, second), page.getContent());
+        assertTrue(page.hasNext());
+        assertEquals(List.of(third), next.getContent());
+        assertFalse(next.hasNext());
+        assertEquals(3, index.countAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31)));
+    }
+
+    @Test
+    void findAvailable_AfterOccupiedProperty_SkipsOccupiedOnes() {
+        index.apply(event(second, OccupancySource.BOOKING, UUID.randomUUID(), LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), true));
+
+        var page = index.findAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31), first, 2);
+
+        assertEquals(List.of(third), page.getContent());
+        assertEquals(2, index.countAvailable(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31)));
+    }
+
+    private List<UUID> findAvailable(LocalDate from, LocalDate to) {
+        return index.findAvailable(from, to, null, 10).getContent();
+    }
+
+    private OccupancyChangedEvent event(UUID propertyId, OccupancySource source, UUID sourceId, LocalDate startDate, LocalDate endDate, boolean active) {
+        return new OccupancyChangedEvent(propertyId, sourceId, source, startDate, endDate, active);
+    }
+}
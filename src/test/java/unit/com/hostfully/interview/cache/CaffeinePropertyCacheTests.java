@@ -0,0 +1,68 @@
+package unit.com.hostfully.interview.cache;
+
+import com.hostfully.interview.cache.CaffeinePropertyCache;
+import com.hostfully.interview.model.entity.Property;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaffeinePropertyCacheTests {
+
+    private final CaffeinePropertyCache cache = new CaffeinePropertyCache(10, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    private final UUID id = UUID.randomUUID();
+
+    @Test
+    void get_Loaded_IsCached() {
+        var property = new Property(id, "property");
+        var loads = new AtomicInteger();
+
+        cache.get(id, key -> {
+            loads.incrementAndGet();
+            return Optional.of(property);
+        });
+        var result = cache.get(id, key -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertSame(property, result.orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_EvictedWhileLoading_DoesNotCacheOldRow() {
+        var old = new Property(id, "old");
+
+        // The update commits and evicts after the lookup read the old row
+        var result = cache.get(id, key -> {
+            cache.evict(key);
+            return Optional.of(old);
+        });
+
+        assertSame(old, result.orElseThrow());
+        assertTrue(cache.getIfPresent(id).isEmpty());
+    }
+
+    @Test
+    void get_MissingProperty_IsNotCached() {
+        assertTrue(cache.get(id, key -> Optional.empty()).isEmpty());
+
+        assertTrue(cache.getIfPresent(id).isEmpty());
+    }
+
+    @Test
+    void get_LoaderFails_RethrowsAndDoesNotCache() {
+        var exception = assertThrows(IllegalStateException.class, () -> cache.get(id, key -> {
+            throw new IllegalStateException("Connection refused");
+        }));
+
+        assertEquals("Connection refused", exception.getMessage());
+        assertTrue(cache.getIfPresent(id).isEmpty());
+    }
+}
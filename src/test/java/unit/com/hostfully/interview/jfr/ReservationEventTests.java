@@ -0,0 +1,103 @@
+package unit.com.hostfully.interview.jfr;
+
+import com.hostfully.interview.availability.AvailabilityMode;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.jfr.AvailabilityCheckEvent;
+import com.hostfully.interview.jfr.BookingEvent;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.OccupancySource;
+import com.hostfully.interview.model.entity.Property;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationEventTests {
+
+    private final Property property = new Property(UUID.randomUUID(), "property-name");
+
+    @Test
+    void record_Enabled_WritesBookingSpanAndOutcome() throws Exception {
+        var booking = new Booking(UUID.randomUUID(), property, LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 13),
+                BookingStatus.CANCELLED, LocalDate.of(2023, 1, 1), null, new ArrayList<>(), 0L);
+
+        var events = recordEvents("com.hostfully.interview.BookingOperation", () -> {
+            var event = new BookingEvent("cancel");
+            event.record(() -> {
+                event.booking(booking);
+                return booking;
+            });
+        });
+
+        assertEquals(1, events.size());
+        var event = events.get(0);
+        assertEquals("cancel", event.getString("operation"));
+        assertEquals(booking.getId().toString(), event.getString("bookingId"));
+        assertEquals(property.getId().toString(), event.getString("propertyId"));
+        assertEquals("2023-01-10", event.getString("startDate"));
+        assertEquals(3, event.getLong("nights"));
+        assertEquals("ok", event.getString("outcome"));
+    }
+
+    @Test
+    void record_Rejected_WritesMessageAndRethrows() throws Exception {
+        var events = recordEvents("com.hostfully.interview.BookingOperation", () -> {
+            var event = new BookingEvent("create");
+            event.span(property.getId(), LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 13));
+            assertThrows(BadRequestException.class, () -> event.record(() -> {
+                throw new BadRequestException("Dates are already booked");
+            }));
+        });
+
+        assertEquals(1, events.size());
+        assertEquals("Dates are already booked", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void record_Disabled_ReturnsResultWithoutEvent() throws Exception {
+        var events = recordEvents("com.hostfully.interview.AvailabilityCheck", () -> {
+            var event = new BookingEvent("rebook");
+            assertEquals("result", event.record(() -> "result"));
+        });
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void checked_Conflict_WritesModeAndSource() throws Exception {
+        var events = recordEvents("com.hostfully.interview.AvailabilityCheck", () -> {
+            var event = new AvailabilityCheckEvent();
+            event.begin();
+            event.checked(property.getId().toString(), LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 13), AvailabilityMode.OCCUPANCY, OccupancySource.BLOCK);
+        });
+
+        assertEquals(1, events.size());
+        assertEquals("occupancy", events.get(0).getString("mode"));
+        assertEquals("block", events.get(0).getString("outcome"));
+    }
+
+    // Only the named event is enabled, as the events are disabled by default.
+    private List<RecordedEvent> recordEvents(String eventName, Runnable action) throws Exception {
+        var file = Files.createTempFile("reservation-events", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable(eventName).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.hostfully.interview.")).toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
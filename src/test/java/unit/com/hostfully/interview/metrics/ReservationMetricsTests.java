@@ -0,0 +1,48 @@
+package unit.com.hostfully.interview.metrics;
+
+import com.hostfully.interview.config.ReservationMetricsProperties;
+import com.hostfully.interview.metrics.ReservationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationMetricsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void propertyTag_NotOptedIn_IsOther() {
+        var reservationMetrics = new ReservationMetrics(meterRegistry, new ReservationMetricsProperties());
+
+        assertEquals(ReservationMetrics.OTHER_PROPERTY, reservationMetrics.propertyTag(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void propertyTag_OptedIn_IsPropertyId() {
+        var propertyId = UUID.randomUUID().toString();
+        var properties = new ReservationMetricsProperties();
+        properties.setPropertyTags(List.of(propertyId.toUpperCase()));
+        var reservationMetrics = new ReservationMetrics(meterRegistry, properties);
+
+        assertEquals(propertyId, reservationMetrics.propertyTag(propertyId));
+        assertEquals(ReservationMetrics.OTHER_PROPERTY, reservationMetrics.propertyTag(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void propertyTag_MaxPropertyTags_FirstPropertiesSeenKeepTheirId() {
+        var properties = new ReservationMetricsProperties();
+        properties.setMaxPropertyTags(2);
+        var reservationMetrics = new ReservationMetrics(meterRegistry, properties);
+        var first = UUID.randomUUID().toString();
+        var second = UUID.randomUUID().toString();
+
+        assertEquals(first, reservationMetrics.propertyTag(first));
+        assertEquals(second, reservationMetrics.propertyTag(second));
+        assertEquals(ReservationMetrics.OTHER_PROPERTY, reservationMetrics.propertyTag(UUID.randomUUID().toString()));
+        assertEquals(first, reservationMetrics.propertyTag(first));
+    }
+}
@@ -71,4 +71,13 @@ public class BlockCreateDtoTests {
         var exception = assertThrows(BadRequestException.class, () -> dto.validateDates());
         assertEquals("Start date must be different than end date", exception.getMessage());
     }
+
+    @Test
+    void validateDates_EndDateAfterHorizon_ThrowsException() {
+        dto.setStartDate(LocalDate.of(2023, 1, 10));
+        dto.setEndDate(LocalDate.of(2100, 1, 1));
+
+        var exception = assertThrows(BadRequestException.class, () -> dto.validateDates());
+        assertEquals("Dates must be between 2000-01-01 and 2099-12-31", exception.getMessage());
+    }
 }
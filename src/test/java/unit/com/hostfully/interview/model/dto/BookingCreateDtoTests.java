@@ -120,4 +120,24 @@ public class BookingCreateDtoTests {
         var exception = assertThrows(BadRequestException.class, () -> dto.validateGuests());
         assertEquals("Guests is required", exception.getMessage());
     }
+
+    @Test
+    void validateDates_EndDateAfterHorizon_ThrowsException() {
+        dto.setPropertyId(UUID.randomUUID().toString());
+        dto.setStartDate(LocalDate.of(2023, 1, 10));
+        dto.setEndDate(LocalDate.of(9999, 12, 31));
+
+        var exception = assertThrows(BadRequestException.class, () -> dto.validateDates());
+        assertEquals("Dates must be between 2000-01-01 and 2099-12-31", exception.getMessage());
+    }
+
+    @Test
+    void validateDates_SpanLongerThanThreeYears_ThrowsException() {
+        dto.setPropertyId(UUID.randomUUID().toString());
+        dto.setStartDate(LocalDate.of(2023, 1, 10));
+        dto.setEndDate(LocalDate.of(2026, 1, 14));
+
+        var exception = assertThrows(BadRequestException.class, () -> dto.validateDates());
+        assertEquals("Dates must not span more than 1098 nights", exception.getMessage());
+    }
 }
@@ -69,4 +69,13 @@ public class BookingUpdateDtoTests {
         var exception = assertThrows(BadRequestException.class, () -> dto.validateDates());
         assertEquals("Start date must be different than end date", exception.getMessage());
     }
+
+    @Test
+    void validateDates_StartDateBeforeHorizon_ThrowsException() {
+        dto.setStartDate(LocalDate.of(1999, 12, 31));
+        dto.setEndDate(LocalDate.of(2023, 1, 10));
+
+        var exception = assertThrows(BadRequestException.class, () -> dto.validateDates());
+        assertEquals("Dates must be between 2000-01-01 and 2099-12-31", exception.getMessage());
+    }
 }
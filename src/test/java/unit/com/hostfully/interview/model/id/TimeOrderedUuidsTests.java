@@ -0,0 +1,47 @@
+package unit.com.hostfully.interview.model.id;
+
+import com.hostfully.interview.model.id.TimeOrderedUuids;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidsTests {
+
+    @Test
+    void next_Generated_IsVersion7WithRfcVariant() {
+        var id = TimeOrderedUuids.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_Generated_StartsWithCurrentMillis() {
+        var before = System.currentTimeMillis();
+        var id = TimeOrderedUuids.next();
+        var after = System.currentTimeMillis();
+
+        // A counter overflow moves the timestamp ahead of the clock by a few milliseconds at most.
+        var millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before);
+        assertTrue(millis - after < 1000);
+    }
+
+    @Test
+    void next_ManyInSameMillisecond_StrictlyIncreasing() {
+        var previous = TimeOrderedUuids.next();
+        for (var i = 0; i < 10_000; i++) {
+            var id = TimeOrderedUuids.next();
+            assertTrue(id.compareTo(previous) > 0);
+            previous = id;
+        }
+    }
+
+    @Test
+    void next_Generated_StringOrderMatchesGenerationOrder() {
+        var first = TimeOrderedUuids.next();
+        var second = TimeOrderedUuids.next();
+
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+}
@@ -1,6 +1,8 @@
 package unit.com.hostfully.interview.service;
 
 import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.BatchItemStatus;
+import com.hostfully.interview.model.dto.BlockBulkCreateDto;
 import com.hostfully.interview.model.dto.BlockCreateDto;
 import com.hostfully.interview.model.entity.Block;
 import com.hostfully.interview.model.entity.Property;
@@ -14,11 +16,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class BlockServiceTests {
 
@@ -42,6 +48,8 @@ public class BlockServiceTests {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        Mockito.when(reservationService.withPropertyLock(Mockito.any(), Mockito.any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        Mockito.when(reservationService.withPropertyLocks(Mockito.any(), Mockito.any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -50,7 +58,7 @@ public class BlockServiceTests {
         blockCreateDto.setStartDate(LocalDate.now());
         blockCreateDto.setEndDate(LocalDate.now().plusDays(1));
 
-        Mockito.when(propertyService.getProperty(propertyId)).thenThrow(new BadRequestException("Invalid property id"));
+        Mockito.when(propertyService.getPropertyReference(propertyId)).thenThrow(new BadRequestException("Invalid property id"));
         var exception = assertThrows(BadRequestException.class, () -> blockService.createBlock(blockCreateDto, propertyId));
         assertEquals("Invalid property id", exception.getMessage());
     }
@@ -71,7 +79,7 @@ public class BlockServiceTests {
         blockCreateDto.setStartDate(LocalDate.now());
         blockCreateDto.setEndDate(LocalDate.now().plusDays(1));
 
-        Mockito.when(propertyService.getProperty(propertyId)).thenReturn(property);
+        Mockito.when(propertyService.getPropertyReference(propertyId)).thenReturn(property);
         Mockito.when(reservationService.validateIfDatesAreAvailable(propertyId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate())).thenThrow(new BadRequestException("Dates already blocked"));
 
         var exception = assertThrows(BadRequestException.class, () -> blockService.createBlock(blockCreateDto, propertyId));
@@ -84,7 +92,7 @@ public class BlockServiceTests {
         blockCreateDto.setStartDate(LocalDate.now());
         blockCreateDto.setEndDate(LocalDate.now().plusDays(1));
 
-        Mockito.when(propertyService.getProperty(propertyId)).thenReturn(property);
+        Mockito.when(propertyService.getPropertyReference(propertyId)).thenReturn(property);
         Mockito.when(reservationService.validateIfDatesAreAvailable(propertyId, blockCreateDto.getStartDate(), blockCreateDto.getEndDate())).thenThrow(new BadRequestException("Dates already booked"));
 
         var exception = assertThrows(BadRequestException.class, () -> blockService.createBlock(blockCreateDto, propertyId));
@@ -97,7 +105,7 @@ public class BlockServiceTests {
         blockCreateDto.setStartDate(LocalDate.now());
         blockCreateDto.setEndDate(LocalDate.now().plusDays(1));
 
-        Mockito.when(propertyService.getProperty(propertyId)).thenReturn(property);
+        Mockito.when(propertyService.getPropertyReference(propertyId)).thenReturn(property);
         Mockito.when(blockRepository.save(Mockito.any())).thenAnswer(i -> i.getArguments()[0]);
 
         var block = blockService.createBlock(blockCreateDto, propertyId);
@@ -173,4 +181,42 @@ public class BlockServiceTests {
         var exception = assertThrows(BadRequestException.class, () -> blockService.deleteBlock(blockId));
         assertEquals("Bad Request", exception.getMessage());
     }
+
+    @Test
+    void createBlocks_PropertiesAndRanges_CreatesBlocksWithoutConflicts() {
+        var unknownPropertyId = UUID.randomUUID().toString();
+        var bulk = new BlockBulkCreateDto(false, List.of(property.getId().toString(), unknownPropertyId), List.of(
+                new BlockCreateDto(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)),
+                new BlockCreateDto(LocalDate.of(2023, 2, 5), LocalDate.of(2023, 2, 15))));
+        Mockito.when(propertyService.getProperties(Mockito.any())).thenReturn(Map.of(property.getId(), property));
+        Mockito.when(reservationService.findBlockBatchConflicts(Mockito.any())).thenReturn(Arrays.asList("Dates are already booked", null));
+        Mockito.when(blockRepository.saveAll(Mockito.any())).thenAnswer(invocation -> {
+            List<Block> blocks = invocation.getArgument(0);
+            blocks.forEach(block -> block.setId(UUID.randomUUID()));
+            return blocks;
+        });
+
+        var result = blockService.createBlocks(bulk);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(4, result.getItems().size());
+        assertEquals(BatchItemStatus.REJECTED, result.getItems().get(0).getStatus());
+        assertEquals("Dates are already booked", result.getItems().get(0).getMessage());
+        assertEquals(BatchItemStatus.CREATED, result.getItems().get(1).getStatus());
+        assertNotNull(result.getItems().get(1).getBlockId());
+        assertEquals(BatchItemStatus.REJECTED, result.getItems().get(2).getStatus());
+        assertEquals("Bad Request", result.getItems().get(2).getMessage());
+        assertEquals(unknownPropertyId, result.getItems().get(3).getPropertyId());
+        Mockito.verify(propertyService, Mockito.times(1)).getProperties(Mockito.any());
+        Mockito.verify(reservationService, Mockito.times(1)).blocksSaved(Mockito.argThat(saved -> saved.size() == 1));
+    }
+
+    @Test
+    void createBlocks_TooManyBlocks_ThrowsException() {
+        var propertyIds = Collections.nCopies(101, property.getId().toString());
+        var ranges = Collections.nCopies(10, new BlockCreateDto(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15)));
+
+        var exception = assertThrows(BadRequestException.class, () -> blockService.createBlocks(new BlockBulkCreateDto(false, propertyIds, ranges)));
+        assertEquals("Up to 1000 blocks per request", exception.getMessage());
+    }
 }
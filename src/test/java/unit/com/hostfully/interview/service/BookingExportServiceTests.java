@@ -0,0 +1,125 @@
+package unit.com.hostfully.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.config.ExportProperties;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.exception.ServiceUnavailableException;
+import com.hostfully.interview.model.dto.ExportFormat;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.Property;
+import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.projection.BookingExportRow;
+import com.hostfully.interview.service.BookingExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingExportServiceTests {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingExportService bookingExportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final Property property = new Property(UUID.randomUUID(), "property-name");
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        var exportProperties = new ExportProperties();
+        exportProperties.setMaxConcurrent(2);
+        bookingExportService = new BookingExportService(bookingRepository, objectMapper, transactionManager, exportProperties);
+    }
+
+    @Test
+    void exportBookings_RowsPerGuest_GroupsGuestsIntoBookings() throws Exception {
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        Mockito.when(bookingRepository.streamExportRowsByPropertyId(property.getId())).thenReturn(Stream.of(
+                row(first, 5, "John"), row(first, 5, "Mary"), row(second, 20, null)));
+        var out = new ByteArrayOutputStream();
+
+        var written = bookingExportService.exportBookings(property, ExportFormat.NDJSON, out);
+
+        assertEquals(2, written);
+        var lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        var booking = objectMapper.readValue(lines[0], Booking.class);
+        assertEquals(first, booking.getId());
+        assertEquals(property.getId(), booking.getProperty().getId());
+        assertEquals(2, booking.getGuests().size());
+        assertEquals("Mary", booking.getGuests().get(1).getName());
+        assertTrue(objectMapper.readValue(lines[1], Booking.class).getGuests().isEmpty());
+    }
+
+    @Test
+    void exportBookings_JsonWithoutBookings_WritesEmptyArray() throws Exception {
+        Mockito.when(bookingRepository.streamExportRowsByPropertyId(property.getId())).thenReturn(Stream.empty());
+        var out = new ByteArrayOutputStream();
+
+        var written = bookingExportService.exportBookings(property, ExportFormat.JSON, out);
+
+        assertEquals(0, written);
+        assertEquals("[]", out.toString());
+    }
+
+    @Test
+    void exportBookings_Json_ClosesStream() throws Exception {
+        var closed = new boolean[1];
+        Mockito.when(bookingRepository.streamExportRowsByPropertyId(property.getId()))
+                .thenReturn(Stream.of(row(UUID.randomUUID(), 5, "John")).onClose(() -> closed[0] = true));
+
+        bookingExportService.exportBookings(property, ExportFormat.JSON, new ByteArrayOutputStream());
+
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    void acquireExport_MaxConcurrentRunning_ThrowsUntilOneIsReleased() {
+        bookingExportService.acquireExport();
+        bookingExportService.acquireExport();
+
+        var exception = assertThrows(ServiceUnavailableException.class, () -> bookingExportService.acquireExport());
+        assertEquals("Too many exports running, please retry", exception.getMessage());
+
+        bookingExportService.releaseExport();
+        assertDoesNotThrow(() -> bookingExportService.acquireExport());
+    }
+
+    @Test
+    void toFormat_InvalidFormat_ThrowsException() {
+        var exception = assertThrows(BadRequestException.class, () -> bookingExportService.toFormat("xml"));
+
+        assertEquals("Format must be ndjson or json", exception.getMessage());
+    }
+
+    private BookingExportRow row(UUID bookingId, int startDay, String guestName) {
+        var row = Mockito.mock(BookingExportRow.class);
+        Mockito.when(row.getId()).thenReturn(bookingId);
+        Mockito.when(row.getStartDate()).thenReturn(LocalDate.of(2023, 1, startDay));
+        Mockito.when(row.getEndDate()).thenReturn(LocalDate.of(2023, 1, startDay + 3));
+        Mockito.when(row.getStatus()).thenReturn(BookingStatus.CONFIRMED);
+        Mockito.when(row.getCreatedAt()).thenReturn(LocalDate.of(2022, 12, 1));
+        if (guestName != null) {
+            Mockito.when(row.getGuestId()).thenReturn(UUID.randomUUID());
+            Mockito.when(row.getGuestName()).thenReturn(guestName);
+        }
+        return row;
+    }
+}
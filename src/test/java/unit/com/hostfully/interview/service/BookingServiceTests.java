@@ -1,7 +1,10 @@
 package unit.com.hostfully.interview.service;
 
 import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.BookingBatchCreateDto;
+import com.hostfully.interview.model.dto.BatchItemStatus;
 import com.hostfully.interview.model.dto.BookingCreateDto;
+import com.hostfully.interview.model.dto.BookingDetailDto;
 import com.hostfully.interview.model.dto.BookingUpdateDto;
 import com.hostfully.interview.model.dto.GuestCreateDTO;
 import com.hostfully.interview.model.entity.Booking;
@@ -9,17 +12,23 @@ import com.hostfully.interview.model.entity.BookingStatus;
 import com.hostfully.interview.model.entity.Guest;
 import com.hostfully.interview.model.entity.Property;
 import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.GuestRepository;
+import com.hostfully.interview.repository.projection.GuestView;
 import com.hostfully.interview.service.BookingService;
 import com.hostfully.interview.service.PropertyService;
 import com.hostfully.interview.service.ReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,6 +43,9 @@ public class BookingServiceTests {
     @Mock
     private ReservationService reservationService;
 
+    @Mock
+    private GuestRepository guestRepository;
+
     @Spy
     private BookingCreateDto dto;
 
@@ -50,6 +62,8 @@ public class BookingServiceTests {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        Mockito.when(reservationService.withPropertyLock(Mockito.any(), Mockito.any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        Mockito.when(reservationService.withPropertyLocks(Mockito.any(), Mockito.any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -57,7 +71,7 @@ public class BookingServiceTests {
         dto.setPropertyId("invalid-property-id");
         dto.setStartDate(LocalDate.now());
         dto.setEndDate(LocalDate.now().plusDays(1));
-        Mockito.when(propertyService.getProperty(dto.getPropertyId())).thenThrow(new BadRequestException("Bad Request"));
+        Mockito.when(propertyService.getPropertyReference(dto.getPropertyId())).thenThrow(new BadRequestException("Bad Request"));
 
         var exception = assertThrows(BadRequestException.class, () -> bookingService.createBooking(dto));
         assertEquals("Property ID is required and must be a valid UUID", exception.getMessage());
@@ -75,7 +89,7 @@ public class BookingServiceTests {
         dto.setEndDate(endDate);
         dto.setGuests(guestCreateDTOS);
 
-        Mockito.when(propertyService.getProperty(dto.getPropertyId())).thenReturn(property);
+        Mockito.when(propertyService.getPropertyReference(dto.getPropertyId())).thenReturn(property);
         Mockito.when(bookingRepository.save(ArgumentMatchers.any(Booking.class))).thenReturn(booking);
         Mockito.when(reservationService.validateIfDatesAreAvailable(dto.getPropertyId(), startDate, endDate)).thenReturn(true);
 
@@ -89,13 +103,26 @@ public class BookingServiceTests {
         assertNotNull(newBooking.getCreatedAt());
     }
 
+    @Test
+    void createBooking_UnknownProperty_ThrowsBadRequest() {
+        dto.setPropertyId(UUID.randomUUID().toString());
+        dto.setStartDate(LocalDate.now());
+        dto.setEndDate(LocalDate.now().plusDays(1));
+        dto.setGuests(guestCreateDTOS);
+        Mockito.when(propertyService.getPropertyReference(dto.getPropertyId())).thenReturn(property);
+        Mockito.when(reservationService.withPropertyLock(Mockito.any(), Mockito.any())).thenThrow(new DataIntegrityViolationException("FK_BOOKING_PROPERTY"));
+
+        var exception = assertThrows(BadRequestException.class, () -> bookingService.createBooking(dto));
+        assertEquals("Bad Request", exception.getMessage());
+    }
+
     @Test
     void bookingCreateDtoToBooking_ValidDto_ReturnsNewBooking() {
         dto.setPropertyId(property.getId().toString());
         dto.setStartDate(LocalDate.now());
         dto.setEndDate(LocalDate.now().plusDays(1));
         dto.setGuests(guestCreateDTOS);
-        Mockito.when(propertyService.getProperty(dto.getPropertyId())).thenReturn(property);
+        Mockito.when(propertyService.getPropertyReference(dto.getPropertyId())).thenReturn(property);
 
         var booking = bookingService.bookingCreateDtoToBooking(dto);
         assertNull(booking.getId());
@@ -137,12 +164,52 @@ public class BookingServiceTests {
         var bookingId = UUID.randomUUID();
         var booking = new Booking(UUID.randomUUID(), property, LocalDate.now(), LocalDate.now().plusDays(1), BookingStatus.CONFIRMED, LocalDate.now(), null, guests);
         Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
-        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findWithGuestsById(bookingId)).thenReturn(Optional.of(booking));
 
         var result = bookingService.getBooking(bookingId.toString());
         assertEquals(booking, result);
     }
 
+    @Test
+    void getBookingDetail_ValidBookingId_ReturnsBookingWithGuests() {
+        var bookingId = UUID.randomUUID();
+        var detail = new BookingDetailDto(bookingId, property.getId(), property.getName(), 0L, LocalDate.now(), LocalDate.now().plusDays(1),
+                BookingStatus.CONFIRMED, LocalDate.now(), null, 0L);
+        var guest = Mockito.mock(GuestView.class);
+        Mockito.when(guest.getBookingId()).thenReturn(bookingId);
+        Mockito.when(guest.getName()).thenReturn("John");
+        Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
+        Mockito.when(bookingRepository.findDetailById(bookingId)).thenReturn(Optional.of(detail));
+        Mockito.when(guestRepository.findAllByBookingIdIn(List.of(bookingId))).thenReturn(List.of(guest));
+
+        var result = bookingService.getBookingDetail(bookingId.toString());
+
+        assertEquals(property.getId(), result.getProperty().getId());
+        assertEquals(1, result.getGuests().size());
+        assertEquals("John", result.getGuests().get(0).getName());
+        Mockito.verify(bookingRepository, Mockito.never()).findById(Mockito.any());
+    }
+
+    @Test
+    void getBookingDetail_UnknownBookingId_ThrowsBadRequest() {
+        var bookingId = UUID.randomUUID();
+        Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
+        Mockito.when(bookingRepository.findDetailById(bookingId)).thenReturn(Optional.empty());
+
+        var exception = assertThrows(BadRequestException.class, () -> bookingService.getBookingDetail(bookingId.toString()));
+        assertEquals("Bad Request", exception.getMessage());
+    }
+
+    @Test
+    void findBookingsByPropertyId_InvalidInclude_ThrowsBadRequest() {
+        var propertyId = property.getId().toString();
+        Mockito.when(propertyService.getProperty(propertyId)).thenReturn(property);
+
+        var exception = assertThrows(BadRequestException.class, () -> bookingService.findBookingsByPropertyId(propertyId, null, null, null, "property", null, null, false));
+        assertEquals("Invalid include", exception.getMessage());
+        Mockito.verifyNoInteractions(guestRepository);
+    }
+
     @Test
     void cancelBooking_InvalidBookingId_ThrowsBadRequest() {
         var bookingId = "invalid-booking-id";
@@ -157,7 +224,7 @@ public class BookingServiceTests {
         var bookingId = UUID.randomUUID();
         var booking = new Booking(UUID.randomUUID(), property, LocalDate.now(), LocalDate.now().plusDays(1), BookingStatus.CANCELLED, LocalDate.now(), null, guests);
         Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
-        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findWithGuestsById(bookingId)).thenReturn(Optional.of(booking));
 
         var exception = assertThrows(BadRequestException.class, () -> bookingService.cancelBooking(bookingId.toString()));
         assertEquals("Booking already cancelled", exception.getMessage());
@@ -168,7 +235,7 @@ public class BookingServiceTests {
         var bookingId = UUID.randomUUID();
         var booking = new Booking(UUID.randomUUID(), property, LocalDate.now(), LocalDate.now().plusDays(1), BookingStatus.CONFIRMED, LocalDate.now(), null, guests);
         Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
-        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findWithGuestsById(bookingId)).thenReturn(Optional.of(booking));
         Mockito.when(bookingRepository.save(booking)).thenReturn(booking);
 
         var cancelledBooking = bookingService.cancelBooking(bookingId.toString());
@@ -189,7 +256,7 @@ public class BookingServiceTests {
         var bookingId = UUID.randomUUID();
         var booking = new Booking(UUID.randomUUID(), property, LocalDate.now(), LocalDate.now().plusDays(1), BookingStatus.CONFIRMED, LocalDate.now(), null, guests);
         Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
-        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findWithGuestsById(bookingId)).thenReturn(Optional.of(booking));
 
         var exception = assertThrows(BadRequestException.class, () -> bookingService.rebookBooking(bookingId.toString()));
         assertEquals("Booking not cancelled", exception.getMessage());
@@ -200,7 +267,7 @@ public class BookingServiceTests {
         var bookingId = UUID.randomUUID();
         var booking = new Booking(UUID.randomUUID(), property, LocalDate.now(), LocalDate.now().plusDays(1), BookingStatus.CANCELLED, LocalDate.now(), null, guests);
         Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
-        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findWithGuestsById(bookingId)).thenReturn(Optional.of(booking));
         Mockito.when(bookingRepository.save(booking)).thenReturn(booking);
 
         var cancelledBooking = bookingService.rebookBooking(bookingId.toString());
@@ -221,7 +288,7 @@ public class BookingServiceTests {
         var bookingId = UUID.randomUUID();
         var booking = new Booking(UUID.randomUUID(), property, LocalDate.now(), LocalDate.now().plusDays(1), BookingStatus.CANCELLED, LocalDate.now(), null, guests);
         Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
-        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findWithGuestsById(bookingId)).thenReturn(Optional.of(booking));
 
         bookingService.deleteBooking(bookingId.toString());
         Mockito.verify(bookingRepository, Mockito.times(1)).delete(booking);
@@ -260,11 +327,63 @@ public class BookingServiceTests {
         updateDto.setStartDate(newStartDate);
         updateDto.setEndDate(newEndDate);
         Mockito.when(propertyService.validUUID(bookingId.toString())).thenReturn(bookingId);
-        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findWithGuestsById(bookingId)).thenReturn(Optional.of(booking));
         Mockito.when(bookingRepository.save(booking)).thenReturn(booking);
 
         var updatedBooking = bookingService.updateBooking(bookingId.toString(), updateDto);
         assertEquals(newStartDate, updatedBooking.getStartDate());
         assertEquals(newEndDate, updatedBooking.getEndDate());
     }
+
+    @Test
+    void createBookings_PartialBatch_CreatesAcceptedBookings() {
+        var batch = batchOf(false);
+        Mockito.when(propertyService.getProperties(Mockito.any())).thenReturn(Map.of(property.getId(), property));
+        Mockito.when(reservationService.findBatchConflicts(Mockito.any())).thenReturn(Arrays.asList(null, "Dates are already booked"));
+        Mockito.when(bookingRepository.saveAll(Mockito.any())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setId(UUID.randomUUID()));
+            return bookings;
+        });
+
+        var result = bookingService.createBookings(batch);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(BatchItemStatus.CREATED, result.getItems().get(0).getStatus());
+        assertNotNull(result.getItems().get(0).getBookingId());
+        assertEquals(BatchItemStatus.REJECTED, result.getItems().get(1).getStatus());
+        assertEquals("Start date must be before end date", result.getItems().get(1).getMessage());
+        assertEquals(BatchItemStatus.REJECTED, result.getItems().get(2).getStatus());
+        assertEquals("Dates are already booked", result.getItems().get(2).getMessage());
+        Mockito.verify(reservationService, Mockito.times(1)).bookingsSaved(Mockito.argThat(saved -> saved.size() == 1));
+    }
+
+    @Test
+    void createBookings_AtomicBatchWithRejectedBooking_CreatesNothing() {
+        var batch = batchOf(true);
+        Mockito.when(propertyService.getProperties(Mockito.any())).thenReturn(Map.of(property.getId(), property));
+        Mockito.when(reservationService.findBatchConflicts(Mockito.any())).thenReturn(Arrays.asList(null, null));
+
+        var result = bookingService.createBookings(batch);
+
+        assertEquals(0, result.getCreated());
+        assertEquals(BatchItemStatus.ABORTED, result.getItems().get(0).getStatus());
+        assertEquals(BatchItemStatus.REJECTED, result.getItems().get(1).getStatus());
+        assertEquals(BatchItemStatus.ABORTED, result.getItems().get(2).getStatus());
+        Mockito.verify(bookingRepository, Mockito.never()).saveAll(Mockito.any());
+    }
+
+    @Test
+    void createBookings_EmptyBatch_ThrowsException() {
+        var exception = assertThrows(BadRequestException.class, () -> bookingService.createBookings(new BookingBatchCreateDto(false, List.of())));
+        assertEquals("Bookings are required, up to 500 per batch", exception.getMessage());
+    }
+
+    private BookingBatchCreateDto batchOf(boolean atomic) {
+        var propertyId = property.getId().toString();
+        return new BookingBatchCreateDto(atomic, List.of(
+                new BookingCreateDto(propertyId, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), guestCreateDTOS),
+                new BookingCreateDto(propertyId, LocalDate.of(2023, 1, 20), LocalDate.of(2023, 1, 18), guestCreateDTOS),
+                new BookingCreateDto(propertyId, LocalDate.of(2023, 2, 5), LocalDate.of(2023, 2, 15), guestCreateDTOS)));
+    }
 }
@@ -0,0 +1,170 @@
+package unit.com.hostfully.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.interview.config.ImportProperties;
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.model.dto.*;
+import com.hostfully.interview.model.entity.ImportFormat;
+import com.hostfully.interview.model.entity.ImportJob;
+import com.hostfully.interview.model.entity.ImportJobStatus;
+import com.hostfully.interview.repository.ImportJobRepository;
+import com.hostfully.interview.service.BlockService;
+import com.hostfully.interview.service.BookingService;
+import com.hostfully.interview.service.ImportService;
+import com.hostfully.interview.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportServiceTests {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BlockService blockService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ImportService importService;
+
+    private final Map<UUID, ImportJob> jobs = new HashMap<>();
+
+    private static final String PROPERTY_ID = "555a2254-e8ff-4005-ada2-4d478b04a5d7";
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        var importProperties = new ImportProperties();
+        importProperties.setChunkSize(2);
+        importService = new ImportService(bookingService, blockService, reservationService, importJobRepository, importProperties, new ObjectMapper().findAndRegisterModules(), entityManager);
+
+        Mockito.when(reservationService.withPropertyLocks(Mockito.any(), Mockito.any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        Mockito.when(importJobRepository.save(Mockito.any())).thenAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(0);
+            if (job.getId() == null) job.setId(UUID.randomUUID());
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        Mockito.when(importJobRepository.findById(Mockito.any())).thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<UUID>getArgument(0))));
+        Mockito.when(bookingService.createBookings(Mockito.any())).thenAnswer(invocation -> {
+            BookingBatchCreateDto batch = invocation.getArgument(0);
+            var items = IntStream.range(0, batch.getBookings().size())
+                    .mapToObj(index -> new BookingBatchItemResultDto(index, BatchItemStatus.CREATED, UUID.randomUUID(), null)).toList();
+            return new BookingBatchResultDto(items.size(), items);
+        });
+    }
+
+    @Test
+    void importRows_NdjsonRows_CommitsInChunks() {
+        var job = importService.importRows(stream(bookingRow(10) + bookingRow(12) + bookingRow(14)), "ndjson", null);
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getCommittedRows());
+        assertEquals(3, job.getImportedRows());
+        assertEquals(0, job.getRejectedRows());
+        assertTrue(job.getRowsPerSecond() > 0);
+        Mockito.verify(reservationService, Mockito.times(2)).withPropertyLocks(Mockito.eq(List.of(PROPERTY_ID)), Mockito.any());
+        Mockito.verify(bookingService, Mockito.times(2)).createBookings(Mockito.any());
+        Mockito.verify(entityManager, Mockito.times(2)).clear();
+        Mockito.verifyNoInteractions(blockService);
+    }
+
+    @Test
+    void importRows_InvalidRows_RejectsRowsWithoutWritingThem() {
+        var rows = "not json\n" + "{\"propertyId\":\"" + PROPERTY_ID + "\"}\n";
+
+        var job = importService.importRows(stream(rows), "ndjson", null);
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getCommittedRows());
+        assertEquals(2, job.getRejectedRows());
+        Mockito.verifyNoInteractions(bookingService, blockService);
+    }
+
+    @Test
+    void importRows_CsvBlockRows_CreatesBlocksPairwise() {
+        Mockito.when(blockService.createBlocks(Mockito.anyList(), Mockito.anyList(), Mockito.eq(false))).thenReturn(new BlockBulkResultDto(0,
+                List.of(new BlockBulkItemResultDto(PROPERTY_ID, null, null, BatchItemStatus.REJECTED, null, "Dates are already blocked"))));
+        var rows = "type,propertyId,startDate,endDate\nBLOCK," + PROPERTY_ID + ",2023-01-10,2023-01-20\n";
+
+        var job = importService.importRows(stream(rows), "csv", null);
+
+        assertEquals(1, job.getRejectedRows());
+        Mockito.verify(blockService).createBlocks(List.of(PROPERTY_ID),
+                List.of(new BlockCreateDto(LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 20))), false);
+    }
+
+    @Test
+    void importRows_StreamFails_ResumesAfterLastCommittedChunk() {
+        var committedRows = bookingRow(10) + bookingRow(12);
+        var failing = new SequenceInputStream(stream(committedRows), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        var failed = importService.importRows(failing, "ndjson", null);
+
+        assertEquals(ImportJobStatus.FAILED, failed.getStatus());
+        assertEquals(2, failed.getCommittedRows());
+        assertEquals("Connection reset", failed.getLastError());
+
+        var resumed = importService.importRows(stream(committedRows + bookingRow(14)), "ndjson", failed.getId().toString());
+
+        assertEquals(ImportJobStatus.COMPLETED, resumed.getStatus());
+        assertEquals(3, resumed.getCommittedRows());
+        assertEquals(3, resumed.getImportedRows());
+        var batches = ArgumentCaptor.forClass(BookingBatchCreateDto.class);
+        Mockito.verify(bookingService, Mockito.times(2)).createBookings(batches.capture());
+        assertEquals(14, batches.getValue().getBookings().get(0).getStartDate().getDayOfMonth());
+    }
+
+    @Test
+    void importRows_CompletedJob_ThrowsException() {
+        var job = new ImportJob(UUID.randomUUID(), null, ImportFormat.NDJSON, ImportJobStatus.COMPLETED, 3, 3, 0, 0, Instant.now(), null, null, 0L);
+        jobs.put(job.getId(), job);
+
+        var exception = assertThrows(BadRequestException.class, () -> importService.importRows(stream(bookingRow(10)), "ndjson", job.getId().toString()));
+
+        assertEquals("Import job is already completed", exception.getMessage());
+    }
+
+    @Test
+    void importRows_InvalidFormat_ThrowsException() {
+        var exception = assertThrows(BadRequestException.class, () -> importService.importRows(stream(""), "xml", null));
+
+        assertEquals("Format must be ndjson or csv", exception.getMessage());
+    }
+
+    private static String bookingRow(int startDay) {
+        return "{\"type\":\"BOOKING\",\"propertyId\":\"" + PROPERTY_ID + "\",\"startDate\":\"2023-01-" + startDay
+                + "\",\"endDate\":\"2023-01-" + (startDay + 1) + "\",\"guests\":[{\"name\":\"John\"}]}\n";
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
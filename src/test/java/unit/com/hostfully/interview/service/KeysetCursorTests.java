@@ -0,0 +1,64 @@
+package unit.com.hostfully.interview.service;
+
+import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.service.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTests {
+
+    private final Map<String, Function<String, Object>> keyTypes = Map.of("startDate", LocalDate::parse, "id", UUID::fromString);
+
+    @Test
+    void next_WindowWithNextPage_RoundTripsLastKeys() {
+        var id = UUID.randomUUID();
+        var keys = new LinkedHashMap<String, Object>();
+        keys.put("startDate", LocalDate.of(2023, 1, 5));
+        keys.put("id", id);
+        var window = Window.from(List.of("first", "last"), index -> ScrollPosition.forward(keys), true);
+
+        var position = KeysetCursor.position(KeysetCursor.next(window), keyTypes);
+
+        assertEquals(LocalDate.of(2023, 1, 5), position.getKeys().get("startDate"));
+        assertEquals(id, position.getKeys().get("id"));
+        assertTrue(position.scrollsForward());
+    }
+
+    @Test
+    void next_LastPage_ReturnsNull() {
+        var window = Window.from(List.of("last"), index -> ScrollPosition.forward(Map.of("id", UUID.randomUUID())), false);
+
+        assertNull(KeysetCursor.next(window));
+    }
+
+    @Test
+    void position_NoCursor_ReturnsInitialPosition() {
+        assertTrue(KeysetCursor.position(null, keyTypes).isInitial());
+    }
+
+    @Test
+    void position_CursorWithOtherKeys_ThrowsException() {
+        var window = Window.from(List.of("last"), index -> ScrollPosition.forward(Map.of("id", UUID.randomUUID())), true);
+
+        var exception = assertThrows(BadRequestException.class, () -> KeysetCursor.position(KeysetCursor.next(window), keyTypes));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void limit_OutOfRange_ThrowsException() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.limit(null));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.limit(0));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.limit(KeysetCursor.MAX_LIMIT + 1));
+    }
+}
@@ -1,13 +1,27 @@
 package unit.com.hostfully.interview.service;
 
+import com.hostfully.interview.availability.PortfolioAvailabilityIndex;
+import com.hostfully.interview.availability.PropertyChangedEvent;
+import com.hostfully.interview.cache.CaffeinePropertyCache;
+import com.hostfully.interview.cache.PropertyCache;
 import com.hostfully.interview.model.dto.PropertyCreateDto;
+import com.hostfully.interview.model.entity.Property;
 import com.hostfully.interview.repository.PropertyRepository;
+import com.hostfully.interview.service.KeysetCursor;
 import com.hostfully.interview.service.PropertyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,9 +30,20 @@ class PropertyServiceTests {
     @Mock
     private PropertyRepository propertyRepository;
 
+    @Mock
+    private PortfolioAvailabilityIndex portfolioAvailabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     private PropertyCreateDto dto;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private PropertyCache propertyCache = new CaffeinePropertyCache(10, Duration.ofMinutes(10), meterRegistry);
+
     @InjectMocks
     private PropertyService propertyService;
 
@@ -38,6 +63,7 @@ class PropertyServiceTests {
 
         Mockito.verify(propertyRepository, Mockito.times(1)).save(dto.toEntity());
         Mockito.verify(dto, Mockito.times(1)).validate();
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(PropertyChangedEvent.of(entity));
         Assertions.assertEquals(entity, result);
     }
 
@@ -72,4 +98,117 @@ class PropertyServiceTests {
         Mockito.verify(propertyRepository, Mockito.times(1)).findById(uuid);
         Assertions.assertEquals("Bad Request", exception.getMessage());
     }
+
+    @Test
+    public void getProperty_CachedId_ReadsRepositoryOnce() {
+        var uuid = UUID.randomUUID();
+        var entity = new Property(uuid, "property");
+        Mockito.when(propertyRepository.findById(uuid)).thenReturn(Optional.of(entity));
+
+        propertyService.getProperty(uuid.toString());
+        var result = propertyService.getProperty(uuid.toString());
+
+        Assertions.assertEquals(entity, result);
+        Mockito.verify(propertyRepository, Mockito.times(1)).findById(uuid);
+        Assertions.assertEquals(1, meterRegistry.get("cache.gets").tag("cache", PropertyCache.NAME).tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1, meterRegistry.get("cache.gets").tag("cache", PropertyCache.NAME).tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void getPropertyReference_NotCached_ReturnsReferenceWithoutQuery() {
+        var uuid = UUID.randomUUID();
+        var reference = new Property(uuid, null);
+        Mockito.when(propertyRepository.getReferenceById(uuid)).thenReturn(reference);
+
+        var result = propertyService.getPropertyReference(uuid.toString());
+
+        Assertions.assertSame(reference, result);
+        Mockito.verify(propertyRepository, Mockito.never()).findById(uuid);
+    }
+
+    @Test
+    public void getPropertyReference_Cached_ReturnsCachedEntity() {
+        var uuid = UUID.randomUUID();
+        var entity = new Property(uuid, "property");
+        Mockito.when(propertyRepository.findById(uuid)).thenReturn(Optional.of(entity));
+        propertyService.getProperty(uuid.toString());
+
+        var result = propertyService.getPropertyReference(uuid.toString());
+
+        Assertions.assertSame(entity, result);
+        Mockito.verify(propertyRepository, Mockito.never()).getReferenceById(uuid);
+    }
+
+    @Test
+    public void getProperty_EvictedId_ReadsRepositoryAgain() {
+        var uuid = UUID.randomUUID();
+        Mockito.when(propertyRepository.findById(uuid)).thenReturn(Optional.of(new Property(uuid, "property")));
+
+        propertyService.getProperty(uuid.toString());
+        propertyCache.evict(uuid);
+        propertyService.getProperty(uuid.toString());
+
+        Mockito.verify(propertyRepository, Mockito.times(2)).findById(uuid);
+    }
+
+    @Test
+    public void findAvailableProperties_IndexReady_ReturnsPropertiesInIndexOrder() {
+        var from = LocalDate.of(2023, 1, 5);
+        var to = LocalDate.of(2023, 1, 15);
+        var first = new Property(UUID.randomUUID(), "first");
+        var second = new Property(UUID.randomUUID(), "second");
+        var ids = List.of(first.getId(), second.getId());
+        Mockito.when(portfolioAvailabilityIndex.isReady()).thenReturn(true);
+        Mockito.when(portfolioAvailabilityIndex.findAvailable(from, to, null, 2)).thenReturn(Window.from(ids, index -> ScrollPosition.forward(Map.of("id", ids.get(index))), true));
+        Mockito.when(portfolioAvailabilityIndex.countAvailable(from, to)).thenReturn(5L);
+        Mockito.when(propertyRepository.findAllById(ids)).thenReturn(List.of(second, first));
+
+        var result = propertyService.findAvailableProperties(from, to, null, 2, true);
+
+        Assertions.assertEquals(List.of(first, second), result.getContent());
+        Assertions.assertEquals(5, result.getTotal());
+        Assertions.assertNotNull(result.getNextCursor());
+        Mockito.verify(propertyRepository, Mockito.never()).findBy(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void findAvailableProperties_CursorOfPreviousPage_ResumesAfterItsLastId() {
+        var from = LocalDate.of(2023, 1, 5);
+        var to = LocalDate.of(2023, 1, 15);
+        var last = UUID.randomUUID();
+        var cursor = KeysetCursor.next(Window.from(List.of(last), index -> ScrollPosition.forward(Map.of("id", last)), true));
+        Mockito.when(portfolioAvailabilityIndex.isReady()).thenReturn(true);
+        Mockito.when(portfolioAvailabilityIndex.findAvailable(from, to, last, 10)).thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset(), false));
+
+        var result = propertyService.findAvailableProperties(from, to, cursor, 10, false);
+
+        Assertions.assertTrue(result.getContent().isEmpty());
+        Assertions.assertNull(result.getNextCursor());
+        Assertions.assertNull(result.getTotal());
+    }
+
+    @Test
+    public void findAvailableProperties_IndexNotReady_UsesRepository() {
+        var from = LocalDate.of(2023, 1, 5);
+        var to = LocalDate.of(2023, 1, 15);
+        var property = new Property(UUID.randomUUID(), "property");
+        Mockito.when(propertyRepository.findBy(Mockito.any(), Mockito.any())).thenReturn(Window.from(List.of(property), index -> ScrollPosition.forward(Map.of("id", property.getId())), false));
+
+        var result = propertyService.findAvailableProperties(from, to, null, 10, false);
+
+        Assertions.assertEquals(List.of(property), result.getContent());
+        Mockito.verify(portfolioAvailabilityIndex, Mockito.never()).findAvailable(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    public void findAvailableProperties_FromAfterTo_ThrowsException() {
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> propertyService.findAvailableProperties(LocalDate.of(2023, 1, 15), LocalDate.of(2023, 1, 5), null, 20, false));
+        Assertions.assertEquals("From date must not be after to date", exception.getMessage());
+    }
+
+    @Test
+    public void findAvailableProperties_LimitTooLarge_ThrowsException() {
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> propertyService.findAvailableProperties(LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), null, 1001, false));
+        Assertions.assertEquals("Invalid limit", exception.getMessage());
+    }
 }
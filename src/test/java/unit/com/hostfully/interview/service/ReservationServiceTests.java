@@ -1,17 +1,44 @@
 package unit.com.hostfully.interview.service;
 
+import com.hostfully.interview.availability.AvailabilityIndex;
+import com.hostfully.interview.availability.AvailabilityMode;
+import com.hostfully.interview.availability.OccupancyChangedEvent;
+import com.hostfully.interview.config.ReservationMetricsProperties;
+import com.hostfully.interview.config.ReservationProperties;
 import com.hostfully.interview.exception.BadRequestException;
+import com.hostfully.interview.metrics.ReservationMetrics;
+import com.hostfully.interview.model.dto.AvailabilityRangeDto;
+import com.hostfully.interview.model.dto.AvailabilityStatus;
+import com.hostfully.interview.model.dto.AvailableWindowDto;
+import com.hostfully.interview.model.dto.ReservationDates;
+import com.hostfully.interview.model.entity.Block;
+import com.hostfully.interview.model.entity.Booking;
+import com.hostfully.interview.model.entity.BookingStatus;
+import com.hostfully.interview.model.entity.Occupancy;
+import com.hostfully.interview.model.entity.OccupancySource;
+import com.hostfully.interview.model.entity.Property;
 import com.hostfully.interview.repository.BlockRepository;
 import com.hostfully.interview.repository.BookingRepository;
+import com.hostfully.interview.repository.OccupancyRepository;
+import com.hostfully.interview.repository.PropertyRepository;
 import com.hostfully.interview.service.ReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +51,29 @@ public class ReservationServiceTests {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private OccupancyRepository occupancyRepository;
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ReservationProperties reservationProperties = new ReservationProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ReservationMetrics reservationMetrics = new ReservationMetrics(meterRegistry, new ReservationMetricsProperties());
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -38,8 +88,7 @@ public class ReservationServiceTests {
         var startDate = LocalDate.of(2023, 1, 5);
         var endDate = LocalDate.of(2023, 1, 15);
 
-        Mockito.when(bookingRepository.existByPropertyIdAndDateRange(propertyId, null, startDate, endDate)).thenReturn(true);
-        Mockito.when(blockRepository.existByPropertyIdAndDateRange(propertyId, null, startDate, endDate)).thenReturn(false);
+        Mockito.when(bookingRepository.findConflictingSource(UUID.fromString(propertyId), null, null, startDate.minusDays(ReservationDates.MAX_NIGHTS), startDate, endDate)).thenReturn(Optional.of("BOOKING"));
 
         var exception = assertThrows(BadRequestException.class, () -> reservationService.validateIfDatesAreAvailable(propertyId, startDate, endDate));
         assertEquals("Dates are already booked", exception.getMessage());
@@ -51,11 +100,11 @@ public class ReservationServiceTests {
         var startDate = LocalDate.of(2023, 1, 5);
         var endDate = LocalDate.of(2023, 1, 15);
 
-        Mockito.when(bookingRepository.existByPropertyIdAndDateRange(propertyId, null,  startDate, endDate)).thenReturn(false);
-        Mockito.when(blockRepository.existByPropertyIdAndDateRange(propertyId, null, startDate, endDate)).thenReturn(false);
+        Mockito.when(bookingRepository.findConflictingSource(UUID.fromString(propertyId), null, null, startDate.minusDays(ReservationDates.MAX_NIGHTS), startDate, endDate)).thenReturn(Optional.empty());
 
         var result = reservationService.validateIfDatesAreAvailable(propertyId, startDate, endDate);
         assertTrue(result);
+        Mockito.verifyNoInteractions(blockRepository);
     }
 
     @Test
@@ -64,11 +113,266 @@ public class ReservationServiceTests {
         var startDate = LocalDate.of(2023, 1, 5);
         var endDate = LocalDate.of(2023, 1, 15);
 
-        Mockito.when(bookingRepository.existByPropertyIdAndDateRange(propertyId, null, startDate, endDate)).thenReturn(false);
-        Mockito.when(blockRepository.existByPropertyIdAndDateRange(propertyId, null, startDate, endDate)).thenReturn(true);
+        Mockito.when(bookingRepository.findConflictingSource(UUID.fromString(propertyId), null, null, startDate.minusDays(ReservationDates.MAX_NIGHTS), startDate, endDate)).thenReturn(Optional.of("BLOCK"));
 
         var exception = assertThrows(BadRequestException.class, () -> reservationService.validateIfDatesAreAvailable(propertyId, startDate, endDate));
         assertEquals("Dates are already blocked", exception.getMessage());
     }
 
+    @Test
+    void validateIfDatesAreAvailable_DateAlreadyBooked_RecordsRejectionAndCheck() {
+        var propertyId = UUID.randomUUID().toString();
+        var startDate = LocalDate.of(2023, 1, 5);
+        var endDate = LocalDate.of(2023, 1, 15);
+
+        Mockito.when(bookingRepository.findConflictingSource(UUID.fromString(propertyId), null, null, startDate.minusDays(ReservationDates.MAX_NIGHTS), startDate, endDate)).thenReturn(Optional.of("BOOKING"));
+
+        assertThrows(BadRequestException.class, () -> reservationService.validateIfDatesAreAvailable(propertyId, startDate, endDate));
+        assertEquals(1.0, meterRegistry.get("booking.availability.rejections").tag("reason", "booked").tag("property", ReservationMetrics.OTHER_PROPERTY).counter().count());
+        assertEquals(1L, meterRegistry.get("booking.availability.check").tag("mode", "sql").tag("result", "booked").timer().count());
+        assertEquals(1L, meterRegistry.get("booking.availability.query").tag("query", "combined").timer().count());
+    }
+
+    @Test
+    void validateIfDatesAreAvailable_IndexReadyAndDateBooked_TimesBookedQueryOnly() {
+        var propertyId = UUID.randomUUID();
+        var startDate = LocalDate.of(2023, 1, 5);
+        var endDate = LocalDate.of(2023, 1, 15);
+
+        Mockito.when(availabilityIndex.isReady()).thenReturn(true);
+        Mockito.when(availabilityIndex.isBooked(propertyId, null, startDate, endDate)).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> reservationService.validateIfDatesAreAvailable(propertyId.toString(), startDate, endDate));
+        assertEquals(1L, meterRegistry.get("booking.availability.query").tag("query", "booked").timer().count());
+        assertNull(meterRegistry.find("booking.availability.query").tag("query", "blocked").timer());
+    }
+
+    @Test
+    void validateIfDatesAreAvailable_IndexReady_RepositoriesAreNotQueried() {
+        var propertyId = UUID.randomUUID();
+        var bookingId = UUID.randomUUID();
+        var startDate = LocalDate.of(2023, 1, 5);
+        var endDate = LocalDate.of(2023, 1, 15);
+
+        Mockito.when(availabilityIndex.isReady()).thenReturn(true);
+        Mockito.when(availabilityIndex.isBooked(propertyId, bookingId, startDate, endDate)).thenReturn(false);
+        Mockito.when(availabilityIndex.isBlocked(propertyId, null, startDate, endDate)).thenReturn(false);
+
+        var result = reservationService.validateIfDatesAreAvailable(propertyId.toString(), bookingId.toString(), null, startDate, endDate);
+        assertTrue(result);
+        Mockito.verifyNoInteractions(bookingRepository, blockRepository);
+    }
+
+    @Test
+    void validateIfDatesAreAvailable_IndexReadyAndDateBlocked_ThrowsException() {
+        var propertyId = UUID.randomUUID();
+        var startDate = LocalDate.of(2023, 1, 5);
+        var endDate = LocalDate.of(2023, 1, 15);
+
+        Mockito.when(availabilityIndex.isReady()).thenReturn(true);
+        Mockito.when(availabilityIndex.isBlocked(propertyId, null, startDate, endDate)).thenReturn(true);
+
+        var exception = assertThrows(BadRequestException.class, () -> reservationService.validateIfDatesAreAvailable(propertyId.toString(), startDate, endDate));
+        assertEquals("Dates are already blocked", exception.getMessage());
+    }
+
+    @Test
+    void blockRemoved_ValidBlock_PublishesInactiveEvent() {
+        var block = new Block(UUID.randomUUID(), new Property(UUID.randomUUID(), "property-name"), LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), LocalDate.now(), null);
+
+        reservationService.blockRemoved(block);
+        Mockito.verify(occupancyRepository).deleteBySourceId(block.getId());
+        Mockito.verify(eventPublisher).publishEvent(OccupancyChangedEvent.removed(block));
+    }
+
+    @Test
+    void blockSaved_ValidBlock_UpsertsOccupancy() {
+        var block = new Block(UUID.randomUUID(), new Property(UUID.randomUUID(), "property-name"), LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15), LocalDate.now(), null);
+
+        reservationService.blockSaved(block);
+        Mockito.verify(occupancyRepository).upsert(block.getId(), block.getProperty().getId(), "BLOCK", block.getStartDate(), block.getEndDate());
+        Mockito.verify(eventPublisher).publishEvent(OccupancyChangedEvent.of(block));
+    }
+
+    @Test
+    void validateIfDatesAreAvailable_OccupancyModeAndDateBooked_ThrowsException() {
+        var propertyId = UUID.randomUUID();
+        var blockId = UUID.randomUUID();
+        var startDate = LocalDate.of(2023, 1, 5);
+        var endDate = LocalDate.of(2023, 1, 15);
+        reservationProperties.setAvailabilityMode(AvailabilityMode.OCCUPANCY);
+
+        Mockito.when(occupancyRepository.findConflictingSource(propertyId, blockId, startDate.minusDays(ReservationDates.MAX_NIGHTS), startDate, endDate)).thenReturn(Optional.of("BOOKING"));
+
+        var exception = assertThrows(BadRequestException.class, () -> reservationService.validateIfDatesAreAvailable(propertyId.toString(), null, blockId.toString(), startDate, endDate));
+        assertEquals("Dates are already booked", exception.getMessage());
+        Mockito.verifyNoInteractions(bookingRepository, blockRepository);
+    }
+
+    @Test
+    void validateIfDatesAreAvailable_OccupancyModeAndNoConflict_ReturnsTrue() {
+        var propertyId = UUID.randomUUID();
+        reservationProperties.setAvailabilityMode(AvailabilityMode.OCCUPANCY);
+
+        var result = reservationService.validateIfDatesAreAvailable(propertyId.toString(), LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 15));
+        assertTrue(result);
+    }
+
+    @Test
+    void withPropertyLock_ValidPropertyId_ReturnsActionResult() {
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        var result = reservationService.withPropertyLock(UUID.randomUUID().toString(), () -> "done");
+        assertEquals("done", result);
+    }
+
+    @Test
+    void getAvailabilityCalendar_BookingsAndBlocks_ReturnsMergedRanges() {
+        var propertyId = UUID.randomUUID();
+        var from = LocalDate.of(2023, 1, 1);
+        var to = LocalDate.of(2023, 1, 31);
+        Mockito.when(occupancyRepository.findOverlapping(propertyId, from.minusDays(ReservationDates.MAX_NIGHTS), from, to)).thenReturn(List.of(
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BOOKING, LocalDate.of(2022, 12, 28), LocalDate.of(2023, 1, 3)),
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BOOKING, LocalDate.of(2023, 1, 4), LocalDate.of(2023, 1, 8)),
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BLOCK, LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 12)),
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BOOKING, LocalDate.of(2023, 1, 13), LocalDate.of(2023, 2, 10))));
+
+        var calendar = reservationService.getAvailabilityCalendar(propertyId, from, to);
+
+        assertEquals(List.of(
+                new AvailabilityRangeDto(AvailabilityStatus.BOOKED, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 8)),
+                new AvailabilityRangeDto(AvailabilityStatus.FREE, LocalDate.of(2023, 1, 9), LocalDate.of(2023, 1, 9)),
+                new AvailabilityRangeDto(AvailabilityStatus.BLOCKED, LocalDate.of(2023, 1, 10), LocalDate.of(2023, 1, 12)),
+                new AvailabilityRangeDto(AvailabilityStatus.BOOKED, LocalDate.of(2023, 1, 13), LocalDate.of(2023, 1, 31))), calendar.getRanges());
+    }
+
+    @Test
+    void getAvailabilityCalendar_NoOccupancy_ReturnsSingleFreeRange() {
+        var propertyId = UUID.randomUUID();
+        var from = LocalDate.of(2023, 1, 1);
+        var to = LocalDate.of(2023, 1, 31);
+
+        var calendar = reservationService.getAvailabilityCalendar(propertyId, from, to);
+
+        assertEquals(List.of(new AvailabilityRangeDto(AvailabilityStatus.FREE, from, to)), calendar.getRanges());
+    }
+
+    @Test
+    void getAvailabilityCalendar_RangeTooLong_ThrowsException() {
+        var exception = assertThrows(BadRequestException.class, () -> reservationService.getAvailabilityCalendar(UUID.randomUUID(), LocalDate.of(2020, 1, 1), LocalDate.of(2024, 1, 1)));
+        assertEquals("Date range is too long", exception.getMessage());
+    }
+
+    @Test
+    void findAvailableWindows_GapsBetweenOccupancies_ReturnsFirstGapsLongEnough() {
+        var propertyId = UUID.randomUUID();
+        var after = LocalDate.of(2023, 1, 1);
+        Mockito.when(occupancyRepository.findOverlapping(Mockito.eq(propertyId), Mockito.eq(after.minusDays(ReservationDates.MAX_NIGHTS)), Mockito.eq(after), Mockito.any())).thenReturn(occupancies(propertyId));
+
+        var windows = reservationService.findAvailableWindows(propertyId, after, 2, 2);
+
+        assertEquals(List.of(
+                new AvailableWindowDto(LocalDate.of(2023, 1, 11), LocalDate.of(2023, 1, 13), 2),
+                new AvailableWindowDto(LocalDate.of(2023, 1, 21), LocalDate.of(2023, 1, 23), 2)), windows);
+    }
+
+    @Test
+    void findAvailableWindows_NoGapLongEnough_ReturnsOpenWindowUpToHorizon() {
+        var propertyId = UUID.randomUUID();
+        var after = LocalDate.of(2023, 1, 1);
+        Mockito.when(occupancyRepository.findOverlapping(Mockito.eq(propertyId), Mockito.eq(after.minusDays(ReservationDates.MAX_NIGHTS)), Mockito.eq(after), Mockito.any())).thenReturn(occupancies(propertyId));
+
+        var windows = reservationService.findAvailableWindows(propertyId, after, 3, 5);
+
+        assertEquals(1, windows.size());
+        assertEquals(LocalDate.of(2023, 1, 31), windows.get(0).getStartDate());
+        assertTrue(windows.get(0).getNights() >= 365);
+    }
+
+    @Test
+    void findAvailableWindows_InvalidNights_ThrowsException() {
+        var exception = assertThrows(BadRequestException.class, () -> reservationService.findAvailableWindows(UUID.randomUUID(), LocalDate.of(2023, 1, 1), 0, 5));
+        assertEquals("Invalid number of nights", exception.getMessage());
+    }
+
+    @Test
+    void findBatchConflicts_DatabaseAndIntraBatchOverlaps_ReturnsConflictPerBooking() {
+        var property = new Property(UUID.randomUUID(), "property-name");
+        var other = new Property(UUID.randomUUID(), "other-property");
+        Mockito.when(occupancyRepository.findOverlappingAny(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(
+                new Occupancy(UUID.randomUUID(), property.getId(), OccupancySource.BLOCK, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 3))));
+
+        var conflicts = reservationService.findBatchConflicts(List.of(
+                booking(property, LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 5)),
+                booking(property, LocalDate.of(2023, 1, 4), LocalDate.of(2023, 1, 8)),
+                booking(property, LocalDate.of(2023, 1, 8), LocalDate.of(2023, 1, 10)),
+                booking(other, LocalDate.of(2023, 1, 4), LocalDate.of(2023, 1, 8))));
+
+        assertEquals(Arrays.asList("Dates are already blocked", null, "Dates overlap another booking of the batch", null), conflicts);
+    }
+
+    @Test
+    void findBatchConflicts_DatabaseAndIntraBatchOverlaps_RecordsRejections() {
+        var property = new Property(UUID.randomUUID(), "property-name");
+        Mockito.when(occupancyRepository.findOverlappingAny(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(
+                new Occupancy(UUID.randomUUID(), property.getId(), OccupancySource.BLOCK, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 3))));
+
+        reservationService.findBatchConflicts(List.of(
+                booking(property, LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 5)),
+                booking(property, LocalDate.of(2023, 1, 4), LocalDate.of(2023, 1, 8)),
+                booking(property, LocalDate.of(2023, 1, 8), LocalDate.of(2023, 1, 10))));
+
+        assertEquals(1.0, meterRegistry.get("booking.availability.rejections").tag("reason", "blocked").tag("property", ReservationMetrics.OTHER_PROPERTY).counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.availability.rejections").tag("reason", "booked").tag("property", ReservationMetrics.OTHER_PROPERTY).counter().count());
+    }
+
+    @Test
+    void findBatchConflicts_ManyRowsOfProperty_ChecksRowsNearEachBooking() {
+        var property = new Property(UUID.randomUUID(), "property-name");
+        var rows = new ArrayList<Occupancy>();
+        rows.add(new Occupancy(UUID.randomUUID(), property.getId(), OccupancySource.BOOKING, LocalDate.of(2022, 6, 1), LocalDate.of(2023, 1, 2)));
+        for (var day = LocalDate.of(2023, 1, 10); day.isBefore(LocalDate.of(2023, 12, 31)); day = day.plusDays(10)) {
+            rows.add(new Occupancy(UUID.randomUUID(), property.getId(), OccupancySource.BLOCK, day, day.plusDays(2)));
+        }
+        Mockito.when(occupancyRepository.findOverlappingAny(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(rows);
+
+        var conflicts = reservationService.findBatchConflicts(List.of(
+                booking(property, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 4)),
+                booking(property, LocalDate.of(2023, 6, 14), LocalDate.of(2023, 6, 16)),
+                booking(property, LocalDate.of(2023, 6, 18), LocalDate.of(2023, 6, 20)),
+                booking(property, LocalDate.of(2023, 6, 13), LocalDate.of(2023, 6, 15)),
+                booking(property, LocalDate.of(2023, 6, 9), LocalDate.of(2023, 6, 10))));
+
+        assertEquals(Arrays.asList("Dates are already booked", null, "Dates are already blocked", "Dates overlap another booking of the batch", "Dates are already blocked"), conflicts);
+    }
+
+    @Test
+    void bookingsSaved_Batch_UpsertsOccupancyInOneCall() {
+        var property = new Property(UUID.randomUUID(), "property-name");
+        var first = booking(property, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 10));
+        var second = booking(property, LocalDate.of(2023, 2, 5), LocalDate.of(2023, 2, 10));
+        first.setId(UUID.randomUUID());
+        second.setId(UUID.randomUUID());
+
+        reservationService.bookingsSaved(List.of(first, second));
+
+        Mockito.verify(occupancyRepository).upsertAll(List.of(
+                new Occupancy(first.getId(), property.getId(), OccupancySource.BOOKING, first.getStartDate(), first.getEndDate()),
+                new Occupancy(second.getId(), property.getId(), OccupancySource.BOOKING, second.getStartDate(), second.getEndDate())));
+        Mockito.verify(occupancyRepository, Mockito.never()).upsert(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(eventPublisher).publishEvent(OccupancyChangedEvent.of(first));
+        Mockito.verify(eventPublisher).publishEvent(OccupancyChangedEvent.of(second));
+    }
+
+    private Booking booking(Property property, LocalDate startDate, LocalDate endDate) {
+        return new Booking(null, property, startDate, endDate, BookingStatus.CONFIRMED, LocalDate.now(), null, List.of());
+    }
+
+    private List<Occupancy> occupancies(UUID propertyId) {
+        return List.of(
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BOOKING, LocalDate.of(2022, 12, 30), LocalDate.of(2023, 1, 2)),
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BLOCK, LocalDate.of(2023, 1, 5), LocalDate.of(2023, 1, 10)),
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BOOKING, LocalDate.of(2023, 1, 14), LocalDate.of(2023, 1, 20)),
+                new Occupancy(UUID.randomUUID(), propertyId, OccupancySource.BOOKING, LocalDate.of(2023, 1, 24), LocalDate.of(2023, 1, 30)));
+    }
 }